@@ -0,0 +1,57 @@
+package com.togedog.auth.credential;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt 강도(cost)별 비밀번호 확인 처리량
+ * auth.password.bcrypt-strength 와 auth.credential.threads 를 정할 때 사용한다.
+ * (강도가 1 오르면 처리량은 약 절반이 된다)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class PasswordHashBenchmark {
+    private static final String PASSWORD = "togedog-password-1234";
+
+    @Param({"8", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(strength);
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+    }
+
+    // 단일 스레드 로그인 한 건의 비밀번호 확인
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+
+    // 검증 스레드 여러 개가 동시에 확인할 때의 전체 처리량
+    @Benchmark
+    @Threads(4)
+    public boolean matchesConcurrently() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+
+    // 강도 상향 시 로그인 성공 후 다시 저장하는 비용
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+}
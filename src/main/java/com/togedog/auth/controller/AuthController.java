@@ -1,11 +1,16 @@
 package com.togedog.auth.controller;
 
+import com.togedog.auth.credential.LoginStatistics;
+import com.togedog.auth.dto.TokenDto;
 import com.togedog.auth.service.AuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -14,11 +19,32 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class AuthController {
     private final AuthService authService;
+    private final LoginStatistics loginStatistics;
 
     @PostMapping("/logout")
-    public ResponseEntity postLogout(Authentication authentication) {
+    public ResponseEntity postLogout(Authentication authentication,
+                                     @RequestHeader(value = "Authorization", required = false) String authorization) {
         String username = authentication.getName();
-        return authService.logout(username) ?
+        String accessToken = authorization == null ? null : authorization.replace("Bearer ", "");
+        return authService.logout(username, accessToken) ?
                 new ResponseEntity(HttpStatus.OK) : new ResponseEntity(HttpStatus.FORBIDDEN);
     }
+
+    // 로그인과 같은 헤더(Authorization, Refresh)로 이전 토큰 쌍을 받아 새 토큰 쌍을 반환
+    @PostMapping("/refresh")
+    public ResponseEntity postRefresh(@RequestHeader("Authorization") String authorization,
+                                      @RequestHeader("Refresh") String refreshToken) {
+        TokenDto tokens = authService.refresh(authorization.replace("Bearer ", ""), refreshToken);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + tokens.getAccessToken());
+        headers.set("Refresh", tokens.getRefreshToken());
+        return new ResponseEntity(headers, HttpStatus.OK);
+    }
+
+    // 로그인 단계별 처리 시간 및 과부하 거절 수 (관리자 전용)
+    @GetMapping("/statistics")
+    public ResponseEntity getStatistics() {
+        return new ResponseEntity<>(loginStatistics.snapshot(), HttpStatus.OK);
+    }
 }
@@ -0,0 +1,117 @@
+package com.togedog.auth.credential;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 비밀번호 확인(BCrypt) 전용 실행기
+ *
+ * 비밀번호 확인은 CPU 를 많이 쓰므로 정해진 수의 스레드에서만 실행하고, 대기열이 가득 차면 바로 거절한다.
+ * 로그인이 몰려도 동시에 해시를 계산하는 수가 제한되어 다른 API 처리가 밀리지 않는다.
+ * 요청 스레드는 결과를 기다리며, 대기 시간이 초과되면 작업을 취소하고 거절한다.
+ */
+@Slf4j
+@Component
+public class CredentialVerificationExecutor {
+    private final ThreadPoolExecutor executor;
+    private final LoginStatistics loginStatistics;
+    private final int threads;
+    private final long timeoutMillis;
+
+    public CredentialVerificationExecutor(LoginStatistics loginStatistics,
+                                          @Value("${auth.credential.threads:0}") int threads,
+                                          @Value("${auth.credential.queue-capacity:32}") int queueCapacity,
+                                          @Value("${auth.credential.timeout-millis:5000}") long timeoutMillis) {
+        this.loginStatistics = loginStatistics;
+        // 0 이하이면 CPU 코어 수
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "credential-verification-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 검증 작업을 전용 스레드에서 실행하고 결과를 기다린다.
+     *
+     * @param verification 회원 조회 및 비밀번호 확인 (authenticationManager.authenticate)
+     * @return 인증 결과
+     * @throws CredentialVerificationRejectedException 대기열이 가득 찼거나 대기 시간이 초과된 경우
+     */
+    public Authentication verify(Supplier<Authentication> verification) {
+        long enqueuedAt = System.nanoTime();
+        Future<Authentication> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                loginStatistics.record(LoginStage.QUEUE_WAIT, startedAt - enqueuedAt);
+                try {
+                    return verification.get();
+                } finally {
+                    loginStatistics.record(LoginStage.PASSWORD_VERIFICATION, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw reject();
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw reject();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new AuthenticationServiceException(cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new AuthenticationServiceException("로그인 처리가 중단되었습니다.", e);
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private CredentialVerificationRejectedException reject() {
+        loginStatistics.recordRejected();
+        log.warn("로그인 검증 대기열 초과 (대기 {}건)", getQueueDepth());
+        return new CredentialVerificationRejectedException(retryAfterSeconds());
+    }
+
+    // 지금 대기 중인 작업이 모두 끝나는 예상 시간 (최소 1초)
+    private long retryAfterSeconds() {
+        double verificationMillis = loginStatistics.averageMillis(LoginStage.PASSWORD_VERIFICATION);
+        double drainMillis = (getQueueDepth() + threads) * verificationMillis / threads;
+        return Math.max(1, (long) Math.ceil(drainMillis / 1000));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
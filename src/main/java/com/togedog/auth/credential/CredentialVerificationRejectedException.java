@@ -0,0 +1,17 @@
+package com.togedog.auth.credential;
+
+import lombok.Getter;
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+// 검증 대기열이 가득 차거나 대기 시간이 초과되어 로그인을 받지 않은 경우 (429 + Retry-After)
+public class CredentialVerificationRejectedException extends AuthenticationServiceException {
+    private static final long serialVersionUID = 1L;
+
+    @Getter
+    private final long retryAfterSeconds;
+
+    public CredentialVerificationRejectedException(long retryAfterSeconds) {
+        super("로그인 요청이 많아 처리할 수 없습니다.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
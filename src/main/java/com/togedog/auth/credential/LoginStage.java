@@ -0,0 +1,18 @@
+package com.togedog.auth.credential;
+
+import lombok.Getter;
+
+// 로그인 처리 단계 (단계별 소요 시간 측정용)
+public enum LoginStage {
+    QUEUE_WAIT("검증 대기열 대기"),
+    PASSWORD_VERIFICATION("회원 조회 및 비밀번호 확인"),
+    TOKEN_ISSUE("토큰 발급 및 저장"),
+    LOGIN_STATUS_UPDATE("로그인 상태 저장");
+
+    @Getter
+    private final String description;
+
+    LoginStage(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,78 @@
+package com.togedog.auth.credential;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그인 단계별 처리 횟수 / 누적 시간 / 최대 시간 및 과부하로 거절한 요청 수
+ */
+@Component
+public class LoginStatistics {
+    private final Map<LoginStage, StageTimer> timers = new EnumMap<>(LoginStage.class);
+    private final LongAdder rejected = new LongAdder();
+
+    public LoginStatistics() {
+        for (LoginStage stage : LoginStage.values()) {
+            timers.put(stage, new StageTimer());
+        }
+    }
+
+    public void record(LoginStage stage, long elapsedNanos) {
+        timers.get(stage).record(elapsedNanos);
+    }
+
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    // 단계 평균 소요 시간 (기록이 없으면 0)
+    public double averageMillis(LoginStage stage) {
+        return timers.get(stage).snapshot().getAverageMillis();
+    }
+
+    public Snapshot snapshot() {
+        Map<LoginStage, StageSnapshot> stages = new EnumMap<>(LoginStage.class);
+        timers.forEach((stage, timer) -> stages.put(stage, timer.snapshot()));
+        return new Snapshot(stages, rejected.sum());
+    }
+
+    private static class StageTimer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long elapsedNanos) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+        }
+
+        StageSnapshot snapshot() {
+            long count = this.count.sum();
+            double averageMillis = count == 0 ? 0 : (double) totalNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+            return new StageSnapshot(count, averageMillis, (double) maxNanos.get() / TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private Map<LoginStage, StageSnapshot> stages;
+        private long rejected;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class StageSnapshot {
+        private long count;
+        private double averageMillis;
+        private double maxMillis;
+    }
+}
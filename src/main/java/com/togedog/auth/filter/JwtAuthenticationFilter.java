@@ -1,6 +1,9 @@
 package com.togedog.auth.filter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.togedog.auth.credential.CredentialVerificationExecutor;
+import com.togedog.auth.credential.LoginStage;
+import com.togedog.auth.credential.LoginStatistics;
 import com.togedog.auth.dto.LoginDto;
 import com.togedog.auth.jwt.JwtTokenizer;
 import com.togedog.member.entity.Member;
@@ -25,6 +28,9 @@ import java.util.Map;
 public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenizer jwtTokenizer;
+    // 비밀번호 확인은 전용 실행기에서 (동시 실행 수 제한, 대기열 초과 시 429)
+    private final CredentialVerificationExecutor credentialVerificationExecutor;
+    private final LoginStatistics loginStatistics;
 
     /**
     * 사용자가 로그인 할 때 실행되는 메서드, 사용자의 email과 비밀번호를 읽어와서 token을 만든 후 사용자가 맞는지 판단.
@@ -42,7 +48,7 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
         UsernamePasswordAuthenticationToken authenticationToken =
                 new UsernamePasswordAuthenticationToken(loginDto.getUsername(), loginDto.getPassword());
 
-        return authenticationManager.authenticate(authenticationToken);
+        return credentialVerificationExecutor.verify(() -> authenticationManager.authenticate(authenticationToken));
     }
 
     /**
@@ -60,13 +66,17 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
                                             Authentication authResult) throws ServletException, IOException {
         Member member = (Member) authResult.getPrincipal();
 
+        long startedAt = System.nanoTime();
         String accessToken = delegateAccessToken(member);
         String refreshToken = delegateRefreshToken(member, accessToken);
+        loginStatistics.record(LoginStage.TOKEN_ISSUE, System.nanoTime() - startedAt);
 
         response.setHeader("Authorization", "Bearer " + accessToken);
         response.setHeader("Refresh", refreshToken);
 
+        startedAt = System.nanoTime();
         this.getSuccessHandler().onAuthenticationSuccess(request, response, authResult);  // 추가
+        loginStatistics.record(LoginStage.LOGIN_STATUS_UPDATE, System.nanoTime() - startedAt);
     }
 
     /**
@@ -78,8 +88,9 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     */
     private String delegateAccessToken(Member member) {
         Map<String, Object> claims = new HashMap<>();
-//        claims.put("memberId", member.getMemberId());
+        claims.put("memberId", member.getMemberId());
         claims.put("username", member.getEmail());
+        claims.put("nickname", member.getNickName());
         claims.put("roles", member.getRoles());
 
         String subject = member.getEmail();
@@ -100,9 +111,11 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
      * @author Tizesin(신민준), 황진혁
      */
     private String delegateRefreshToken(Member member, String accessToken) {
-        // 수정
+        // 수정 (토큰 교체 시 DB 조회 없이 access token 을 만들 수 있도록 같은 회원 정보를 담는다)
         Map<String, Object> claims = new HashMap<>();
+        claims.put("memberId", member.getMemberId());
         claims.put("username", member.getEmail());
+        claims.put("nickname", member.getNickName());
         claims.put("roles", member.getRoles());
 
         String subject = member.getEmail();
@@ -110,7 +123,7 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 
         // 수정
         String base64EncodedSecretKey = jwtTokenizer.encodeBase64SecretKey(jwtTokenizer.getSecretKey());
-        String refreshToken = jwtTokenizer.generateRefreshToken(subject, expiration, base64EncodedSecretKey, accessToken);
+        String refreshToken = jwtTokenizer.generateRefreshToken(claims, subject, expiration, base64EncodedSecretKey, accessToken);
 
         return refreshToken;
     }
@@ -1,13 +1,13 @@
 package com.togedog.auth.filter;
 
-import com.togedog.auth.jwt.JwtTokenizer;
-import com.togedog.auth.utils.CustomAuthorityUtils;
+import com.togedog.auth.jwt.SessionEpochRegistry;
+import com.togedog.auth.jwt.VerifiedTokenCache;
+import com.togedog.exception.BusinessLogicException;
+import com.togedog.exception.ExceptionCode;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.security.SignatureException;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,21 +17,18 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @Component
 public class JwtVerificationFilter extends OncePerRequestFilter {
-    private final JwtTokenizer jwtTokenizer;
-    private final CustomAuthorityUtils authorityUtils;
-    private final RedisTemplate<String, Object> redisTemplate; // 추가
+    // 검증된 토큰과 세션 epoch 를 로컬에서 조회하여 요청마다 서명 검증 / Redis 조회를 하지 않는다
+    // (refresh token 은 VerifiedTokenCache 에서 access token 이 아니므로 거절된다)
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SessionEpochRegistry sessionEpochRegistry;
 
-    public JwtVerificationFilter(JwtTokenizer jwtTokenizer,
-                                 CustomAuthorityUtils authorityUtils, RedisTemplate redisTemplate) {
-        this.jwtTokenizer = jwtTokenizer;
-        this.authorityUtils = authorityUtils;
-        this.redisTemplate = redisTemplate;
+    public JwtVerificationFilter(VerifiedTokenCache verifiedTokenCache, SessionEpochRegistry sessionEpochRegistry) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.sessionEpochRegistry = sessionEpochRegistry;
     }
 
 //    /**
@@ -46,9 +43,9 @@ public class JwtVerificationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
-            Map<String, Object> claims = verifyJws(request);
-            isTokenValidInRedis(claims); // 추가
-            setAuthenticationToContext(claims);
+            VerifiedTokenCache.VerifiedToken token = verifyJws(request);
+            verifyNotRevoked(token);
+            setAuthenticationToContext(token);
         } catch (SignatureException se) {
             request.setAttribute("exception", se);
         } catch (ExpiredJwtException ee) {
@@ -70,12 +67,9 @@ public class JwtVerificationFilter extends OncePerRequestFilter {
 //    * @throws 예외처리
 //    * @author Tizesin(신민준)
 //    */
-    public Map<String, Object> verifyJws(HttpServletRequest request) {
+    public VerifiedTokenCache.VerifiedToken verifyJws(HttpServletRequest request) {
         String jws = request.getHeader("Authorization").replace("Bearer ", "");
-        String base64EncodedSecretKey = jwtTokenizer.encodeBase64SecretKey(jwtTokenizer.getSecretKey());
-        Map<String, Object> claims = jwtTokenizer.getClaims(jws, base64EncodedSecretKey).getBody();
-
-        return claims;
+        return verifiedTokenCache.verify(jws);
     }
 
 //    /**
@@ -94,10 +88,9 @@ public class JwtVerificationFilter extends OncePerRequestFilter {
         return authorization == null || !authorization.startsWith("Bearer");
     }
 
-    private void setAuthenticationToContext(Map<String, Object> claims) {
-        String username = (String) claims.get("username");
-        List<GrantedAuthority> authorities = authorityUtils.createAuthorities((List)claims.get("roles"));
-        Authentication authentication = new UsernamePasswordAuthenticationToken(username, null, authorities);
+    private void setAuthenticationToContext(VerifiedTokenCache.VerifiedToken token) {
+        Authentication authentication =
+                new UsernamePasswordAuthenticationToken(token.getPrincipal(), null, token.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
@@ -109,16 +102,14 @@ public class JwtVerificationFilter extends OncePerRequestFilter {
 //    * @author Tizesin(신민준)
 //    */
     public static String getMemberIdFromClaims(Map<String, Object> claims) {
-        return (String) claims.get("memberId");
+        Object memberId = claims.get("memberId");
+        return memberId == null ? null : String.valueOf(memberId);
     }
 
-    // Redis에서 토큰을 검증하는 메서드 추가
-    private boolean isTokenValidInRedis(Map<String, Object> claims) {
-        String username = (String) claims.get("username");
-
-        Boolean hasKey = Optional.ofNullable(redisTemplate.hasKey(username))
-                .orElseThrow(() -> new NullPointerException("Redis key check returned null"));
-
-        return hasKey;
+    // 로그아웃으로 폐기된 토큰인지 확인 (토큰의 epoch 와 로컬 epoch 비교)
+    private void verifyNotRevoked(VerifiedTokenCache.VerifiedToken token) {
+        if (!sessionEpochRegistry.isCurrent(token.getUsername(), token.getSessionEpoch())) {
+            throw new BusinessLogicException(ExceptionCode.TOKEN_INVALID);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.togedog.auth.filter;
+
+import com.togedog.auth.utils.ErrorResponder;
+import com.togedog.ratelimit.RateLimitDecision;
+import com.togedog.ratelimit.RateLimitRule;
+import com.togedog.ratelimit.RateLimiter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 경로별 요청 제한 필터
+ * JwtVerificationFilter 다음에 실행되어 인증된 요청은 회원 기준으로, 그 외에는 IP 기준으로 제한한다.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RateLimitRule rule = rateLimiter.findRule(request.getMethod(), request.getServletPath());
+        if (rule != null) {
+            RateLimitDecision decision = rateLimiter.acquire(rule, currentUsername(), request.getRemoteAddr());
+            if (!decision.isAllowed()) {
+                long retryAfterSeconds = Math.max(1, (decision.getRetryAfterMillis() + 999) / 1000);
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                ErrorResponder.sendErrorResponse(response, HttpStatus.TOO_MANY_REQUESTS);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
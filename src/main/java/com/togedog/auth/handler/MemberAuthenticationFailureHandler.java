@@ -1,8 +1,10 @@
 package com.togedog.auth.handler;
 
 import com.google.gson.Gson;
+import com.togedog.auth.credential.CredentialVerificationRejectedException;
 import com.togedog.errorResponse.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
@@ -21,14 +23,21 @@ public class MemberAuthenticationFailureHandler implements AuthenticationFailure
         // 인증 실패 시, 에러 로그를 기록하거나 error response를 전송할 수 있다.
         log.error("# Authentication failed: {}", exception.getMessage());
 
-        sendErrorResponse(response);
+        // 로그인 요청이 몰려 검증 대기열이 가득 찬 경우
+        if (exception instanceof CredentialVerificationRejectedException) {
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(((CredentialVerificationRejectedException) exception).getRetryAfterSeconds()));
+            sendErrorResponse(response, HttpStatus.TOO_MANY_REQUESTS);
+            return;
+        }
+        sendErrorResponse(response, HttpStatus.UNAUTHORIZED);
     }
 
-    private void sendErrorResponse(HttpServletResponse response) throws IOException {
+    private void sendErrorResponse(HttpServletResponse response, HttpStatus status) throws IOException {
         Gson gson = new Gson();
-        ErrorResponse errorResponse = ErrorResponse.of(HttpStatus.UNAUTHORIZED);
+        ErrorResponse errorResponse = ErrorResponse.of(status);
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setStatus(status.value());
         response.getWriter().write(gson.toJson(errorResponse, ErrorResponse.class));
     }
 }
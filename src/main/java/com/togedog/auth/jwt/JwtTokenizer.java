@@ -6,25 +6,32 @@ import io.jsonwebtoken.io.Encoders;
 import io.jsonwebtoken.security.Keys;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Map;
-import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenizer {
-    // RedisTemplate을 사용하여 Redis 서버와의 상호작용을 처리하는 필드를 선언.
-    private final RedisTemplate<String, Object> redisTemplate;
+    public static final String FAMILY_CLAIM = "fid";
+    // access / refresh token 은 같은 키로 서명하고 회원 정보도 같으므로 용도를 claim 으로 구분한다
+    public static final String TOKEN_TYPE_CLAIM = "tokenType";
+    public static final String ACCESS_TOKEN_TYPE = "access";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+
+    // refresh token 은 계열(family) 단위로 Redis 에 현재 토큰 id 만 저장
+    private final RefreshTokenStore refreshTokenStore;
+    private final SessionEpochRegistry sessionEpochRegistry;
     // 의존성 주입
-    public JwtTokenizer(RedisTemplate<String, Object> redisTemplate) {
-        this.redisTemplate = redisTemplate;
+    public JwtTokenizer(RefreshTokenStore refreshTokenStore, SessionEpochRegistry sessionEpochRegistry) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.sessionEpochRegistry = sessionEpochRegistry;
     }
 
     @Getter
@@ -39,6 +46,21 @@ public class JwtTokenizer {
     @Value("${jwt.refresh-token-expiration-minutes}")
     private int refreshTokenExpirationMinutes;
 
+    // 서명 키와 파서는 기동 시 한번만 만들어 재사용 (JwtParser 는 불변이라 스레드 간 공유 가능)
+    @Getter
+    private String base64EncodedSecretKey;
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        base64EncodedSecretKey = encodeBase64SecretKey(secretKey);
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64EncodedSecretKey));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     public String encodeBase64SecretKey(String secretKey) {
         return Encoders.BASE64.encode(secretKey.getBytes(StandardCharsets.UTF_8));
     }
@@ -48,6 +70,8 @@ public class JwtTokenizer {
                                       Date expiration,
                                       String base64EncodedSecretKey) {
         Key key = getKeyFromBase64EncodedKey(base64EncodedSecretKey);
+        putSessionEpoch(claims);
+        claims.put(TOKEN_TYPE_CLAIM, ACCESS_TOKEN_TYPE);
 
         String accessToken = Jwts.builder()
                 .setClaims(claims)
@@ -57,54 +81,80 @@ public class JwtTokenizer {
                 .signWith(key)
                 .compact();
 
-        // Redis의 ListOperations 객체를 사용하여 리스트 형태로 데이터를 처리.
-        ValueOperations<String, Object> valueOperations = redisTemplate.opsForValue();
-        // claims에 저장된 username(이메일)을 키로 accessToken 값을 추가.
-        valueOperations.set((String) claims.get("username"), accessToken, accessTokenExpirationMinutes, TimeUnit.MINUTES);
         return accessToken;
     }
 
-    // redis에 accessToken을 키로 사용하기 위해, accessToken을 함께 전달받습니다.
-    public String generateRefreshToken(String subject,
+    // 로그인 시 새 refresh token 계열을 만들고, 짝이 되는 accessToken 과 함께 Redis 에 등록합니다.
+    public String generateRefreshToken(Map<String, Object> claims,
+                                       String subject,
                                        Date expiration,
                                        String base64EncodedSecretKey,
                                        String accessToken) {
+        String familyId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+        String refreshToken = buildRefreshToken(claims, familyId, tokenId, subject, expiration, base64EncodedSecretKey);
+
+        refreshTokenStore.register(familyId, tokenId, accessToken, getRefreshTokenTtlSeconds());
+
+        return refreshToken;
+    }
+
+    // 저장 없이 refresh token 만 생성 (교체 시 RefreshTokenStore.rotate 로 저장)
+    public String buildRefreshToken(Map<String, Object> claims,
+                                    String familyId,
+                                    String tokenId,
+                                    String subject,
+                                    Date expiration,
+                                    String base64EncodedSecretKey) {
         Key key = getKeyFromBase64EncodedKey(base64EncodedSecretKey);
+        putSessionEpoch(claims);
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+        claims.put(FAMILY_CLAIM, familyId);
 
-        String refreshToken = Jwts.builder()
+        return Jwts.builder()
+                .setClaims(claims)
+                .setId(tokenId)
                 .setSubject(subject)
                 .setIssuedAt(Calendar.getInstance().getTime())
                 .setExpiration(expiration)
                 .signWith(key)
                 .compact();
+    }
 
-        // Redis의 ListOperations 객체를 사용하여 리스트 형태로 데이터를 처리.
-        ValueOperations<String, Object> valueOperations = redisTemplate.opsForValue();
-        // "accessToken"이라는 키에 accessToken 값을 리스트에 추가.
-        valueOperations.set(accessToken, refreshToken, refreshTokenExpirationMinutes, TimeUnit.MINUTES);
+    public long getRefreshTokenTtlSeconds() {
+        return TimeUnit.MINUTES.toSeconds(refreshTokenExpirationMinutes);
+    }
 
-        return refreshToken;
+    // 로그아웃(epoch 증가) 시 폐기 여부를 토큰만으로 판단할 수 있도록 세션 epoch 를 함께 담는다
+    // (토큰 교체 시에는 이전 토큰에서 확인한 epoch 를 그대로 사용)
+    private void putSessionEpoch(Map<String, Object> claims) {
+        if (!claims.containsKey(SessionEpochRegistry.EPOCH_CLAIM)) {
+            claims.put(SessionEpochRegistry.EPOCH_CLAIM, sessionEpochRegistry.currentEpoch((String) claims.get("username")));
+        }
+    }
+
+    // access token 자리에 refresh token(fid 포함)이 쓰이지 않도록 용도를 확인
+    public static boolean isAccessToken(Claims claims) {
+        return ACCESS_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM)) && !claims.containsKey(FAMILY_CLAIM);
+    }
+
+    public static boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM)) && claims.containsKey(FAMILY_CLAIM);
     }
 
     // 검증 후, Claims을 반환 하는 용도
     public Jws<Claims> getClaims(String jws, String base64EncodedSecretKey) {
-        Key key = getKeyFromBase64EncodedKey(base64EncodedSecretKey);
+        return getParser(base64EncodedSecretKey).parseClaimsJws(jws);
+    }
 
-        Jws<Claims> claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(jws);
-        return claims;
+    // 서버 서명 키로 검증 후 Claims 반환
+    public Jws<Claims> getClaims(String jws) {
+        return jwtParser.parseClaimsJws(jws);
     }
 
     // 단순히 검증만 하는 용도로 쓰일 경우
     public void verifySignature(String jws, String base64EncodedSecretKey) {
-        Key key = getKeyFromBase64EncodedKey(base64EncodedSecretKey);
-
-        Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(jws);
+        getParser(base64EncodedSecretKey).parseClaimsJws(jws);
     }
 
     /**
@@ -168,7 +218,19 @@ public class JwtTokenizer {
         return expiration;
     }
 
+    private JwtParser getParser(String base64EncodedSecretKey) {
+        if (base64EncodedSecretKey.equals(this.base64EncodedSecretKey)) {
+            return jwtParser;
+        }
+        return Jwts.parserBuilder()
+                .setSigningKey(getKeyFromBase64EncodedKey(base64EncodedSecretKey))
+                .build();
+    }
+
     private Key getKeyFromBase64EncodedKey(String base64EncodedSecretKey) {
+        if (base64EncodedSecretKey.equals(this.base64EncodedSecretKey)) {
+            return signingKey;
+        }
         byte[] keyBytes = Decoders.BASE64.decode(base64EncodedSecretKey);
         Key key = Keys.hmacShaKeyFor(keyBytes);
         return key;
@@ -179,17 +241,4 @@ public class JwtTokenizer {
         Key key = Keys.hmacShaKeyFor(keyBytes);
         return key;
     }
-
-    // 로그아웃시 레디스에서 email를 기준으로 토큰 값 삭제
-    public boolean deleteRegisterToken(String username) {
-        return Optional.ofNullable(redisTemplate.hasKey(username))
-                .filter(Boolean::booleanValue) // 키가 존재할 때만 진행
-                .map(hasKey -> {
-                    String accessToken = (String) redisTemplate.opsForValue().get(username);
-                    redisTemplate.delete(accessToken);
-                    redisTemplate.delete(username);
-                    return true;
-                })
-                .orElse(false); // 키가 존재하지 않거나 삭제되지 않았을 때 false 반환
-    }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.togedog.auth.jwt;
+
+import com.togedog.auth.utils.TokenHashUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * refresh token 계열(family) 저장소
+ *
+ * 로그인 한번에 하나의 계열이 만들어지고, Redis hash (refresh:family:{familyId}) 에
+ * 현재 유효한 refresh token id(jti) 와 짝이 되는 access token 해시만 보관한다.
+ * 교체(rotation)는 하나의 Lua 스크립트로 처리하여 확인 / 교체 / TTL 갱신 / 재사용 감지가 원자적으로 이루어진다.
+ * 이미 교체된 refresh token 이 다시 사용되면 탈취로 보고 계열 전체를 폐기한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenStore {
+    private static final String KEY_PREFIX = "refresh:family:";
+    private static final String TOKEN_ID = "jti";
+    private static final String ACCESS_TOKEN = "access";
+
+    // KEYS[1]: 계열 키, ARGV: 이전 jti, 이전 access 해시, 새 jti, 새 access 해시, TTL(초)
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            "local family = redis.call('HMGET', KEYS[1], 'jti', 'access') " +
+            "if not family[1] then return 0 end " +
+            "if family[1] ~= ARGV[1] then redis.call('DEL', KEYS[1]) return -1 end " +
+            "if family[2] ~= ARGV[2] then return 0 end " +
+            "redis.call('HSET', KEYS[1], 'jti', ARGV[3], 'access', ARGV[4]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[5]) " +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public enum Rotation {
+        ROTATED,
+        // 이미 교체된 refresh token 재사용 (계열 폐기됨)
+        REUSED,
+        // 만료/폐기된 계열이거나 access token 짝이 맞지 않음
+        REJECTED
+    }
+
+    // 로그인 시 새 계열 등록
+    public void register(String familyId, String tokenId, String accessToken, long ttlSeconds) {
+        String key = KEY_PREFIX + familyId;
+        stringRedisTemplate.opsForHash().putAll(key, Map.of(TOKEN_ID, tokenId, ACCESS_TOKEN, TokenHashUtils.sha256(accessToken)));
+        stringRedisTemplate.expire(key, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 이전 토큰 쌍을 확인하고 새 토큰 쌍으로 교체
+     *
+     * @return 교체 결과
+     */
+    public Rotation rotate(String familyId, String tokenId, String accessToken,
+                           String newTokenId, String newAccessToken, long ttlSeconds) {
+        Long result = stringRedisTemplate.execute(ROTATE_SCRIPT, Collections.singletonList(KEY_PREFIX + familyId),
+                tokenId, TokenHashUtils.sha256(accessToken),
+                newTokenId, TokenHashUtils.sha256(newAccessToken), String.valueOf(ttlSeconds));
+        if (result == null || result == 0) {
+            return Rotation.REJECTED;
+        }
+        return result > 0 ? Rotation.ROTATED : Rotation.REUSED;
+    }
+}
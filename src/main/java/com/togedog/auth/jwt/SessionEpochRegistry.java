@@ -0,0 +1,120 @@
+package com.togedog.auth.jwt;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원별 세션 epoch (토큰 폐기 기준값)
+ *
+ * - access token 에는 발급 시점의 epoch 를 claim 으로 넣고, 토큰의 epoch 가 현재 epoch 보다 작으면 폐기된 토큰이다.
+ * - 로그아웃은 Redis 의 epoch 를 올리고(이전 값 + 1 과 현재 시각 중 큰 값) 같은 스크립트 안에서 변경을 발행한다.
+ * - 각 노드는 epoch 를 로컬에 들고 있다가 발행된 변경을 받아 갱신하므로 요청마다 Redis 를 조회하지 않는다.
+ *   메시지를 놓친 경우에 대비해 일정 주기로 백그라운드에서 다시 읽는다.
+ * - epoch 키는 refresh token 유효 기간만큼 유지한다. 키가 만료되면 epoch 는 0 이 되지만,
+ *   그 전에 발급된 토큰은 이미 모두 만료된 상태이다.
+ */
+@Slf4j
+@Component
+public class SessionEpochRegistry implements MessageListener {
+    public static final String EPOCH_CLAIM = "sep";
+    static final String CHANNEL = "auth:session-epoch";
+    private static final String KEY_PREFIX = "session:epoch:";
+
+    // KEYS[1]: epoch 키, ARGV: 현재 시각(ms), TTL(초), 채널, 회원 이메일
+    private static final RedisScript<Long> BUMP_SCRIPT = new DefaultRedisScript<>(
+            "local epoch = math.max(tonumber(redis.call('GET', KEYS[1]) or '0') + 1, tonumber(ARGV[1])) " +
+            "local value = string.format('%d', epoch) " +
+            "redis.call('SET', KEYS[1], value, 'EX', ARGV[2]) " +
+            "redis.call('PUBLISH', ARGV[3], ARGV[4] .. ' ' .. value) " +
+            "return epoch", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long epochTtlSeconds;
+    private final LoadingCache<String, Long> epochs;
+
+    public SessionEpochRegistry(StringRedisTemplate stringRedisTemplate,
+                                RedisMessageListenerContainer listenerContainer,
+                                @Value("${jwt.refresh-token-expiration-minutes}") long refreshTokenExpirationMinutes,
+                                @Value("${jwt.session-epoch.refresh-seconds:60}") long refreshSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.epochTtlSeconds = TimeUnit.MINUTES.toSeconds(refreshTokenExpirationMinutes);
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(30, TimeUnit.MINUTES)
+                .refreshAfterWrite(refreshSeconds, TimeUnit.SECONDS)
+                .build(this::load);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 토큰 발급용 현재 epoch (Redis 에서 읽어 로컬 값도 갱신)
+     *
+     * @param username 회원 이메일
+     * @return 현재 epoch
+     */
+    public long currentEpoch(String username) {
+        long epoch = load(username);
+        epochs.asMap().merge(username, epoch, Math::max);
+        return epoch;
+    }
+
+    /**
+     * @param username 회원 이메일
+     * @param tokenEpoch 토큰에 담긴 epoch (claim 이 없는 이전 토큰은 0)
+     * @return 폐기되지 않은 토큰이면 true
+     */
+    public boolean isCurrent(String username, long tokenEpoch) {
+        return tokenEpoch >= epochs.get(username);
+    }
+
+    /**
+     * 회원의 epoch 를 올려 이전에 발급된 토큰을 모든 노드에서 폐기
+     *
+     * @param username 회원 이메일
+     * @return 새 epoch
+     */
+    public long bump(String username) {
+        Long epoch = stringRedisTemplate.execute(BUMP_SCRIPT, Collections.singletonList(KEY_PREFIX + username),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(epochTtlSeconds), CHANNEL, username);
+        epochs.asMap().merge(username, epoch, Math::max);
+        return epoch;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(' ');
+        try {
+            long epoch = Long.parseLong(body.substring(separator + 1));
+            epochs.asMap().merge(body.substring(0, separator), epoch, Math::max);
+        } catch (RuntimeException e) {
+            log.warn("세션 epoch 메시지 해석 실패: {}", body);
+        }
+    }
+
+    private long load(String username) {
+        String epoch = stringRedisTemplate.opsForValue().get(KEY_PREFIX + username);
+        return epoch == null ? 0L : Long.parseLong(epoch);
+    }
+}
@@ -0,0 +1,134 @@
+package com.togedog.auth.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.togedog.auth.principal.MemberPrincipal;
+import com.togedog.auth.utils.CustomAuthorityUtils;
+import com.togedog.auth.utils.TokenHashUtils;
+import com.togedog.redis.blacklist.BlacklistStore;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증이 끝난 access token 캐시
+ * 토큰의 SHA-256 해시를 키로 파싱된 claims, 인증 회원 정보, 권한 목록을 토큰 만료 시각까지 들고 있어서,
+ * 같은 토큰으로 들어오는 요청은 서명 검증/파싱을 다시 하지 않는다.
+ * 토큰 원문은 보관하지 않으며, 로그아웃 시 해당 회원의 항목을 제거한다.
+ * 로그아웃한 토큰은 해시를 블랙리스트에 올려 캐시 여부와 관계없이 거절한다. (블랙리스트 확인은 대부분 로컬 Bloom filter 에서 끝난다)
+ */
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCache {
+    private static final int MAXIMUM_SIZE = 100_000;
+    private static final String BLACKLIST_ENTRY_PREFIX = "token:";
+
+    private final JwtTokenizer jwtTokenizer;
+    private final CustomAuthorityUtils authorityUtils;
+    private final BlacklistStore blacklistStore;
+
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfter(new Expiry<String, VerifiedToken>() {
+                @Override
+                public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.getExpiresAt() - System.currentTimeMillis()));
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    /**
+     * 토큰 검증 (캐시에 없으면 서명 검증 후 캐싱)
+     *
+     * @param jws access token
+     * @return 검증된 토큰 정보
+     * @throws io.jsonwebtoken.JwtException 서명 불일치, 만료, 형식 오류, access token 이 아닌 토큰(refresh token 등)
+     */
+    public VerifiedToken verify(String jws) {
+        String tokenHash = hash(jws);
+        if (blacklistStore.isBlacklisted(BLACKLIST_ENTRY_PREFIX + tokenHash)) {
+            verifiedTokens.invalidate(tokenHash);
+            throw new JwtException("폐기된 토큰입니다.");
+        }
+        VerifiedToken token = verifiedTokens.get(tokenHash, key -> parse(jws));
+        // 만료 처리는 캐시가 비동기로 하므로 경계 시점을 한번 더 확인
+        if (token.getExpiresAt() <= System.currentTimeMillis()) {
+            verifiedTokens.invalidate(tokenHash);
+            throw new ExpiredJwtException(null, null, "토큰이 만료되었습니다.");
+        }
+        return token;
+    }
+
+    /**
+     * 토큰 하나를 만료 시각까지 블랙리스트에 올린다 (모든 노드에서 거절)
+     *
+     * @param jws 폐기할 access token
+     */
+    public void blacklist(String jws) {
+        String tokenHash = hash(jws);
+        VerifiedToken token = verifiedTokens.get(tokenHash, key -> parse(jws));
+        blacklistStore.add(BLACKLIST_ENTRY_PREFIX + tokenHash, Instant.ofEpochMilli(token.getExpiresAt()));
+        verifiedTokens.invalidate(tokenHash);
+    }
+
+    // 로그아웃 등으로 회원의 토큰이 폐기된 경우 캐시에서 제거
+    public void revoke(String username) {
+        verifiedTokens.asMap().values().removeIf(token -> username.equals(token.getUsername()));
+    }
+
+    private VerifiedToken parse(String jws) {
+        Claims claims = jwtTokenizer.getClaims(jws).getBody();
+        if (!JwtTokenizer.isAccessToken(claims)) {
+            throw new UnsupportedJwtException("access token 이 아닙니다.");
+        }
+        MemberPrincipal principal = MemberPrincipal.from(claims);
+        List<GrantedAuthority> authorities = Collections.unmodifiableList(
+                authorityUtils.createAuthorities(principal.getRoles()));
+        long expiresAt = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime();
+        Number sessionEpoch = claims.get(SessionEpochRegistry.EPOCH_CLAIM, Number.class);
+        return new VerifiedToken(principal, Collections.unmodifiableMap(claims), authorities, expiresAt,
+                sessionEpoch == null ? 0L : sessionEpoch.longValue());
+    }
+
+    private static String hash(String jws) {
+        return TokenHashUtils.sha256(jws);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class VerifiedToken {
+        private MemberPrincipal principal;
+        private Map<String, Object> claims;
+        private List<GrantedAuthority> authorities;
+        private long expiresAt;
+        // 발급 시점의 세션 epoch (claim 이 없는 이전 토큰은 0)
+        private long sessionEpoch;
+
+        public String getUsername() {
+            return principal.getEmail();
+        }
+    }
+}
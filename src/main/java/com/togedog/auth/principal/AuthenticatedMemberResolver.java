@@ -0,0 +1,68 @@
+package com.togedog.auth.principal;
+
+import com.togedog.exception.BusinessLogicException;
+import com.togedog.exception.ExceptionCode;
+import com.togedog.member.entity.Member;
+import com.togedog.member.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 인증 정보로 회원 엔티티를 찾는 공용 resolver
+ * 조회한 회원은 요청 속성(request scope)에 보관하여, 한 요청에서 여러 서비스 메서드가 회원을 찾더라도
+ * 조회는 처음 한번만 한다. (open-in-view 로 같은 영속성 컨텍스트를 쓰므로 보관한 엔티티도 관리 상태이다)
+ * 요청 밖(스케줄러, 메시지 처리 등)에서 호출되면 보관하지 않고 매번 조회한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthenticatedMemberResolver {
+    private static final String MEMBER_ATTRIBUTE = AuthenticatedMemberResolver.class.getName() + ".member";
+
+    private final MemberRepository memberRepository;
+
+    /**
+     * @param authentication 인증 정보
+     * @return 인증 회원 엔티티
+     * @throws BusinessLogicException MEMBER_NOT_FOUND 인증 정보가 없거나 회원이 없는 경우
+     */
+    public Member resolve(Authentication authentication) {
+        if (authentication == null || authentication.getPrincipal() == null) {
+            throw new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND);
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return load(authentication);
+        }
+        Member member = (Member) attributes.getAttribute(MEMBER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (member == null || !member.getEmail().equals(authentication.getName())) {
+            member = load(authentication);
+            attributes.setAttribute(MEMBER_ATTRIBUTE, member, RequestAttributes.SCOPE_REQUEST);
+        }
+        return member;
+    }
+
+    /**
+     * @param authentication 인증 정보
+     * @return 토큰에 담긴 인증 회원 정보 (DB 조회 없음)
+     * @throws BusinessLogicException UNAUTHORIZED_MEMBER 토큰으로 인증된 요청이 아닌 경우
+     */
+    public MemberPrincipal principal(Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof MemberPrincipal)) {
+            throw new BusinessLogicException(ExceptionCode.UNAUTHORIZED_MEMBER);
+        }
+        return (MemberPrincipal) authentication.getPrincipal();
+    }
+
+    // 토큰에 memberId 가 있으면 PK 로, 없으면(이전 토큰) email 로 조회
+    private Member load(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        Long memberId = principal instanceof MemberPrincipal ? ((MemberPrincipal) principal).getMemberId() : null;
+        return (memberId != null
+                ? memberRepository.findById(memberId)
+                : memberRepository.findByEmail(authentication.getName()))
+                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
+    }
+}
@@ -0,0 +1,16 @@
+package com.togedog.auth.principal;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 파라미터에 인증 회원을 주입
+ * - MemberPrincipal 타입: 토큰 정보만 사용 (DB 조회 없음)
+ * - Member 타입: 요청 안에서 한번만 조회한 회원 엔티티
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LoginMember {
+}
@@ -0,0 +1,41 @@
+package com.togedog.auth.principal;
+
+import com.togedog.member.entity.Member;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * {@link LoginMember} 파라미터 처리
+ * 토큰으로 인증되지 않은 요청은 UNAUTHORIZED_MEMBER 로 거절한다.
+ * Member 는 AuthenticatedMemberResolver 를 통해 가져오므로 서비스에서 다시 찾아도 추가 조회가 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginMemberArgumentResolver implements HandlerMethodArgumentResolver {
+    private final AuthenticatedMemberResolver authenticatedMemberResolver;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        return parameter.hasParameterAnnotation(LoginMember.class)
+                && (type == MemberPrincipal.class || type == Member.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        MemberPrincipal principal = authenticatedMemberResolver.principal(authentication);
+        if (parameter.getParameterType() == MemberPrincipal.class) {
+            return principal;
+        }
+        return authenticatedMemberResolver.resolve(authentication);
+    }
+}
@@ -0,0 +1,48 @@
+package com.togedog.auth.principal;
+
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * access token 에 담긴 인증 회원 정보
+ * 회원 엔티티를 조회하지 않고도 memberId, email, nickname, roles 를 사용할 수 있다.
+ * getName() 은 email 을 반환하므로 authentication.getName() 은 이전과 같이 email 이다.
+ */
+@Getter
+@AllArgsConstructor
+public class MemberPrincipal implements AuthenticatedPrincipal, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // memberId claim 이 없는 이전 토큰은 null
+    private final Long memberId;
+    private final String email;
+    private final String nickname;
+    private final List<String> roles;
+
+    @SuppressWarnings("unchecked")
+    public static MemberPrincipal from(Claims claims) {
+        Number memberId = claims.get("memberId", Number.class);
+        List<String> roles = (List<String>) claims.get("roles");
+        return new MemberPrincipal(
+                memberId == null ? null : memberId.longValue(),
+                (String) claims.get("username"),
+                (String) claims.get("nickname"),
+                roles == null ? Collections.emptyList() : Collections.unmodifiableList(roles));
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
@@ -1,34 +1,60 @@
 package com.togedog.auth.service;
 
+import com.togedog.auth.dto.TokenDto;
 import com.togedog.auth.jwt.JwtTokenizer;
+import com.togedog.auth.jwt.RefreshTokenStore;
+import com.togedog.auth.jwt.SessionEpochRegistry;
+import com.togedog.auth.jwt.VerifiedTokenCache;
+import com.togedog.eventListener.CustomEvent;
 import com.togedog.exception.BusinessLogicException;
 import com.togedog.exception.ExceptionCode;
 import com.togedog.member.entity.Member;
 import com.togedog.member.repository.MemberRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.togedog.eventListener.EventCaseEnum.EventCase.REVOKE_MEMBER_TOKENS;
+
+@Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class AuthService {
     private final JwtTokenizer jwtTokenizer;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final RefreshTokenStore refreshTokenStore;
+    private final SessionEpochRegistry sessionEpochRegistry;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 사용자를 로그아웃 처리하는 메서드
      * <p>
-     * 이 메서드는 주어진 사용자명에 해당하는 JWT 토큰을 삭제하여 로그아웃을 처리합니다.
-     * 주로 Redis와 같은 저장소에서 토큰을 삭제하는 방식으로 로그아웃이 구현됩니다.
+     * 이 메서드는 주어진 사용자의 세션 epoch 를 올려 이전에 발급된 JWT 토큰을 모두 폐기합니다.
+     * 변경된 epoch 는 Redis 로 발행되어 모든 서버에서 해당 토큰을 거절합니다.
+     * 로그아웃에 사용한 access token 은 만료 시각까지 블랙리스트에도 올립니다.
      *
      * @param username 로그아웃할 사용자의 사용자명
+     * @param accessToken 로그아웃 요청의 access token (없으면 null)
      * @return 로그아웃이 성공하면 true, 실패하면 false를 반환
      */
-    public boolean logout(String username) {
-        boolean tokenDeleted = jwtTokenizer.deleteRegisterToken(username);
+    public boolean logout(String username, String accessToken) {
+        if (accessToken != null) {
+            verifiedTokenCache.blacklist(accessToken);
+        }
+        sessionEpochRegistry.bump(username);
+        // 이 노드의 토큰 검증 캐시에서 즉시 제외 (다른 노드는 epoch 비교로 거절)
+        eventPublisher.publishEvent(new CustomEvent(this, REVOKE_MEMBER_TOKENS, username));
 
         Member member = memberRepository.findByEmail(username)
                 .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
@@ -36,10 +62,65 @@ public class AuthService {
         member.setStatus(Member.memberStatus.LOGGED_OUT);
         memberRepository.save(member);
 
-        return tokenDeleted;
+        return true;
+    }
+
+    /**
+     * refresh token 으로 토큰 쌍을 교체하는 메서드
+     * <p>
+     * 회원 정보는 refresh token 의 claims 에서 가져오고 교체는 Redis 스크립트 한번으로 처리하므로
+     * 비밀번호 확인(BCrypt)과 DB 조회가 없습니다. 이미 교체된 refresh token 이 다시 사용되면
+     * 탈취로 보고 해당 회원의 모든 토큰을 폐기합니다.
+     *
+     * @param accessToken 이전 access token (만료되었어도 됨)
+     * @param refreshToken 이전 refresh token
+     * @return 새 토큰 쌍
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TokenDto refresh(String accessToken, String refreshToken) {
+        Claims claims = parseRefreshToken(refreshToken);
+        String username = (String) claims.get("username");
+        String familyId = (String) claims.get(JwtTokenizer.FAMILY_CLAIM);
+        Number sessionEpoch = claims.get(SessionEpochRegistry.EPOCH_CLAIM, Number.class);
+        if (!JwtTokenizer.isRefreshToken(claims)
+                || username == null || familyId == null || claims.getId() == null || sessionEpoch == null
+                || !sessionEpochRegistry.isCurrent(username, sessionEpoch.longValue())) {
+            throw new BusinessLogicException(ExceptionCode.REFRESH_TOKEN_INVALID);
+        }
+
+        Map<String, Object> memberClaims = new HashMap<>();
+        memberClaims.put("memberId", claims.get("memberId"));
+        memberClaims.put("username", username);
+        memberClaims.put("nickname", claims.get("nickname"));
+        memberClaims.put("roles", claims.get("roles"));
+        memberClaims.put(SessionEpochRegistry.EPOCH_CLAIM, sessionEpoch.longValue());
+
+        String base64EncodedSecretKey = jwtTokenizer.getBase64EncodedSecretKey();
+        String newAccessToken = jwtTokenizer.generateAccessToken(new HashMap<>(memberClaims), username,
+                jwtTokenizer.getTokenExpiration(jwtTokenizer.getAccessTokenExpirationMinutes()), base64EncodedSecretKey);
+        String newTokenId = UUID.randomUUID().toString();
+        String newRefreshToken = jwtTokenizer.buildRefreshToken(memberClaims, familyId, newTokenId, username,
+                jwtTokenizer.getTokenExpiration(jwtTokenizer.getRefreshTokenExpirationMinutes()), base64EncodedSecretKey);
+
+        switch (refreshTokenStore.rotate(familyId, claims.getId(), accessToken,
+                newTokenId, newAccessToken, jwtTokenizer.getRefreshTokenTtlSeconds())) {
+            case ROTATED:
+                return new TokenDto(newAccessToken, newRefreshToken);
+            case REUSED:
+                log.warn("refresh token 재사용 감지: {} (family {})", username, familyId);
+                sessionEpochRegistry.bump(username);
+                eventPublisher.publishEvent(new CustomEvent(this, REVOKE_MEMBER_TOKENS, username));
+                throw new BusinessLogicException(ExceptionCode.REFRESH_TOKEN_INVALID);
+            default:
+                throw new BusinessLogicException(ExceptionCode.REFRESH_TOKEN_INVALID);
+        }
     }
 
-    public boolean isTokenValid(String userName) {
-        return redisTemplate.hasKey(userName);
+    private Claims parseRefreshToken(String refreshToken) {
+        try {
+            return jwtTokenizer.getClaims(refreshToken).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BusinessLogicException(ExceptionCode.REFRESH_TOKEN_INVALID);
+        }
     }
-}
+}
\ No newline at end of file
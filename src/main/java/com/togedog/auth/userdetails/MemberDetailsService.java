@@ -7,6 +7,7 @@ import com.togedog.member.entity.Member;
 import com.togedog.member.repository.MemberRepository;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -17,9 +18,10 @@ import java.util.Optional;
 /**
  * - Custom UserDetails 사용
  * - User Role을 DB에서 조회한 후, HelloAuthorityUtils로 Spring Security에게 Role 정보 제공
+ * - 로그인 성공 시 비밀번호 해시의 강도가 설정보다 낮으면 새 강도로 다시 저장 (UserDetailsPasswordService)
  */
 @Component
-public class MemberDetailsService implements UserDetailsService {
+public class MemberDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final MemberRepository memberRepository;
     private final CustomAuthorityUtils authorityUtils;
 
@@ -36,10 +38,21 @@ public class MemberDetailsService implements UserDetailsService {
         return new MemberDetails(findMember);
     }
 
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Member findMember = memberRepository.findById(((Member) user).getMemberId())
+                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
+        findMember.setPassword(newPassword);
+        memberRepository.save(findMember);
+
+        return new MemberDetails(findMember);
+    }
+
     private final class MemberDetails extends Member implements UserDetails {
         MemberDetails(Member member) {
             setMemberId(member.getMemberId());
             setEmail(member.getEmail());
+            setNickName(member.getNickName());
             setPassword(member.getPassword());
             setRoles(member.getRoles());
         }
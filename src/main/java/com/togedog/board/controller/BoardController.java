@@ -1,6 +1,5 @@
 package com.togedog.board.controller;
 
-import com.togedog.auth.service.AuthService;
 import com.togedog.board.dto.BoardDto;
 import com.togedog.board.entity.Board;
 import com.togedog.board.entity.BoardType;
@@ -30,7 +29,6 @@ public class BoardController {
     private final static String BOARD_DEF_URL = "/boards";
     private final BoardMapper mapper;
     private final BoardService service;
-    private final AuthService authService;
 
     @PostMapping("/{board-type}")
     public ResponseEntity postBoard(@PathVariable("board-type") String boardType,
@@ -59,14 +57,7 @@ public class BoardController {
     public ResponseEntity patchBoard(@PathVariable("board-id") @Positive long boardId,
                                      @Valid @RequestBody BoardDto.Patch requestBody,
                                      Authentication authentication){
-        String email = null;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
+        if (authentication == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         requestBody.setBoardId(boardId);
@@ -80,14 +71,7 @@ public class BoardController {
     @DeleteMapping("/{board-id}")
     public ResponseEntity deleteBoard(@PathVariable("board-id") @Positive long boardId,
                                       Authentication authentication) {
-        String email = null;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
+        if (authentication == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         service.deleteBoard(boardId, authentication);
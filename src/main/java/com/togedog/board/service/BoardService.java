@@ -1,12 +1,12 @@
 package com.togedog.board.service;
 
+import com.togedog.auth.principal.AuthenticatedMemberResolver;
 import com.togedog.board.entity.Board;
 import com.togedog.board.entity.BoardType;
 import com.togedog.board.repository.BoardRepository;
 import com.togedog.exception.BusinessLogicException;
 import com.togedog.exception.ExceptionCode;
 import com.togedog.member.entity.Member;
-import com.togedog.member.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -24,7 +24,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class BoardService {
     private final BoardRepository boardRepository;
-    private final MemberRepository memberRepository;
+    private final AuthenticatedMemberResolver authenticatedMemberResolver;
 
     public BoardType convertToBoardType(String boardType) {
         try {
@@ -35,14 +35,14 @@ public class BoardService {
     }
 
     public Board createBoard(Board board, BoardType boardType,Authentication authentication){
-        Member member = extractMemberFromAuthentication(authentication);
+        Member member = authenticatedMemberResolver.resolve(authentication);
         board.setMember(member);
         board.setBoardType(boardType);
         return boardRepository.save(board);
     }
 
     public Board patchBoard(Board board, Authentication authentication){
-        extractMemberFromAuthentication(authentication);
+        authenticatedMemberResolver.resolve(authentication);
         Board findBoard = boardRepository.findById(board.getBoardId())
                         .orElseThrow(() -> new BusinessLogicException(ExceptionCode.BOARD_NOT_FOUND));
 
@@ -78,7 +78,7 @@ public class BoardService {
     }
 
     public void deleteBoard(long boardId, Authentication authentication){
-        extractMemberFromAuthentication(authentication);
+        authenticatedMemberResolver.resolve(authentication);
         Board findBoard = findVerifiedBoard(boardId);
         if(!findBoard.getMember().getEmail().equals(authentication.getName())) {
             throw new BusinessLogicException(ExceptionCode.UNAUTHORIZED_MEMBER);
@@ -96,13 +96,4 @@ public class BoardService {
                 new BusinessLogicException(ExceptionCode.BOARD_NOT_FOUND));
         return result;
     }
-
-    private Member extractMemberFromAuthentication(Authentication authentication) {
-        if (authentication.getPrincipal() == null) {
-            throw new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND);
-        }
-        String email = (String) authentication.getPrincipal();
-        return memberRepository.findByEmail(email)
-                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
-    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.togedog.chat.broker;
+
+/**
+ * 채팅방 구독자(/sub/chat/{chatRoomId})에게 메시지 전달
+ * chat.broker.relay 설정으로 구현을 고른다.
+ * - redis (기본): Redis pub/sub 으로 다른 노드의 구독자에게도 전달 (RedisChatBroadcaster)
+ * - local: 이 노드의 구독자에게만 전달 (단일 노드)
+ */
+public interface ChatBroadcaster {
+    String DESTINATION_PREFIX = "/sub/chat/";
+
+    void broadcast(long chatRoomId, Object payload);
+}
@@ -0,0 +1,49 @@
+package com.togedog.chat.broker;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 채팅 STOMP destination 해석
+ * 형식이 정확히 맞을 때만 채팅방 id 를 돌려준다 (와일드카드, 하위 경로, 숫자가 아닌 id 는 null).
+ */
+public final class ChatDestinations {
+    // 구독: /sub/chat/{chatRoomId}
+    private static final Pattern ROOM = Pattern.compile(Pattern.quote(ChatBroadcaster.DESTINATION_PREFIX) + "(\\d{1,18})");
+    // 전송: /pub/chat/{chatRoomId}, /pub/chat/{chatRoomId}/read
+    private static final Pattern SEND = Pattern.compile("/pub/chat/(\\d{1,18})(?:/read)?");
+    // 재연결 후 놓친 채팅 조회 구독: /pub/chat/{chatRoomId}/since/{seq}
+    private static final Pattern RESUME = Pattern.compile("/pub/chat/(\\d{1,18})/since/\\d{1,18}");
+
+    private ChatDestinations() {
+    }
+
+    /**
+     * 채팅방 구독 destination 의 채팅방 id
+     */
+    public static Long chatRoomIdOf(String destination) {
+        return match(ROOM, destination);
+    }
+
+    /**
+     * 채팅 전송/읽음 destination 의 채팅방 id
+     */
+    public static Long sendChatRoomIdOf(String destination) {
+        return match(SEND, destination);
+    }
+
+    /**
+     * 놓친 채팅 조회 구독 destination 의 채팅방 id
+     */
+    public static Long resumeChatRoomIdOf(String destination) {
+        return match(RESUME, destination);
+    }
+
+    private static Long match(Pattern pattern, String destination) {
+        if (destination == null) {
+            return null;
+        }
+        Matcher matcher = pattern.matcher(destination);
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.togedog.chat.broker;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 채팅 전달 통로 (운영은 Redis pub/sub, 테스트는 프로세스 안의 대체 구현)
+ * 채널마다 구독자는 하나만 등록한다.
+ */
+public interface ChatRelayTransport {
+    void publish(String channel, byte[] message);
+
+    void subscribe(String channel, Consumer<byte[]> listener);
+
+    void unsubscribe(String channel);
+}
@@ -0,0 +1,18 @@
+package com.togedog.chat.broker;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.broker.relay", havingValue = "local")
+public class LocalChatBroadcaster implements ChatBroadcaster {
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    @Override
+    public void broadcast(long chatRoomId, Object payload) {
+        messagingTemplate.convertAndSend(DESTINATION_PREFIX + chatRoomId, payload);
+    }
+}
@@ -0,0 +1,175 @@
+package com.togedog.chat.broker;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis pub/sub 으로 여러 노드의 채팅방 구독자에게 전달하는 브로커 브리지
+ *
+ * - 이 노드의 구독자에게는 바로 보내고, 다른 노드로 보낼 메시지는 tick 마다 채팅방별로 모아 PUBLISH 한번으로 보낸다.
+ *   채널: chat:room:{chatRoomId}, 본문: {"origin": 노드 id, "messages": [...]}
+ * - 채팅방 채널은 이 노드에 그 채팅방 구독자가 있는 동안만 구독한다 (첫 구독에서 SUBSCRIBE, 마지막 해제에서 UNSUBSCRIBE).
+ *   따라서 각 노드는 자기 구독자가 있는 채팅방의 메시지만 받는다.
+ * - 자기가 보낸 묶음은 이미 바로 전달했으므로 받아도 건너뛴다.
+ * - 채팅방 구독 여부는 RoomSubscriptionRegistry 의 알림으로 안다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.broker.relay", havingValue = "redis", matchIfMissing = true)
+public class RedisChatBroadcaster implements ChatBroadcaster, RoomSubscriptionRegistry.Listener {
+    static final String CHANNEL_PREFIX = "chat:room:";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final ChatRelayTransport transport;
+    private final long tickMillis;
+    private final RoomSubscriptionRegistry subscriptions;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // 다음 tick 에 다른 노드로 보낼 메시지
+    private final Queue<Outbound> outbound = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chat-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public RedisChatBroadcaster(SimpMessageSendingOperations messagingTemplate,
+                                ChatRelayTransport transport,
+                                @Value("${chat.broker.relay-tick-millis:10}") long tickMillis,
+                                RoomSubscriptionRegistry subscriptions) {
+        this.messagingTemplate = messagingTemplate;
+        this.transport = transport;
+        this.tickMillis = tickMillis;
+        this.subscriptions = subscriptions;
+        subscriptions.addListener(this);
+    }
+
+    // 자기 구독 레지스트리를 가진 브로드캐스터 (노드 하나를 흉내 내는 테스트용)
+    RedisChatBroadcaster(SimpMessageSendingOperations messagingTemplate, ChatRelayTransport transport, long tickMillis) {
+        this(messagingTemplate, transport, tickMillis, new RoomSubscriptionRegistry());
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker.scheduleWithFixedDelay(this::flushQuietly, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        ticker.shutdown();
+        ticker.awaitTermination(1, TimeUnit.SECONDS);
+        flushQuietly();
+    }
+
+    @Override
+    public void broadcast(long chatRoomId, Object payload) {
+        messagingTemplate.convertAndSend(DESTINATION_PREFIX + chatRoomId, payload);
+        outbound.add(new Outbound(chatRoomId, objectMapper.valueToTree(payload)));
+    }
+
+    /**
+     * 모인 메시지를 채팅방별 묶음으로 PUBLISH
+     *
+     * @return 보낸 묶음 수
+     */
+    int flush() {
+        Map<Long, ArrayNode> batches = new LinkedHashMap<>();
+        Outbound next;
+        while ((next = outbound.poll()) != null) {
+            batches.computeIfAbsent(next.chatRoomId, id -> objectMapper.createArrayNode()).add(next.payload);
+        }
+        batches.forEach((chatRoomId, messages) -> {
+            ObjectNode envelope = objectMapper.createObjectNode();
+            envelope.put("origin", nodeId);
+            envelope.set("messages", messages);
+            try {
+                transport.publish(channel(chatRoomId), objectMapper.writeValueAsBytes(envelope));
+            } catch (JsonProcessingException | RuntimeException e) {
+                // 이 노드 구독자는 이미 받았으므로 다른 노드 전달만 빠진다
+                log.warn("채팅방 {} 메시지 {}건 노드 간 전달 실패: {}", chatRoomId, messages.size(), e.getMessage());
+            }
+        });
+        return batches.size();
+    }
+
+    @Override
+    public void roomOpened(long chatRoomId) {
+        transport.subscribe(channel(chatRoomId), body -> relay(chatRoomId, body));
+    }
+
+    @Override
+    public void roomClosed(long chatRoomId) {
+        transport.unsubscribe(channel(chatRoomId));
+    }
+
+    void subscribe(String sessionId, String subscriptionId, String destination) {
+        subscriptions.subscribe(sessionId, subscriptionId, destination, null);
+    }
+
+    void unsubscribe(String sessionId, String subscriptionId) {
+        subscriptions.unsubscribe(sessionId, subscriptionId);
+    }
+
+    void disconnect(String sessionId) {
+        subscriptions.disconnect(sessionId);
+    }
+
+    private void relay(long chatRoomId, byte[] body) {
+        try {
+            JsonNode envelope = objectMapper.readTree(body);
+            if (nodeId.equals(envelope.path("origin").asText())) {
+                return;
+            }
+            for (JsonNode message : envelope.path("messages")) {
+                messagingTemplate.convertAndSend(DESTINATION_PREFIX + chatRoomId, message);
+            }
+        } catch (IOException e) {
+            log.warn("채팅방 {} 노드 간 메시지를 읽을 수 없습니다: {}", chatRoomId, e.getMessage());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("채팅 노드 간 전달 flush 실패: {}", e.getMessage());
+        }
+    }
+
+    private static String channel(long chatRoomId) {
+        return CHANNEL_PREFIX + chatRoomId;
+    }
+
+    private static final class Outbound {
+        private final long chatRoomId;
+        private final JsonNode payload;
+
+        private Outbound(long chatRoomId, JsonNode payload) {
+            this.chatRoomId = chatRoomId;
+            this.payload = payload;
+        }
+    }
+}
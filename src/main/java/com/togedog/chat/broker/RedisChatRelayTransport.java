@@ -0,0 +1,50 @@
+package com.togedog.chat.broker;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub 전달 통로
+ * 구독은 공용 RedisMessageListenerContainer 에 채널별 리스너로 등록/해제한다 (연결이 끊기면 컨테이너가 다시 구독한다)
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisChatRelayTransport implements ChatRelayTransport {
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Map<String, MessageListener> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String channel, byte[] message) {
+        byte[] rawChannel = channel.getBytes(StandardCharsets.UTF_8);
+        stringRedisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(rawChannel, message));
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<byte[]> listener) {
+        MessageListener messageListener = (message, pattern) -> listener.accept(message.getBody());
+        MessageListener previous = listeners.put(channel, messageListener);
+        if (previous != null) {
+            listenerContainer.removeMessageListener(previous, new ChannelTopic(channel));
+        }
+        listenerContainer.addMessageListener(messageListener, new ChannelTopic(channel));
+    }
+
+    @Override
+    public void unsubscribe(String channel) {
+        MessageListener listener = listeners.remove(channel);
+        if (listener != null) {
+            listenerContainer.removeMessageListener(listener, new ChannelTopic(channel));
+        }
+    }
+}
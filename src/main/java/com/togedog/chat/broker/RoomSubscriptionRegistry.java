@@ -0,0 +1,141 @@
+package com.togedog.chat.broker;
+
+import com.togedog.chat.handler.ChatSessionAttributes;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 이 노드의 채팅방 구독(/sub/chat/{chatRoomId}) 추적
+ * STOMP 세션 이벤트로 세션별 구독을 모아, 채팅방/회원별로 처음 구독할 때와 마지막 구독이 끝날 때 Listener 에 알린다.
+ * 알림은 구독 변경과 같은 잠금 안에서 순서대로 보내므로, 같은 채팅방의 열림과 닫힘이 뒤바뀌지 않는다.
+ */
+@Component
+public class RoomSubscriptionRegistry {
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // guarded by this: 세션 id -> (구독 id -> 구독), 채팅방 id -> 구독 수, [채팅방 id, 회원 id] -> 구독 수
+    private final Map<String, Map<String, Subscription>> subscriptions = new HashMap<>();
+    private final Map<Long, Integer> rooms = new HashMap<>();
+    private final Map<List<Long>, Integer> viewers = new HashMap<>();
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (ChatDestinations.chatRoomIdOf(accessor.getDestination()) == null) {
+            return;
+        }
+        subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), accessor.getDestination(),
+                ChatSessionAttributes.principal(accessor.getSessionAttributes()).getMemberId());
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+    }
+
+    // 같은 세션에 대해 여러 번 올 수 있다
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnect(event.getSessionId());
+    }
+
+    /**
+     * @param memberId 구독한 회원 (모르면 null, 채팅방 알림만 보낸다)
+     */
+    public synchronized void subscribe(String sessionId, String subscriptionId, String destination, Long memberId) {
+        Long chatRoomId = ChatDestinations.chatRoomIdOf(destination);
+        if (sessionId == null || subscriptionId == null || chatRoomId == null) {
+            return;
+        }
+        Subscription subscription = new Subscription(chatRoomId, memberId);
+        Subscription previous = subscriptions.computeIfAbsent(sessionId, id -> new HashMap<>())
+                .put(subscriptionId, subscription);
+        if (previous != null) {
+            release(previous);
+        }
+        if (rooms.merge(chatRoomId, 1, Integer::sum) == 1) {
+            listeners.forEach(listener -> listener.roomOpened(chatRoomId));
+        }
+        if (memberId != null && viewers.merge(List.of(chatRoomId, memberId), 1, Integer::sum) == 1) {
+            listeners.forEach(listener -> listener.viewerJoined(chatRoomId, memberId));
+        }
+    }
+
+    public synchronized void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, Subscription> sessionSubscriptions = subscriptions.get(sessionId);
+        if (sessionSubscriptions == null) {
+            return;
+        }
+        Subscription subscription = sessionSubscriptions.remove(subscriptionId);
+        if (sessionSubscriptions.isEmpty()) {
+            subscriptions.remove(sessionId);
+        }
+        if (subscription != null) {
+            release(subscription);
+        }
+    }
+
+    public synchronized void disconnect(String sessionId) {
+        Map<String, Subscription> sessionSubscriptions = subscriptions.remove(sessionId);
+        if (sessionSubscriptions != null) {
+            sessionSubscriptions.values().forEach(this::release);
+        }
+    }
+
+    private void release(Subscription subscription) {
+        long chatRoomId = subscription.chatRoomId;
+        Long memberId = subscription.memberId;
+        if (memberId != null
+                && viewers.computeIfPresent(List.of(chatRoomId, memberId), (key, count) -> count == 1 ? null : count - 1) == null) {
+            listeners.forEach(listener -> listener.viewerLeft(chatRoomId, memberId));
+        }
+        if (rooms.computeIfPresent(chatRoomId, (id, count) -> count == 1 ? null : count - 1) == null) {
+            listeners.forEach(listener -> listener.roomClosed(chatRoomId));
+        }
+    }
+
+    /**
+     * 구독 변경 알림 (RoomSubscriptionRegistry 의 잠금 안에서 호출되므로 오래 걸리는 일은 하지 않는다)
+     */
+    public interface Listener {
+        // 이 노드에서 채팅방을 처음 구독
+        default void roomOpened(long chatRoomId) {
+        }
+
+        // 이 노드에서 채팅방의 마지막 구독이 끝남
+        default void roomClosed(long chatRoomId) {
+        }
+
+        // 이 노드에서 회원이 채팅방을 처음 구독
+        default void viewerJoined(long chatRoomId, long memberId) {
+        }
+
+        // 이 노드에서 회원의 채팅방 마지막 구독이 끝남
+        default void viewerLeft(long chatRoomId, long memberId) {
+        }
+    }
+
+    private static final class Subscription {
+        private final long chatRoomId;
+        private final Long memberId;
+
+        private Subscription(long chatRoomId, Long memberId) {
+            this.chatRoomId = chatRoomId;
+            this.memberId = memberId;
+        }
+    }
+}
@@ -1,22 +1,60 @@
 package com.togedog.chat.config;
 
+import com.togedog.chat.handler.ChatBackpressureInterceptor;
+import com.togedog.chat.handler.OutboundSessionBuffers;
 import com.togedog.chat.handler.StompHandler;
-import io.jsonwebtoken.ExpiredJwtException;
+import com.togedog.chat.recent.RecentChatRecorder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     private final StompHandler stompHandler;
+    private final ChatBackpressureInterceptor chatBackpressureInterceptor;
+    private final RecentChatRecorder recentChatRecorder;
+    private final OutboundSessionBuffers outboundSessionBuffers;
+
+    // 쉼표로 구분한 Origin 패턴 (설정하지 않으면 같은 Origin 에서만 접속할 수 있으므로 배포 환경마다 지정한다)
+    @Value("${chat.websocket.allowed-origins:}")
+    private String[] allowedOrigins;
+
+    @Value("${chat.websocket.send-time-limit-millis:10000}")
+    private int sendTimeLimit;
+
+    @Value("${chat.websocket.send-buffer-size-limit:131072}")
+    private int sendBufferSizeLimit;
+
+    @Value("${chat.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    // CONNECT 없이 열려만 있는 소켓을 닫는 시간
+    @Value("${chat.websocket.time-to-first-message-millis:30000}")
+    private int timeToFirstMessage;
+
+    @Value("${chat.websocket.inbound-pool-size:8}")
+    private int inboundPoolSize;
+
+    @Value("${chat.websocket.inbound-queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${chat.websocket.outbound-pool-size:8}")
+    private int outboundPoolSize;
+
+    @Value("${chat.websocket.outbound-queue-capacity:10000}")
+    private int outboundQueueCapacity;
 
     /**
     * WebSocket을 통하여 Stomp를 사용할 Endpoint 설정 및 cors허가 권한
+    * permessage-deflate 는 클라이언트가 요청하면 Tomcat 이 핸드셰이크에서 협상한다 (세션마다 Deflater/Inflater 메모리를 더 쓴다).
     *
     * @param StompEndpointRegistry
     * @author Tizesin(신민준)
@@ -25,11 +63,27 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // stomp 접속 주소 url = ws://localhost:8080/ws
         registry.addEndpoint("/ws") // 연결될 엔드포인트
-                .setAllowedOrigins("*");
+                .setAllowedOriginPatterns(allowedOrigins);
+    }
+
+    /**
+    * 세션별 전송 버퍼/시간 제한과 메시지 크기 제한
+    * 전송은 OutboundSessionBuffers 의 세션 버퍼가 맡고, 제한을 넘긴 느린 클라이언트는 연결을 끊는다.
+    *
+    * @param WebSocketTransportRegistration
+    */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .setTimeToFirstMessage(timeToFirstMessage)
+                .addDecoratorFactory(outboundSessionBuffers);
     }
 
     /**
     * 내부적으로 사용할 메시지 브로커에 관한 URL 설정
+    * 브로커로 가는 채팅은 채팅방별 최근 채팅 버퍼에도 기록한다.
     *
     * @param MessageBrokerRegistry
     * @author Tizesin(신민준)
@@ -40,18 +94,36 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.enableSimpleBroker("/sub");
         //메시지 발행 요청 url
         registry.setApplicationDestinationPrefixes("/pub");
+        registry.configureBrokerChannel().interceptors(recentChatRecorder);
     }
 
     /**
-    * 클라이언트로부터 들어오는 메시지를 인터셉트 하여 인증절차 진행하는 메서드
-    * 사용할려면은 사용자 인증 정보를 가지고 있는 redis cashMemory 를 사용해야함..
+    * 클라이언트로부터 들어오는 메시지를 인터셉트 하는 메서드
+    * 인증절차(stompHandler)를 먼저 거친 뒤, 채팅 저장 대기열이 밀려 있으면 새 채팅을 거절한다.
+    * 처리 스레드와 대기열 크기를 정해 두어 대기열이 차면 새 프레임을 거절한다.
+    *
+    * @param ChannelRegistration
+    */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompHandler, chatBackpressureInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(inboundPoolSize)
+                .maxPoolSize(inboundPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    /**
+    * 클라이언트로 나가는 메시지 처리 스레드와 대기열 크기
+    * 소켓 쓰기는 세션 버퍼가 따로 하므로 이 스레드는 느린 클라이언트를 기다리지 않는다.
     *
     * @param ChannelRegistration
-    * @throws ExpiredJwtException / MalformedJwtException
-    * @author Tizesin(신민준)
     */
-//    @Override
-//    public void configureClientInboundChannel(ChannelRegistration registration) {
-//        registration.interceptors(stompHandler);
-//    }
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
 }
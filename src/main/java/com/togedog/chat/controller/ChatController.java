@@ -1,14 +1,20 @@
 package com.togedog.chat.controller;
 
+import com.togedog.auth.principal.MemberPrincipal;
+import com.togedog.chat.broker.ChatBroadcaster;
 import com.togedog.chat.dto.ChatDto;
 import com.togedog.chat.entity.Chat;
+import com.togedog.chat.handler.ChatSessionAttributes;
 import com.togedog.chat.mapper.ChatMapper;
 import com.togedog.chat.service.ChatService;
+import com.togedog.chatRoom.unread.ChatUnreadCounter;
+import com.togedog.dto.CursorResponseDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
 import javax.validation.Valid;
@@ -17,15 +23,37 @@ import javax.validation.Valid;
 @RequiredArgsConstructor
 public class ChatController {
 
-    private final SimpMessagingTemplate template;
+    private final ChatBroadcaster chatBroadcaster;
     private final ChatService chatService;
     private final ChatMapper chatMapper;
+    private final ChatUnreadCounter chatUnreadCounter;
 
     @MessageMapping("/chat/{chatroom-id}")
-    public void sendMessage(@Payload @Valid ChatDto.Send chatDto, @DestinationVariable("chatroom-id") Long chatRoomId) {
-//        ChatDto.Response response = new ChatDto.Response();
-        Chat response = chatService.MessageSendAndSave(chatMapper.chatSendDtoToChat(chatDto),chatRoomId);
+    public void sendMessage(@Payload @Valid ChatDto.Send chatDto, @DestinationVariable("chatroom-id") Long chatRoomId,
+                            SimpMessageHeaderAccessor headerAccessor) {
+        // 채팅방 권한은 StompHandler 가 확인했고, 보낸 사람은 payload 가 아닌 세션의 인증 회원
+        MemberPrincipal sender = ChatSessionAttributes.principal(headerAccessor.getSessionAttributes());
+        Chat response = chatService.MessageSendAndSave(chatMapper.chatSendDtoToChat(chatDto), chatRoomId, sender);
         ChatDto.Response result = chatMapper.chatToChatResponseDto(response);
-        template.convertAndSend("/sub/chat/" + chatRoomId, result);
+        chatBroadcaster.broadcast(chatRoomId, result);
+    }
+
+    /**
+     * 재접속 시 놓친 채팅 다시 받기
+     * /sub/chat/{chatroom-id} 를 다시 구독한 뒤 마지막으로 받은 순번으로 /pub/chat/{chatroom-id}/since/{seq} 를 구독하면
+     * 그 이후 채팅을 이 세션에만 한번 보낸다 (구독 중 새로 온 채팅과 겹치면 순번으로 거른다).
+     */
+    @SubscribeMapping("/chat/{chatroom-id}/since/{seq}")
+    public CursorResponseDto<ChatDto.Response> resume(@DestinationVariable("chatroom-id") Long chatRoomId,
+                                                      @DestinationVariable("seq") Long seq) {
+        return chatService.findChatsAfter(chatRoomId, seq);
+    }
+
+    // 읽음 표시: 해당 채팅방의 안 읽은 메시지 수를 0 으로
+    @MessageMapping("/chat/{chatroom-id}/read")
+    public void readMessages(@DestinationVariable("chatroom-id") Long chatRoomId,
+                             SimpMessageHeaderAccessor headerAccessor) {
+        MemberPrincipal reader = ChatSessionAttributes.principal(headerAccessor.getSessionAttributes());
+        chatUnreadCounter.markRead(reader.getMemberId(), chatRoomId);
     }
 }
\ No newline at end of file
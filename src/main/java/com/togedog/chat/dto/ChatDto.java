@@ -1,11 +1,14 @@
 package com.togedog.chat.dto;
 
 import com.togedog.chat.entity.Chat;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 
 public class ChatDto {
     @Getter
@@ -14,10 +17,12 @@ public class ChatDto {
         @NotNull(message = "메시지 타입은 필수 값입니다.")
         private Chat.MessageType type;
 
+        // chat.content 컬럼(VARCHAR 255)을 넘으면 DB 기록 시 버려지므로 받을 때 거절한다
         @NotBlank(message = "내용은 필수 값입니다.")
+        @Size(max = 255, message = "255자 이내로 작성 가능합니다")
         private String content;
 
-        @NotBlank(message = "송신자는 필수 값입니다.")
+        // 사용하지 않음 (보낸 사람은 STOMP 세션의 인증 회원)
         private String sender;
 
         private String sendTime;
@@ -25,11 +30,17 @@ public class ChatDto {
 
     @Getter
     @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class Response{
+        private long chatId;
         private Chat.MessageType type;
         private String content;
         private String sender;
         private String sendTime;
+        private long sentAt;
+        // 채팅방 안의 순번 (재접속 시 이 값 이후만 다시 받는다)
+        private Long seq;
     }
 
 //    @Override
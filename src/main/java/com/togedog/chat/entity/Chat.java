@@ -11,11 +11,16 @@ import javax.persistence.*;
 @Getter
 @Setter
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_chat_chatroom_id_chat_id", columnList = "CHATROOM_ID, chat_id"),
+        @Index(name = "idx_chat_chatroom_id_seq", columnList = "CHATROOM_ID, seq")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 public class Chat {
+    // ChatIdAllocator 가 블록 단위로 미리 할당한다 (IDENTITY 는 JDBC 배치 INSERT 를 막는다)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "chat_id")
     private long chatId;
 
     @Column(name = "message_type",nullable = false)
@@ -28,9 +33,18 @@ public class Chat {
     @Column(name = "sender",nullable = false)
     private String sender;
 
+    // 화면 표시용 "HH:mm"
     @Column(name = "date",nullable = false)
     private String sendTime;
 
+    // 보낸 시각 (epoch millis), 정렬과 기간 조회는 이 값으로 한다
+    @Column(name = "sent_at",nullable = false)
+    private long sentAt;
+
+    // 채팅방 안의 순번 (ChatSequenceAllocator), 순번 도입 전 채팅은 null
+    @Column(name = "seq")
+    private Long seq;
+
     @ManyToOne//(cascade = CascadeType.PERSIST)
     @JoinColumn(name = "CHATROOM_ID")
     private ChatRoom chatRoom;
@@ -0,0 +1,31 @@
+package com.togedog.chat.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * 채팅 id 시퀀스 (MySQL 에 시퀀스가 없어 행 하나를 시퀀스로 쓴다)
+ * 값은 ChatIdAllocator 가 블록 단위로 예약하며 엔티티로 읽고 쓰지 않는다.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "chat_id_sequence")
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChatIdSequence {
+    @Id
+    @Column(name = "sequence_name", length = 64)
+    private String sequenceName;
+
+    // 다음에 예약할 블록의 시작 id
+    @Column(name = "next_val", nullable = false)
+    private long nextVal;
+}
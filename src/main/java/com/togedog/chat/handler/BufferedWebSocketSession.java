@@ -0,0 +1,146 @@
+package com.togedog.chat.handler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 세션별 전송 버퍼
+ * sendMessage 는 버퍼에 넣고 바로 돌아오며, 실제 소켓 쓰기는 flushExecutor 에서 세션당 한 스레드씩 한다.
+ * 따라서 느린 클라이언트가 clientOutboundChannel 스레드를 잡고 있지 않는다.
+ *
+ * 버퍼가 bufferSizeLimit 바이트를 넘거나 소켓 쓰기 하나가 sendTimeLimit 을 넘기면 SessionLimitExceededException 을 던지고,
+ * SubProtocolWebSocketHandler 가 세션을 SESSION_NOT_RELIABLE 로 닫는다 (느린 소비자 퇴출).
+ * 보낼 메시지가 더 오지 않아 sendMessage 로 확인할 수 없는 멈춘 쓰기는 OutboundSessionBuffers 가 주기적으로 찾아 evict 한다.
+ *
+ * 버퍼와 bufferSize 는 flush 스레드만 줄인다. 제한을 넘기면 표시만 하고, 남은 메시지는 flush 스레드가 버리며 크기를 뺀다.
+ */
+@Slf4j
+final class BufferedWebSocketSession extends WebSocketSessionDecorator {
+    private final Executor flushExecutor;
+    private final int sendTimeLimit;
+    private final int bufferSizeLimit;
+
+    private final Queue<WebSocketMessage<?>> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferSize = new AtomicInteger();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    // 진행 중인 소켓 쓰기를 시작한 시각 (쓰는 중이 아니면 0)
+    private volatile long sendStartTime;
+    private volatile boolean limitExceeded;
+
+    BufferedWebSocketSession(WebSocketSession delegate, Executor flushExecutor, int sendTimeLimit, int bufferSizeLimit) {
+        super(delegate);
+        this.flushExecutor = flushExecutor;
+        this.sendTimeLimit = sendTimeLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+    }
+
+    int getBufferSize() {
+        return bufferSize.get();
+    }
+
+    long getSendTimeMillis() {
+        long start = sendStartTime;
+        return start == 0 ? 0 : System.currentTimeMillis() - start;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (limitExceeded) {
+            return;
+        }
+        buffer.add(message);
+        int size = bufferSize.addAndGet(message.getPayloadLength());
+        if (getSendTimeMillis() > sendTimeLimit) {
+            exceed("전송이 " + sendTimeLimit + "ms 를 넘었습니다");
+        }
+        if (size > bufferSizeLimit) {
+            exceed("전송 버퍼가 " + bufferSizeLimit + " bytes 를 넘었습니다");
+        }
+        scheduleFlush();
+    }
+
+    private void exceed(String reason) {
+        limitExceeded = true;
+        try {
+            scheduleFlush();
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+        throw new SessionLimitExceededException(reason, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    /**
+     * 소켓 쓰기가 sendTimeLimit 을 넘겨 멈춰 있으면 연결을 끊는다 (막힌 flush 스레드는 연결이 끊기면서 풀린다)
+     *
+     * @return 끊었으면 true
+     */
+    boolean evictIfStalled() {
+        if (limitExceeded || getSendTimeMillis() <= sendTimeLimit) {
+            return false;
+        }
+        limitExceeded = true;
+        log.debug("WebSocket 세션 {} 전송이 {}ms 를 넘어 연결을 끊습니다", getId(), sendTimeLimit);
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException | RuntimeException e) {
+            log.debug("WebSocket 세션 {} 닫기 실패: {}", getId(), e.getMessage());
+        }
+        return true;
+    }
+
+    private void scheduleFlush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flushExecutor.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            flushing.set(false);
+            throw e;
+        }
+    }
+
+    // 제한을 넘긴 뒤에는 보내지 않고 버리기만 한다
+    private void flush() {
+        try {
+            WebSocketMessage<?> message;
+            while ((message = buffer.poll()) != null) {
+                try {
+                    if (!limitExceeded) {
+                        sendStartTime = System.currentTimeMillis();
+                        getDelegate().sendMessage(message);
+                    }
+                } finally {
+                    sendStartTime = 0;
+                    bufferSize.addAndGet(-message.getPayloadLength());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // 끊긴 연결: 남은 메시지는 아래에서 다시 예약한 flush 가 버리고, 정리는 연결 종료 처리에 맡긴다
+            log.debug("WebSocket 세션 {} 전송 실패: {}", getId(), e.getMessage());
+            limitExceeded = true;
+        } finally {
+            flushing.set(false);
+        }
+        // 마지막 poll 과 flushing 해제 사이에 들어온 메시지, 또는 실패 후 남은 메시지
+        if (!buffer.isEmpty()) {
+            try {
+                scheduleFlush();
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+            }
+        }
+    }
+}
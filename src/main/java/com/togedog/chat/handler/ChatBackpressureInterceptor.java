@@ -0,0 +1,40 @@
+package com.togedog.chat.handler;
+
+import com.togedog.chat.broker.ChatDestinations;
+import com.togedog.chat.persistence.ChatPersistencePipeline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 저장 대기열이 밀려 있으면 새 채팅 SEND 를 브로커에 넘기기 전에 거절한다
+ * 거절된 프레임은 클라이언트에 ERROR 프레임으로 돌아가므로, 클라이언트는 잠시 뒤 다시 보내면 된다.
+ * 읽음 처리(/pub/chat/{chatRoomId}/read)는 저장 대기열을 거치지 않으므로 거절하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatBackpressureInterceptor implements ChannelInterceptor {
+    private static final String READ_SUFFIX = "/read";
+
+    private final ChatPersistencePipeline chatPersistencePipeline;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.SEND) {
+            return message;
+        }
+        String destination = accessor.getDestination();
+        if (ChatDestinations.sendChatRoomIdOf(destination) != null && !destination.endsWith(READ_SUFFIX)
+                && chatPersistencePipeline.isSaturated()) {
+            throw new MessageDeliveryException(message, "채팅 저장 대기열이 가득 찼습니다. 잠시 후 다시 보내주세요.");
+        }
+        return message;
+    }
+}
@@ -0,0 +1,50 @@
+package com.togedog.chat.handler;
+
+import com.togedog.auth.principal.MemberPrincipal;
+import com.togedog.exception.BusinessLogicException;
+import com.togedog.exception.ExceptionCode;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP 세션 속성에 담아두는 채팅 인증 정보
+ * CONNECT 에서 인증한 회원과 토큰의 세션 epoch, 권한을 확인한 채팅방 id 목록을 세션이 끝날 때까지 보관한다.
+ */
+public final class ChatSessionAttributes {
+    private static final String PRINCIPAL = "chat.principal";
+    private static final String SESSION_EPOCH = "chat.sessionEpoch";
+    private static final String AUTHORIZED_ROOMS = "chat.authorizedRooms";
+
+    private ChatSessionAttributes() {
+    }
+
+    static void authenticate(Map<String, Object> attributes, MemberPrincipal principal, long sessionEpoch) {
+        attributes.put(PRINCIPAL, principal);
+        attributes.put(SESSION_EPOCH, sessionEpoch);
+        attributes.put(AUTHORIZED_ROOMS, ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * CONNECT 에서 인증된 회원
+     *
+     * @throws BusinessLogicException 인증되지 않은 세션
+     */
+    public static MemberPrincipal principal(Map<String, Object> attributes) {
+        Object principal = attributes == null ? null : attributes.get(PRINCIPAL);
+        if (!(principal instanceof MemberPrincipal)) {
+            throw new BusinessLogicException(ExceptionCode.UNAUTHORIZED_MEMBER);
+        }
+        return (MemberPrincipal) principal;
+    }
+
+    static long sessionEpoch(Map<String, Object> attributes) {
+        return (Long) attributes.get(SESSION_EPOCH);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Set<Long> authorizedRooms(Map<String, Object> attributes) {
+        return (Set<Long>) attributes.get(AUTHORIZED_ROOMS);
+    }
+}
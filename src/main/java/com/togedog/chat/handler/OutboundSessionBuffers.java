@@ -0,0 +1,158 @@
+package com.togedog.chat.handler;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WebSocket 세션마다 BufferedWebSocketSession 을 씌우고, 세션별 전송 대기 바이트를 집계한다
+ * 소켓 쓰기는 flushPoolSize 개 스레드가 나눠 하며, 세션마다 최대 sendBufferSizeLimit 바이트만 쌓이므로
+ * 전송 대기 메모리는 (동시 접속 수 x sendBufferSizeLimit) 를 넘지 않는다.
+ * 소켓 쓰기 하나가 sendTimeLimit 을 넘겨 멈춘 세션은 주기적으로 찾아 연결을 끊으므로, 멈춘 소켓이 flush 스레드를 계속 잡고 있지 않는다.
+ */
+@Slf4j
+@Component
+public class OutboundSessionBuffers implements WebSocketHandlerDecoratorFactory {
+    private final int sendTimeLimit;
+    private final int sendBufferSizeLimit;
+    private final ExecutorService flushExecutor;
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ws-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, BufferedWebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    public OutboundSessionBuffers(@Value("${chat.websocket.send-time-limit-millis:10000}") int sendTimeLimit,
+                                  @Value("${chat.websocket.send-buffer-size-limit:131072}") int sendBufferSizeLimit,
+                                  @Value("${chat.websocket.flush-pool-size:8}") int flushPoolSize) {
+        this.sendTimeLimit = sendTimeLimit;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.flushExecutor = Executors.newFixedThreadPool(flushPoolSize, runnable -> {
+            Thread thread = new Thread(runnable, "ws-flush-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = Math.max(100, sendTimeLimit / 4);
+        evictor.scheduleWithFixedDelay(this::evictStalled, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        evictor.shutdown();
+        flushExecutor.shutdown();
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                BufferedWebSocketSession buffered =
+                        new BufferedWebSocketSession(session, flushExecutor, sendTimeLimit, sendBufferSizeLimit);
+                sessions.put(session.getId(), buffered);
+                super.afterConnectionEstablished(buffered);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                BufferedWebSocketSession buffered = sessions.get(session.getId());
+                super.handleMessage(buffered == null ? session : buffered, message);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                BufferedWebSocketSession buffered = sessions.remove(session.getId());
+                super.afterConnectionClosed(buffered == null ? session : buffered, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 소켓 쓰기가 sendTimeLimit 을 넘긴 세션의 연결을 끊는다
+     *
+     * @return 끊은 세션 수
+     */
+    int evictStalled() {
+        int evicted = 0;
+        for (BufferedWebSocketSession session : sessions.values()) {
+            try {
+                if (session.evictIfStalled()) {
+                    evicted++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("WebSocket 세션 {} 퇴출 실패: {}", session.getId(), e.getMessage());
+            }
+        }
+        if (evicted > 0) {
+            log.info("전송이 {}ms 를 넘긴 WebSocket 세션 {}개 연결을 끊었습니다", sendTimeLimit, evicted);
+        }
+        return evicted;
+    }
+
+    /**
+     * 전송 대기 바이트가 많은 세션부터 limit 개 (대기 중인 세션만)
+     */
+    public List<SessionBuffer> largestBuffers(int limit) {
+        List<SessionBuffer> buffers = new ArrayList<>();
+        sessions.forEach((sessionId, session) -> {
+            if (session.getBufferSize() > 0) {
+                buffers.add(new SessionBuffer(sessionId, session.getBufferSize(), session.getSendTimeMillis()));
+            }
+        });
+        buffers.sort(Comparator.comparingInt(SessionBuffer::getQueuedBytes).reversed());
+        return buffers.size() > limit ? buffers.subList(0, limit) : buffers;
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    public long queuedBytes() {
+        long total = 0;
+        for (BufferedWebSocketSession session : sessions.values()) {
+            total += session.getBufferSize();
+        }
+        return total;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SessionBuffer {
+        private final String sessionId;
+        private final int queuedBytes;
+        // 진행 중인 소켓 쓰기 경과 시간 (쓰는 중이 아니면 0)
+        private final long sendTimeMillis;
+
+        @Override
+        public String toString() {
+            return sessionId + "=" + queuedBytes + "B/" + sendTimeMillis + "ms";
+        }
+    }
+}
@@ -1,67 +1,112 @@
 package com.togedog.chat.handler;
 
-import com.togedog.auth.jwt.JwtTokenizer;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.MalformedJwtException;
+import com.togedog.auth.jwt.SessionEpochRegistry;
+import com.togedog.auth.jwt.VerifiedTokenCache;
+import com.togedog.auth.principal.MemberPrincipal;
+import com.togedog.chat.broker.ChatDestinations;
+import com.togedog.chatRoom.repository.ChatRoomMemberRepository;
+import com.togedog.exception.BusinessLogicException;
+import com.togedog.exception.ExceptionCode;
+import com.togedog.member.entity.Member;
+import com.togedog.member.repository.MemberRepository;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * STOMP 인증/인가 인터셉터
+ * - CONNECT: Authorization 헤더의 access token 을 검증하고 회원 정보를 세션 속성에 보관 (세션당 한번, refresh token 은 거절)
+ * - SUBSCRIBE /sub/chat/{id}, /pub/chat/{id}/since/{seq}, SEND /pub/chat/{id}(/read): 처음 한번만 채팅방 멤버인지 DB 로 확인하고 세션의 채팅방 목록에 보관
+ *   그 밖의 destination(와일드카드 포함)으로 보내는 SUBSCRIBE / SEND 는 거절한다.
+ * 이후 같은 채팅방으로 보내는 메시지는 DB 를 조회하지 않는다.
+ * SUBSCRIBE / SEND 는 CONNECT 에서 인증된 세션만 받으며, 로그아웃 여부(세션 epoch)는 매번 로컬에서 확인한다.
+ */
 @RequiredArgsConstructor
 @Component
 public class StompHandler implements ChannelInterceptor {
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SessionEpochRegistry sessionEpochRegistry;
+    private final MemberRepository memberRepository;
+    private final ChatRoomMemberRepository chatRoomMemberRepository;
 
-    private final JwtTokenizer jwtTokenizer;
-
-
-//    @Override
-//    public Message<?> preSend(Message<?> message, MessageChannel channel) {
-//        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
-//
-//        if (accessor.getCommand() == StompCommand.CONNECT) {
-//            String accessToken = accessor.getFirstNativeHeader("Authorization");
-//            if (accessToken != null && JwtTokenizer.validateToken(accessToken)) {
-//                Authentication authentication = JwtTokenizer.getAuthentication(accessToken);
-//                SecurityContextHolder.getContext().setAuthentication(authentication);
-//            } else {
-//                throw new AuthenticationCredentialsNotFoundException("AccessToken is null or not valid");
-//            }
-//        }
-//        return message;
-//    }
-//    @Override
-//    public Message<?> preSend(Message<?> message, MessageChannel channel) {
-//        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
-//
-//        if (accessor.getCommand() == StompCommand.CONNECT) {
-//            if (!this.validateAccessToken(accessor.getFirstNativeHeader("Authorization"))) {
-//                throw new BusinessLogicException(ExceptionCode.ACCESS_TOKEN_NOT_FOUND);
-//            }
-//        }
-//        return message;
-//    }
-
-    private boolean validateAccessToken(String accessToken) {
-
-        if (accessToken == null) {
-            return false;
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
         }
+        StompCommand command = accessor.getCommand();
+        if (command == StompCommand.CONNECT) {
+            connect(accessor);
+        } else if (command == StompCommand.SUBSCRIBE) {
+            Long chatRoomId = ChatDestinations.chatRoomIdOf(accessor.getDestination());
+            authorize(accessor.getSessionAttributes(), chatRoomId != null ? chatRoomId
+                    : ChatDestinations.resumeChatRoomIdOf(accessor.getDestination()));
+        } else if (command == StompCommand.SEND) {
+            authorize(accessor.getSessionAttributes(), ChatDestinations.sendChatRoomIdOf(accessor.getDestination()));
+        }
+        return message;
+    }
 
-        String bearerToken = accessToken.trim();
-
-        if (!bearerToken.trim().isEmpty() && bearerToken.startsWith("Bearer ")) {
-            accessToken = bearerToken.substring(7);
-
-            try {
+    private void connect(StompHeaderAccessor accessor) {
+        String authorization = accessor.getFirstNativeHeader("Authorization");
+        if (authorization == null || !authorization.trim().startsWith("Bearer ")) {
+            throw new BusinessLogicException(ExceptionCode.UNAUTHORIZED_MEMBER);
+        }
+        VerifiedTokenCache.VerifiedToken token;
+        try {
+            token = verifiedTokenCache.verify(authorization.trim().substring(7));
+        } catch (JwtException e) {
+            throw new BusinessLogicException(ExceptionCode.UNAUTHORIZED_MEMBER);
+        }
+        if (!sessionEpochRegistry.isCurrent(token.getUsername(), token.getSessionEpoch())) {
+            throw new BusinessLogicException(ExceptionCode.TOKEN_INVALID);
+        }
+        MemberPrincipal principal = completePrincipal(token.getPrincipal());
+        ChatSessionAttributes.authenticate(accessor.getSessionAttributes(), principal, token.getSessionEpoch());
+        accessor.setUser(new UsernamePasswordAuthenticationToken(principal, null, token.getAuthorities()));
+    }
 
-                String base64EncodedSecretKey = jwtTokenizer.encodeBase64SecretKey(jwtTokenizer.getSecretKey());
-                Claims claims = JwtTokenizer.getClaimsFromAccessToken(accessToken,base64EncodedSecretKey);
-                return true;
-            } catch (ExpiredJwtException | MalformedJwtException e) {
-                return false;
-            }
+    // memberId / nickname claim 이 없는 이전 토큰은 접속할 때 한번만 회원을 조회해 채운다
+    private MemberPrincipal completePrincipal(MemberPrincipal principal) {
+        if (principal.getMemberId() != null && principal.getNickname() != null) {
+            return principal;
         }
+        Member member = memberRepository.findByEmail(principal.getEmail())
+                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
+        return new MemberPrincipal(member.getMemberId(), member.getEmail(), member.getNickName(), principal.getRoles());
+    }
 
-        return false;
+    /**
+     * 인증된 세션인지, 로그아웃되지 않았는지, 채팅방 멤버인지 확인
+     *
+     * @param chatRoomId 허용된 형식의 destination 이 아니면 null
+     */
+    private void authorize(Map<String, Object> attributes, Long chatRoomId) {
+        MemberPrincipal principal = ChatSessionAttributes.principal(attributes);
+        if (!sessionEpochRegistry.isCurrent(principal.getEmail(), ChatSessionAttributes.sessionEpoch(attributes))) {
+            throw new BusinessLogicException(ExceptionCode.TOKEN_INVALID);
+        }
+        if (chatRoomId == null) {
+            throw new BusinessLogicException(ExceptionCode.ACCESS_DENIED);
+        }
+        Set<Long> authorizedRooms = ChatSessionAttributes.authorizedRooms(attributes);
+        if (authorizedRooms.contains(chatRoomId)) {
+            return;
+        }
+        if (!chatRoomMemberRepository.existsByChatRoom_ChatRoomIdAndMember_MemberId(chatRoomId, principal.getMemberId())) {
+            throw new BusinessLogicException(ExceptionCode.ACCESS_DENIED);
+        }
+        authorizedRooms.add(chatRoomId);
     }
 }
@@ -3,33 +3,35 @@ package com.togedog.chat.mapper;
 import com.togedog.chat.dto.ChatDto;
 import com.togedog.chat.entity.Chat;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring")
 public interface ChatMapper {
+    // id, 시각, 순번, 채팅방은 ChatService 가 채운다
+    @Mapping(target = "chatId", ignore = true)
+    @Mapping(target = "sentAt", ignore = true)
+    @Mapping(target = "seq", ignore = true)
+    @Mapping(target = "chatRoom", ignore = true)
     Chat chatSendDtoToChat(ChatDto.Send chat);
 
     default ChatDto.Response chatToChatResponseDto(Chat chat){
         ChatDto.Response response = new ChatDto.Response();
+        response.setChatId(chat.getChatId());
         response.setContent(chat.getContent());
         response.setType(chat.getType());
         response.setSender(chat.getSender());
         response.setSendTime(chat.getSendTime());
+        response.setSentAt(chat.getSentAt());
+        response.setSeq(chat.getSeq());
         return response;
     }
 
     default List<ChatDto.Response> chatToChatResponseDto(List<Chat> chatList){
         return chatList.stream()
-                .map(chat -> {
-                    ChatDto.Response response = new ChatDto.Response();
-                    response.setContent(chat.getContent());
-                    response.setType(chat.getType());
-                    response.setSender(chat.getSender());
-                    response.setSendTime(chat.getSendTime());
-                    return response;
-                })
+                .map(this::chatToChatResponseDto)
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.togedog.chat.persistence;
+
+import com.togedog.chatRoom.entity.ChatRoom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅 다중 행 INSERT
+ * 한 배치를 INSERT ... VALUES (...), (...) 한 문장으로 보내므로 드라이버 설정(rewriteBatchedStatements)과 무관하게 왕복 한번에 기록된다.
+ * id 가 미리 정해져 있어 ON DUPLICATE KEY UPDATE 로 같은 채팅을 다시 써도(저널 재처리) 중복되지 않는다.
+ * INSERT IGNORE 와 달리 중복 키만 건너뛰고, 길이 초과/FK 위반 등은 그대로 DataIntegrityViolationException 으로 올린다.
+ * 기록한 뒤 채팅방별 마지막 채팅으로 채팅방 목록 미리보기와 마지막 순번(chat_room.last_*)을 갱신한다.
+ * 더 최신 채팅(last_seq, 같으면 last_chat_id)이 이미 반영되어 있으면 건너뛰므로 다시 기록하거나 순서가 섞여도 뒤로 가지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatBatchWriter {
+    private static final String INSERT_PREFIX =
+            "INSERT INTO chat (chat_id, message_type, content, sender, date, sent_at, seq, chatroom_id) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ON_DUPLICATE = " ON DUPLICATE KEY UPDATE chat_id = chat_id";
+    private static final String UPDATE_LAST_MESSAGE_SQL =
+            "UPDATE chat_room SET last_chat_id = ?, last_message = ?, last_message_at = ?, last_seq = ? " +
+            "WHERE chat_room_id = ? AND (last_seq IS NULL OR last_seq < ? OR (last_seq = ? AND last_chat_id < ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+    // 행 수 -> SQL (배치 크기 이하로만 만들어진다)
+    private final Map<Integer, String> statements = new ConcurrentHashMap<>();
+
+    /**
+     * @return 드라이버가 돌려준 영향 받은 행 수 (이미 있던 id 를 포함할지는 드라이버 설정에 따른다)
+     */
+    public int insert(List<PendingChat> chats) {
+        if (chats.isEmpty()) {
+            return 0;
+        }
+        String sql = statements.computeIfAbsent(chats.size(), ChatBatchWriter::insertSql);
+        int inserted = jdbcTemplate.update(sql, statement -> {
+            int index = 1;
+            for (PendingChat chat : chats) {
+                statement.setLong(index++, chat.getChatId());
+                statement.setString(index++, chat.getType().name());
+                statement.setString(index++, chat.getContent());
+                statement.setString(index++, chat.getSender());
+                statement.setString(index++, chat.getSendTime());
+                statement.setLong(index++, chat.getSentAt());
+                if (chat.getSeq() > 0) {
+                    statement.setLong(index++, chat.getSeq());
+                } else {
+                    statement.setNull(index++, Types.BIGINT);
+                }
+                statement.setLong(index++, chat.getChatRoomId());
+            }
+        });
+        updateLastMessages(chats);
+        return inserted;
+    }
+
+    private void updateLastMessages(List<PendingChat> chats) {
+        Map<Long, PendingChat> latestByRoom = new HashMap<>();
+        for (PendingChat chat : chats) {
+            latestByRoom.merge(chat.getChatRoomId(), chat,
+                    (current, candidate) -> isNewer(candidate, current) ? candidate : current);
+        }
+        List<Object[]> updates = new ArrayList<>(latestByRoom.size());
+        for (PendingChat chat : latestByRoom.values()) {
+            updates.add(new Object[]{chat.getChatId(), snippet(chat.getContent()), chat.getSentAt(), chat.getSeq(),
+                    chat.getChatRoomId(), chat.getSeq(), chat.getSeq(), chat.getChatId()});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_LAST_MESSAGE_SQL, updates);
+    }
+
+    private static boolean isNewer(PendingChat candidate, PendingChat current) {
+        if (candidate.getSeq() != current.getSeq()) {
+            return candidate.getSeq() > current.getSeq();
+        }
+        return candidate.getChatId() > current.getChatId();
+    }
+
+    // 서로게이트 쌍을 자르지 않도록 코드 포인트 기준으로 자른다
+    private static String snippet(String content) {
+        if (content.codePointCount(0, content.length()) <= ChatRoom.LAST_MESSAGE_LENGTH) {
+            return content;
+        }
+        return content.substring(0, content.offsetByCodePoints(0, ChatRoom.LAST_MESSAGE_LENGTH));
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW.length() + 2) + ON_DUPLICATE.length());
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+        }
+        sql.append(ON_DUPLICATE);
+        return sql.toString();
+    }
+}
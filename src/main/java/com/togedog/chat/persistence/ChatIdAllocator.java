@@ -0,0 +1,123 @@
+package com.togedog.chat.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 채팅 id 블록 할당기 (pooled id)
+ * IDENTITY 는 INSERT 를 해야 id 를 알 수 있어 JDBC 배치를 쓸 수 없으므로, 채팅 id 는 저장 전에 미리 정한다.
+ * MySQL 에는 시퀀스가 없어 chat_id_sequence 테이블(ChatIdSequence 엔티티)의 한 행을 시퀀스로 쓰고, blockSize 개씩 한번에 예약한다.
+ * 블록 안의 id 는 메모리에서 나눠주며, 현재 블록을 절반 쓰면 다음 블록을 미리 받아 둔다.
+ * 예약은 항상 전용 스레드(자동 커밋 커넥션)에서 하므로 호출한 쪽의 (읽기 전용) 트랜잭션에 묶이지 않는다.
+ */
+@Slf4j
+@Component
+public class ChatIdAllocator {
+    private static final String SEQUENCE_NAME = "chat";
+    // 행이 없으면 기존 IDENTITY 로 만들어진 id 뒤에서 시작한다 (다른 노드가 먼저 만들었으면 그대로 둔다)
+    private static final String INIT_SQL = "INSERT INTO chat_id_sequence (sequence_name, next_val) "
+            + "SELECT ?, COALESCE(MAX(chat_id), 0) + 1 FROM chat ON DUPLICATE KEY UPDATE next_val = next_val";
+    // LAST_INSERT_ID(expr) 는 같은 커넥션의 LAST_INSERT_ID() 로 증가 후 값을 돌려준다 (행 잠금 한번으로 예약)
+    private static final String RESERVE_SQL = "UPDATE chat_id_sequence SET next_val = LAST_INSERT_ID(next_val + ?) "
+            + "WHERE sequence_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+    private final ExecutorService reserveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chat-id-allocator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // guarded by this
+    private long nextId;
+    private long blockEnd;
+    private CompletableFuture<long[]> nextBlock;
+
+    public ChatIdAllocator(JdbcTemplate jdbcTemplate,
+                           @Value("${chat.persistence.id-block-size:1000}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+    }
+
+    @PreDestroy
+    public void stop() {
+        reserveExecutor.shutdownNow();
+    }
+
+    public synchronized long nextId() {
+        if (nextId >= blockEnd) {
+            long[] block = takeNextBlock();
+            nextId = block[0];
+            blockEnd = block[1];
+        }
+        long id = nextId++;
+        if (nextBlock == null && blockEnd - nextId <= blockSize / 2) {
+            nextBlock = CompletableFuture.supplyAsync(this::reserveBlock, reserveExecutor);
+        }
+        return id;
+    }
+
+    private long[] takeNextBlock() {
+        CompletableFuture<long[]> pending = nextBlock;
+        nextBlock = null;
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                log.warn("채팅 id 블록 선예약 실패, 다시 예약합니다: {}", e.getCause().getMessage());
+            }
+        }
+        try {
+            return CompletableFuture.supplyAsync(this::reserveBlock, reserveExecutor).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * @return [시작 id, 끝 id) 블록
+     */
+    private long[] reserveBlock() {
+        Long end = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            if (reserve(connection) == 0) {
+                try (PreparedStatement init = connection.prepareStatement(INIT_SQL)) {
+                    init.setString(1, SEQUENCE_NAME);
+                    init.executeUpdate();
+                }
+                if (reserve(connection) == 0) {
+                    throw new SQLException("chat_id_sequence 를 초기화할 수 없습니다");
+                }
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT LAST_INSERT_ID()")) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        });
+        log.debug("채팅 id 블록 예약: [{}, {})", end - blockSize, end);
+        return new long[]{end - blockSize, end};
+    }
+
+    private int reserve(Connection connection) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(RESERVE_SQL)) {
+            update.setInt(1, blockSize);
+            update.setString(2, SEQUENCE_NAME);
+            return update.executeUpdate();
+        }
+    }
+}
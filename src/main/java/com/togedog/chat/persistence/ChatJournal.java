@@ -0,0 +1,285 @@
+package com.togedog.chat.persistence;
+
+import com.togedog.chat.entity.Chat;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 아직 DB 에 기록되지 않은 채팅의 로컬 저널 (append-only 세그먼트 파일)
+ *
+ * 레코드: [본문 길이 int(4)][CRC32 int(4)][본문]
+ * 본문: [버전(1)][chatId long][chatRoomId long][type UTF][sender UTF][sendTime UTF][sentAt long][seq long]
+ *       [content 길이 int][content UTF-8]
+ *
+ * - 대기열에 넣기 전에 저널에 먼저 쓴다. 프로세스가 죽어도 OS 에 넘어간 기록은 남으므로 다음 기동 때 다시 기록한다.
+ *   디스크에 내리는(sync) 주기는 flusher 주기이므로 OS 장애 시에는 그 사이의 기록만 잃을 수 있다.
+ * - 세그먼트가 segmentBytes 를 넘으면 새 파일로 넘어가고, 닫힌 세그먼트의 레코드가 모두 DB 에 기록되면 파일을 지운다.
+ * - 마지막 레코드가 기록 도중 끊긴 경우 그 앞까지만 읽는다.
+ */
+@Slf4j
+final class ChatJournal implements Closeable {
+    private static final String PREFIX = "chat-";
+    private static final String SUFFIX = ".log";
+    private static final byte VERSION = 1;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final long segmentBytes;
+    // 기동 시점에 남아 있던 세그먼트 (오래된 순)
+    private final List<Path> recoveredSegments;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private long nextSequence;
+    private volatile Segment current;
+
+    private ChatJournal(Path directory, long segmentBytes, List<Path> recoveredSegments, long nextSequence) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.recoveredSegments = recoveredSegments;
+        this.nextSequence = nextSequence;
+    }
+
+    static ChatJournal open(Path directory, long segmentBytes) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> existing;
+        try (Stream<Path> files = Files.list(directory)) {
+            existing = files.filter(ChatJournal::isSegment)
+                    .sorted(Comparator.comparingLong(ChatJournal::sequenceOf))
+                    .collect(Collectors.toList());
+        }
+        long nextSequence = existing.isEmpty() ? 1 : sequenceOf(existing.get(existing.size() - 1)) + 1;
+        ChatJournal journal = new ChatJournal(directory, segmentBytes, existing, nextSequence);
+        journal.current = journal.newSegment();
+        return journal;
+    }
+
+    List<Path> recoveredSegments() {
+        return recoveredSegments;
+    }
+
+    /**
+     * 레코드 추가 (동시에 한 스레드만 호출하도록 호출하는 쪽에서 잠근다)
+     *
+     * @return 레코드가 들어간 세그먼트 (DB 기록 후 markFlushed 로 알린다)
+     */
+    Segment append(PendingChat chat) throws IOException {
+        ByteBuffer record = encode(chat);
+        Segment segment = current;
+        if (segment.size > 0 && segment.size + record.remaining() > segmentBytes) {
+            Segment sealed = segment;
+            segment = newSegment();
+            current = segment;
+            sealed.seal();
+        }
+        segment.write(record);
+        dirty.set(true);
+        return segment;
+    }
+
+    /**
+     * 마지막 sync 이후 추가된 레코드를 디스크에 내린다 (append 와 동시에 호출해도 된다)
+     */
+    void sync() throws IOException {
+        if (dirty.getAndSet(false)) {
+            try {
+                current.channel.force(false);
+            } catch (ClosedChannelException e) {
+                // 그 사이 닫힌 세그먼트는 닫힐 때 이미 내렸다
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        current.seal();
+    }
+
+    private Segment newSegment() throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, nextSequence++, SUFFIX));
+        return new Segment(path, FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+    }
+
+    /**
+     * 세그먼트의 레코드를 모두 읽는다 (손상되거나 끊긴 레코드부터는 버린다)
+     */
+    static List<PendingChat> read(Path segment) throws IOException {
+        List<PendingChat> chats = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                try {
+                    int crc = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_BYTES) {
+                        log.warn("채팅 저널 레코드 길이가 잘못되었습니다 ({}): {}", segment.getFileName(), length);
+                        break;
+                    }
+                    byte[] body = new byte[length];
+                    in.readFully(body);
+                    if (crc(body) != crc) {
+                        log.warn("채팅 저널 레코드 CRC 가 맞지 않습니다 ({}), 이후 레코드는 버립니다", segment.getFileName());
+                        break;
+                    }
+                    chats.add(decode(body));
+                } catch (EOFException e) {
+                    log.warn("채팅 저널 마지막 레코드가 끊겨 있습니다 ({})", segment.getFileName());
+                    break;
+                }
+            }
+        }
+        return chats;
+    }
+
+    private static ByteBuffer encode(PendingChat chat) throws IOException {
+        byte[] content = chat.getContent().getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + content.length);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(VERSION);
+        out.writeLong(chat.getChatId());
+        out.writeLong(chat.getChatRoomId());
+        out.writeUTF(chat.getType().name());
+        out.writeUTF(chat.getSender());
+        out.writeUTF(chat.getSendTime());
+        out.writeLong(chat.getSentAt());
+        out.writeLong(chat.getSeq());
+        out.writeInt(content.length);
+        out.write(content);
+        byte[] body = bytes.toByteArray();
+        if (body.length > MAX_RECORD_BYTES) {
+            throw new IOException("채팅 저널 레코드가 너무 큽니다: " + body.length + " bytes");
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + body.length);
+        record.putInt(body.length).putInt(crc(body)).put(body).flip();
+        return record;
+    }
+
+    private static PendingChat decode(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("지원하지 않는 채팅 저널 버전입니다: " + version);
+        }
+        long chatId = in.readLong();
+        long chatRoomId = in.readLong();
+        Chat.MessageType type = Chat.MessageType.valueOf(in.readUTF());
+        String sender = in.readUTF();
+        String sendTime = in.readUTF();
+        long sentAt = in.readLong();
+        long seq = in.readLong();
+        byte[] content = new byte[in.readInt()];
+        in.readFully(content);
+        return new PendingChat(chatId, chatRoomId, type, new String(content, StandardCharsets.UTF_8),
+                sender, sendTime, sentAt, seq);
+    }
+
+    private static int crc(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * 저널 파일 하나
+     * size 는 append 하는 스레드만, 기록 건수와 상태는 세그먼트 잠금으로 관리한다.
+     */
+    static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private long size;
+        private int appended;
+        private int flushed;
+        private boolean sealed;
+        private boolean deleted;
+
+        private Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+
+        private void write(ByteBuffer record) throws IOException {
+            int length = record.remaining();
+            try {
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            } catch (IOException e) {
+                // 반쯤 쓴 레코드 뒤로 이어 쓰지 않도록 되돌린다
+                channel.truncate(size);
+                throw e;
+            }
+            size += length;
+            synchronized (this) {
+                appended++;
+            }
+        }
+
+        private synchronized void seal() throws IOException {
+            if (sealed) {
+                return;
+            }
+            try {
+                channel.force(false);
+            } finally {
+                channel.close();
+                sealed = true;
+                deleteIfFlushed();
+            }
+        }
+
+        /**
+         * DB 에 기록된 레코드 수를 더한다 (닫힌 세그먼트가 모두 기록되면 파일을 지운다)
+         */
+        synchronized void markFlushed(int count) {
+            flushed += count;
+            deleteIfFlushed();
+        }
+
+        private void deleteIfFlushed() {
+            if (!sealed || deleted || flushed < appended) {
+                return;
+            }
+            deleted = true;
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("채팅 저널 세그먼트 삭제 실패 ({}): {}", path.getFileName(), e.getMessage());
+            }
+        }
+    }
+}
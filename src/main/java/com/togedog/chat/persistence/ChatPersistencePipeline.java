@@ -0,0 +1,306 @@
+package com.togedog.chat.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅 쓰기 지연(write-behind) 저장
+ * 전송 스레드는 저널에 기록하고 노드별 고정 크기 대기열에 넣은 뒤 바로 돌아가고,
+ * 전용 flusher 스레드 하나가 batchSize 가 차거나 flushInterval 이 지나면 다중 행 INSERT 로 한번에 기록한다.
+ * 따라서 메시지 전송 지연이 MySQL 커밋 지연에 묶이지 않는다.
+ *
+ * - 대기열이 가득 차면 offer 가 false 를 돌려주고, highWatermark 를 넘으면 isSaturated 로 미리 알린다 (브로커 입구에서 거절).
+ * - 일시적인 DB 오류(연결 실패, 잠금 대기 초과 등)는 같은 배치를 점점 길게 기다리며 다시 시도한다. 그동안 대기열이 차면 새 메시지는 거절된다.
+ * - 다시 해도 실패할 오류(스키마 불일치 등)는 배치를 로그로 남기고 저널에 둔 채 다음 배치로 넘어간다 (다음 기동 때 다시 기록).
+ * - 종료 시 남은 메시지를 기록하고, 기록하지 못한 메시지는 저널에 남아 다음 기동 때 다시 기록된다.
+ */
+@Slf4j
+@Component
+public class ChatPersistencePipeline {
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5_000;
+
+    private final ChatBatchWriter batchWriter;
+
+    @Value("${chat.persistence.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${chat.persistence.batch-size:500}")
+    private int batchSize;
+
+    // 첫 메시지가 들어온 뒤 배치를 모으는 최대 시간
+    @Value("${chat.persistence.flush-interval-millis:100}")
+    private long flushIntervalMillis;
+
+    // 대기열이 이 비율 이상 차면 새 메시지를 받지 않는다
+    @Value("${chat.persistence.high-watermark:0.8}")
+    private double highWatermarkRatio;
+
+    @Value("${chat.persistence.journal-dir:data/chat-journal}")
+    private String journalDirectory;
+
+    @Value("${chat.persistence.journal-segment-bytes:16777216}")
+    private long journalSegmentBytes;
+
+    @Value("${chat.persistence.shutdown-timeout-millis:10000}")
+    private long shutdownTimeoutMillis;
+
+    private BlockingQueue<Entry> queue;
+    private ChatJournal journal;
+    private int highWatermark;
+    // 대기열 추가와 저널 기록 순서를 맞추기 위한 생산자 잠금 (소비자는 flusher 하나)
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile boolean running;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chat-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ChatPersistencePipeline(ChatBatchWriter batchWriter) {
+        this.batchWriter = batchWriter;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        highWatermark = Math.max(1, (int) (queueCapacity * highWatermarkRatio));
+        journal = ChatJournal.open(Paths.get(journalDirectory), journalSegmentBytes);
+        running = true;
+        flusher.execute(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        appendLock.lock();
+        try {
+            running = false;
+        } finally {
+            appendLock.unlock();
+        }
+        flusher.shutdown();
+        if (!flusher.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            log.warn("채팅 {}건을 기록하지 못하고 종료합니다 (다음 기동 때 저널에서 다시 기록)", queue.size());
+            flusher.shutdownNow();
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        journal.close();
+    }
+
+    /**
+     * 채팅 저장 예약
+     *
+     * @return 대기열이 가득 찼거나 저널에 쓸 수 없으면 false
+     */
+    public boolean offer(PendingChat chat) {
+        appendLock.lock();
+        try {
+            // 생산자는 이 잠금 안에서만 넣으므로 여기서 자리가 있으면 add 도 성공한다
+            if (!running || queue.remainingCapacity() == 0) {
+                rejected.increment();
+                return false;
+            }
+            ChatJournal.Segment segment = journal.append(chat);
+            queue.add(new Entry(chat, segment));
+            return true;
+        } catch (IOException e) {
+            log.warn("채팅 저널 기록 실패: {}", e.getMessage());
+            rejected.increment();
+            return false;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 대기열이 highWatermark 이상 찼는지 (브로커에서 새 메시지를 미리 거절하는 신호)
+     */
+    public boolean isSaturated() {
+        return queue.size() >= highWatermark;
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long writtenCount() {
+        return written.sum();
+    }
+
+    private void run() {
+        try {
+            recover();
+            List<Entry> batch = new ArrayList<>(batchSize);
+            while (running || !queue.isEmpty()) {
+                syncJournal();
+                if (collect(batch)) {
+                    write(batch);
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 크기 기준(batchSize) 또는 시간 기준(첫 메시지 후 flushInterval)까지 배치를 모은다
+     *
+     * @return 모은 메시지가 있으면 true
+     */
+    private boolean collect(List<Entry> batch) throws InterruptedException {
+        Entry first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return false;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return true;
+    }
+
+    private void write(List<Entry> batch) throws InterruptedException {
+        List<PendingChat> chats = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            chats.add(entry.chat);
+        }
+        Set<PendingChat> unwritten = Collections.newSetFromMap(new IdentityHashMap<>());
+        unwritten.addAll(insertWithRetry(chats));
+        written.add(chats.size() - unwritten.size());
+
+        // 기록하지 못한 채팅은 flushed 로 세지 않으므로 그 세그먼트는 지워지지 않고 다음 기동 때 다시 기록된다
+        Map<ChatJournal.Segment, Integer> flushedBySegment = new IdentityHashMap<>();
+        for (Entry entry : batch) {
+            if (!unwritten.contains(entry.chat)) {
+                flushedBySegment.merge(entry.segment, 1, Integer::sum);
+            }
+        }
+        flushedBySegment.forEach(ChatJournal.Segment::markFlushed);
+    }
+
+    /**
+     * 이전 실행에서 기록하지 못한 저널을 다시 기록 (id 가 같으면 ON DUPLICATE KEY UPDATE 로 건너뛴다)
+     */
+    private void recover() throws InterruptedException {
+        for (Path segment : journal.recoveredSegments()) {
+            List<PendingChat> chats;
+            try {
+                chats = ChatJournal.read(segment);
+            } catch (IOException e) {
+                log.error("채팅 저널을 읽을 수 없어 남겨둡니다 ({}): {}", segment.getFileName(), e.getMessage());
+                continue;
+            }
+            int unwritten = 0;
+            for (int from = 0; from < chats.size(); from += batchSize) {
+                unwritten += insertWithRetry(chats.subList(from, Math.min(from + batchSize, chats.size()))).size();
+            }
+            if (unwritten > 0) {
+                log.error("채팅 저널 {} 의 {}건을 기록하지 못해 남겨둡니다", segment.getFileName(), unwritten);
+                continue;
+            }
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                // 남아 있어도 다음 기동 때 같은 id 로 다시 기록될 뿐이다
+                log.warn("채팅 저널 삭제 실패 ({}): {}", segment.getFileName(), e.getMessage());
+            }
+            log.info("채팅 저널 {} 에서 {}건 재기록", segment.getFileName(), chats.size());
+        }
+    }
+
+    /**
+     * 배치 기록 (일시적인 오류는 기록될 때까지 다시 시도)
+     *
+     * @return 다시 해도 실패할 오류로 기록하지 못한 채팅 (저널에 남겨둔다)
+     */
+    List<PendingChat> insertWithRetry(List<PendingChat> chats) throws InterruptedException {
+        long backoffMillis = 100;
+        while (true) {
+            try {
+                batchWriter.insert(chats);
+                return List.of();
+            } catch (DataIntegrityViolationException e) {
+                // 특정 행의 문제이므로 배치를 나눠 그 행만 버린다
+                if (chats.size() == 1) {
+                    log.error("채팅을 기록할 수 없어 버립니다 (chatId: {}, chatRoomId: {}): {}",
+                            chats.get(0).getChatId(), chats.get(0).getChatRoomId(), e.getMessage());
+                    return List.of();
+                }
+                List<PendingChat> unwritten = new ArrayList<>();
+                for (PendingChat chat : chats) {
+                    unwritten.addAll(insertWithRetry(List.of(chat)));
+                }
+                return unwritten;
+            } catch (TransientDataAccessException | RecoverableDataAccessException | DataAccessResourceFailureException e) {
+                // DataAccessResourceFailureException(커넥션을 얻지 못함 등)은 분류상 non-transient 이지만 DB 가 돌아오면 풀린다
+                log.warn("채팅 {}건 DB 기록 실패, {}ms 후 다시 시도: {}", chats.size(), backoffMillis, e.getMessage());
+                Thread.sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+            } catch (DataAccessException e) {
+                log.error("채팅 {}건을 기록할 수 없어 저널에 남겨둡니다 (chatId: {} ~ {}): {}", chats.size(),
+                        chats.get(0).getChatId(), chats.get(chats.size() - 1).getChatId(), e.getMessage());
+                return chats;
+            }
+        }
+    }
+
+    private void syncJournal() {
+        try {
+            journal.sync();
+        } catch (IOException e) {
+            log.warn("채팅 저널 sync 실패: {}", e.getMessage());
+        }
+    }
+
+    private static final class Entry {
+        private final PendingChat chat;
+        private final ChatJournal.Segment segment;
+
+        private Entry(PendingChat chat, ChatJournal.Segment segment) {
+            this.chat = chat;
+            this.segment = segment;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.togedog.chat.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 채팅방별 메시지 순번 할당기 (Redis INCR, 키: chat:seq:{chatRoomId})
+ * 순번은 채팅방 안에서 1씩 늘어나므로, 클라이언트는 마지막으로 받은 순번 이후만 다시 받으면 된다.
+ *
+ * DB 에는 채팅마다 seq 와 채팅방의 마지막 순번(chat_room.last_seq)이 기록된다.
+ * Redis 에 키가 없으면(유실, 첫 채팅) 항상 last_seq + recoveryGap 에서 다시 시작한다.
+ * last_seq 는 쓰기 지연만큼 늦을 수 있고, 첫 채팅들이 아직 쓰기 대기열에 있으면 0 이므로
+ * 그 사이 나간 순번과 겹치지 않도록 간격을 둔다 (순번이 건너뛸 뿐 되돌아가지 않는다).
+ */
+@Slf4j
+@Component
+public class ChatSequenceAllocator {
+    private static final String KEY_PREFIX = "chat:seq:";
+    private static final String LAST_SEQ_SQL = "SELECT COALESCE(MAX(last_seq), 0) FROM chat_room WHERE chat_room_id = ?";
+
+    // 키가 있을 때만 증가 (없으면 0)
+    private static final RedisScript<Long> NEXT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return redis.call('INCR', KEYS[1]) end " +
+            "return 0", Long.class);
+
+    // 다른 노드가 먼저 채웠으면 그 값을 그대로 쓴다
+    private static final RedisScript<Long> INIT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('SET', KEYS[1], ARGV[1], 'NX') " +
+            "return redis.call('INCR', KEYS[1])", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final long recoveryGap;
+
+    public ChatSequenceAllocator(StringRedisTemplate stringRedisTemplate, JdbcTemplate jdbcTemplate,
+                                 @Value("${chat.sequence.recovery-gap:1000}") long recoveryGap) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.recoveryGap = recoveryGap;
+    }
+
+    public long next(long chatRoomId) {
+        List<String> key = List.of(KEY_PREFIX + chatRoomId);
+        Long seq = stringRedisTemplate.execute(NEXT_SCRIPT, key);
+        if (seq != null && seq > 0) {
+            return seq;
+        }
+        Long lastSeq = jdbcTemplate.queryForObject(LAST_SEQ_SQL, Long.class, chatRoomId);
+        long start = (lastSeq == null ? 0 : lastSeq) + recoveryGap;
+        log.info("채팅방 {} 순번을 {} 부터 다시 시작합니다", chatRoomId, start + 1);
+        return stringRedisTemplate.execute(INIT_SCRIPT, key, String.valueOf(start));
+    }
+}
@@ -0,0 +1,34 @@
+package com.togedog.chat.persistence;
+
+import com.togedog.chat.entity.Chat;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * DB 기록을 기다리는 채팅 (저널과 쓰기 대기열에 들어가는 불변 값)
+ * 전송 스레드의 Chat 엔티티를 flusher 스레드와 공유하지 않도록 필요한 값만 복사해 둔다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public final class PendingChat {
+    private final long chatId;
+    private final long chatRoomId;
+    private final Chat.MessageType type;
+    private final String content;
+    private final String sender;
+    private final String sendTime;
+    private final long sentAt;
+    // 0 이면 순번 없음 (순번 도입 전 저널)
+    private final long seq;
+
+    /**
+     * @param chat id 가 할당된 채팅
+     * @param chatRoomId 채팅방 id
+     */
+    public static PendingChat of(Chat chat, long chatRoomId) {
+        return new PendingChat(chat.getChatId(), chatRoomId, chat.getType(),
+                chat.getContent(), chat.getSender(), chat.getSendTime(), chat.getSentAt(),
+                chat.getSeq() == null ? 0 : chat.getSeq());
+    }
+}
@@ -0,0 +1,330 @@
+package com.togedog.chat.recent;
+
+import com.togedog.chat.broker.RoomSubscriptionRegistry;
+import com.togedog.chat.dto.ChatDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅방별 최근 채팅 메모리 버퍼 (채팅방을 다시 열 때 첫 화면을 DB 없이 응답)
+ *
+ * - 이 노드에 구독자가 있는 채팅방만 버퍼를 둔다. 그 동안은 노드 간 전달(RedisChatBroadcaster)로 채팅방의 모든 채팅이
+ *   이 노드를 지나가므로, 버퍼를 연 뒤의 채팅은 빠짐없이 record 된다. 마지막 구독자가 나가면 버퍼를 버린다.
+ * - 버퍼는 채팅방 순번(seq) 순이다. chatId 는 노드마다 구간을 나눠 받아 시간 순서가 아니다.
+ * - 버퍼를 연 뒤 settleMillis 가 지나 DB 에서 최신 페이지를 읽으면 그 결과를 합친다(seed).
+ *   그 전에 보낸 채팅은 그 사이 DB 에 기록되었으므로, trustedFrom 이상의 순번은 버퍼에 모두 있다.
+ * - 채팅방마다 roomCapacity 개까지, 전체는 maxBytes 추정치 이하로 유지하며 넘으면 가장 오래 쓰지 않은 채팅방부터 비운다.
+ *   비운 채팅방은 다시 seed 될 때까지 DB 로 응답한다.
+ * - seed 후 maxAgeMillis 가 지나면 다시 DB 에서 읽어 합친다 (노드 간 전달이 실패해 빠진 채팅 보정).
+ * - 잠금은 채팅방 버퍼마다 따로 잡으므로 채팅방끼리는 서로 기다리지 않는다.
+ */
+@Component
+public class RecentChatCache implements RoomSubscriptionRegistry.Listener {
+    // 채팅 하나와 채팅방 하나의 대략적인 고정 크기 (객체 헤더, 필드, TreeMap 노드)
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+    private static final int ROOM_OVERHEAD_BYTES = 256;
+
+    private final int roomCapacity;
+    private final long maxBytes;
+    private final long settleMillis;
+    private final long maxAgeMillis;
+
+    // 채팅방 id -> 버퍼 (버퍼 안은 그 버퍼로 잠근다)
+    private final Map<Long, RoomBuffer> rooms = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong lastEpoch = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public RecentChatCache(@Value("${chat.recent.room-capacity:100}") int roomCapacity,
+                           @Value("${chat.recent.max-bytes:33554432}") long maxBytes,
+                           @Value("${chat.recent.settle-millis:3000}") long settleMillis,
+                           @Value("${chat.recent.max-age-millis:300000}") long maxAgeMillis,
+                           RoomSubscriptionRegistry subscriptions) {
+        this.roomCapacity = roomCapacity;
+        this.maxBytes = maxBytes;
+        this.settleMillis = settleMillis;
+        this.maxAgeMillis = maxAgeMillis;
+        subscriptions.addListener(this);
+    }
+
+    /**
+     * 이 노드로 전달된 채팅 기록 (버퍼가 없는 채팅방, 순번이 없는 채팅은 무시)
+     */
+    public void record(long chatRoomId, ChatDto.Response chat) {
+        RoomBuffer buffer = rooms.get(chatRoomId);
+        if (buffer == null || chat.getSeq() == null) {
+            return;
+        }
+        long added;
+        synchronized (buffer) {
+            added = buffer.add(chat, roomCapacity, System.currentTimeMillis());
+        }
+        addBytes(added);
+    }
+
+    /**
+     * 순번 beforeSeq 보다 오래된 채팅을 최신순으로 count 개까지 버퍼에서 조회
+     *
+     * @return 버퍼만으로 응답할 수 없으면 (seed 전, 오래됨, 신뢰 구간 밖) empty
+     */
+    public Optional<List<ChatDto.Response>> find(long chatRoomId, long beforeSeq, int count) {
+        RoomBuffer buffer = rooms.get(chatRoomId);
+        if (buffer == null) {
+            return Optional.empty();
+        }
+        synchronized (buffer) {
+            long now = System.currentTimeMillis();
+            if (!buffer.isFresh(now, maxAgeMillis)) {
+                return Optional.empty();
+            }
+            buffer.lastUsedAt = now;
+            List<ChatDto.Response> chats = new ArrayList<>(count);
+            for (ChatDto.Response chat : buffer.chats.headMap(beforeSeq, false).descendingMap().values()) {
+                if (chats.size() == count) {
+                    break;
+                }
+                chats.add(chat);
+            }
+            // 신뢰 구간(trustedFrom 이상) 밖의 채팅이 더 있을 수 있으면 DB 로
+            if (chats.size() < count && buffer.trustedFrom > 0) {
+                return Optional.empty();
+            }
+            return Optional.of(chats);
+        }
+    }
+
+    /**
+     * 버퍼에 있는 순번 afterSeq 이후 채팅 (빠진 채팅이 있을 수 있으므로 DB 결과와 합쳐 쓴다)
+     */
+    public List<ChatDto.Response> findAfterSeq(long chatRoomId, long afterSeq) {
+        RoomBuffer buffer = rooms.get(chatRoomId);
+        if (buffer == null) {
+            return List.of();
+        }
+        synchronized (buffer) {
+            return new ArrayList<>(buffer.chats.tailMap(afterSeq, false).values());
+        }
+    }
+
+    /**
+     * DB 에서 최신 페이지를 읽기 직전에 호출
+     *
+     * @return seed 에 넘길 값 (버퍼가 없거나 아직 seed 할 수 없으면 0)
+     */
+    public long beginLoad(long chatRoomId) {
+        RoomBuffer buffer = rooms.get(chatRoomId);
+        if (buffer == null) {
+            return 0;
+        }
+        synchronized (buffer) {
+            return System.currentTimeMillis() - buffer.openedAt < settleMillis ? 0 : buffer.epoch;
+        }
+    }
+
+    /**
+     * DB 에서 읽은 최신 페이지를 버퍼에 합친다
+     *
+     * @param ticket    DB 를 읽기 전에 beginLoad 로 받은 값
+     * @param chats     최신순 채팅
+     * @param requested DB 에 요청한 개수 (이보다 적게 왔으면 채팅방의 전체 내역)
+     */
+    public void seed(long chatRoomId, long ticket, List<ChatDto.Response> chats, int requested) {
+        RoomBuffer buffer = rooms.get(chatRoomId);
+        if (ticket == 0 || buffer == null) {
+            return;
+        }
+        long added;
+        synchronized (buffer) {
+            // 그 사이 버퍼가 비워졌거나 새로 열렸으면 DB 를 읽은 시점 이후의 채팅이 버퍼에 모두 있다고 할 수 없다
+            if (buffer.epoch != ticket) {
+                return;
+            }
+            added = buffer.seed(chats, requested, roomCapacity, System.currentTimeMillis());
+        }
+        addBytes(added);
+    }
+
+    @Override
+    public void roomOpened(long chatRoomId) {
+        rooms.put(chatRoomId, new RoomBuffer(lastEpoch.incrementAndGet(), System.currentTimeMillis()));
+        addBytes(ROOM_OVERHEAD_BYTES);
+    }
+
+    @Override
+    public void roomClosed(long chatRoomId) {
+        RoomBuffer buffer = rooms.remove(chatRoomId);
+        if (buffer != null) {
+            long freed;
+            synchronized (buffer) {
+                freed = buffer.close();
+            }
+            totalBytes.addAndGet(-(freed + ROOM_OVERHEAD_BYTES));
+        }
+    }
+
+    long totalBytes() {
+        return totalBytes.get();
+    }
+
+    private void addBytes(long delta) {
+        if (totalBytes.addAndGet(delta) > maxBytes) {
+            evictOverBudget();
+        }
+    }
+
+    // 오래 쓰지 않은 채팅방부터 비운다 (구독 중이므로 비운 뒤부터 다시 모은다). 이미 비우는 스레드가 있으면 맡긴다.
+    private void evictOverBudget() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            // 정렬 중에 값이 바뀌지 않도록 마지막 사용 시각을 먼저 찍어둔다
+            List<Map.Entry<Long, RoomBuffer>> eldestFirst = new ArrayList<>();
+            rooms.values().forEach(buffer -> eldestFirst.add(new AbstractMap.SimpleEntry<>(buffer.lastUsedAt, buffer)));
+            eldestFirst.sort(Map.Entry.comparingByKey());
+            for (Map.Entry<Long, RoomBuffer> entry : eldestFirst) {
+                if (totalBytes.get() <= maxBytes) {
+                    break;
+                }
+                RoomBuffer buffer = entry.getValue();
+                long freed;
+                synchronized (buffer) {
+                    freed = buffer.reset(lastEpoch.incrementAndGet(), System.currentTimeMillis());
+                }
+                totalBytes.addAndGet(-freed);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static long sizeOf(ChatDto.Response chat) {
+        return ENTRY_OVERHEAD_BYTES + 2L * (length(chat.getContent()) + length(chat.getSender()) + length(chat.getSendTime()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    /**
+     * 채팅방 하나의 버퍼 (순번 순, 이 객체로 잠근다)
+     * trustedFrom 이상의 순번은 빠짐없이 들어 있다 (0 이면 채팅방의 전체 내역, Long.MAX_VALUE 면 아직 seed 전).
+     */
+    private static final class RoomBuffer {
+        private final TreeMap<Long, ChatDto.Response> chats = new TreeMap<>();
+        // 비울 때마다 바뀐다 (beginLoad 와 seed 사이에 비워졌는지 확인)
+        private long epoch;
+        private long openedAt;
+        private long trustedFrom = Long.MAX_VALUE;
+        // 용량을 넘어 버린 채팅 중 가장 큰 순번
+        private long droppedUpTo;
+        private long seededAt;
+        private long bytes;
+        // 마지막 구독자가 나가 rooms 에서 빠졌다 (더는 바이트를 늘리지 않는다)
+        private boolean closed;
+        // 비울 채팅방을 고를 때 잠금 없이 읽는다
+        private volatile long lastUsedAt;
+
+        private RoomBuffer(long epoch, long openedAt) {
+            this.epoch = epoch;
+            this.openedAt = openedAt;
+            this.lastUsedAt = openedAt;
+        }
+
+        /**
+         * @return 줄어든 바이트 수
+         */
+        private long reset(long epoch, long now) {
+            long freed = bytes;
+            chats.clear();
+            this.epoch = epoch;
+            openedAt = now;
+            trustedFrom = Long.MAX_VALUE;
+            droppedUpTo = 0;
+            seededAt = 0;
+            bytes = 0;
+            return freed;
+        }
+
+        /**
+         * @return 줄어든 바이트 수
+         */
+        private long close() {
+            closed = true;
+            return reset(0, 0);
+        }
+
+        private boolean isFresh(long now, long maxAgeMillis) {
+            return trustedFrom != Long.MAX_VALUE && now - seededAt < maxAgeMillis;
+        }
+
+        /**
+         * @return 늘어난 바이트 수
+         */
+        private long add(ChatDto.Response chat, int capacity, long now) {
+            // seed 된 뒤 신뢰 구간보다 오래된 채팅은 DB 에서 읽는다
+            if (closed || trustedFrom != Long.MAX_VALUE && chat.getSeq() < trustedFrom) {
+                return 0;
+            }
+            lastUsedAt = now;
+            long before = bytes;
+            ChatDto.Response previous = chats.put(chat.getSeq(), chat);
+            if (previous != null) {
+                bytes -= sizeOf(previous);
+            }
+            bytes += sizeOf(chat);
+            trim(capacity);
+            return bytes - before;
+        }
+
+        private long seed(List<ChatDto.Response> page, int requested, int capacity, long now) {
+            if (closed) {
+                return 0;
+            }
+            lastUsedAt = now;
+            long before = bytes;
+            long oldest = Long.MAX_VALUE;
+            boolean unordered = false;
+            for (ChatDto.Response chat : page) {
+                // 순번이 없는 예전 채팅은 버퍼에 둘 수 없으므로 그보다 오래된 쪽은 신뢰하지 않는다
+                if (chat.getSeq() == null) {
+                    unordered = true;
+                    continue;
+                }
+                oldest = Math.min(oldest, chat.getSeq());
+                if (chats.putIfAbsent(chat.getSeq(), chat) == null) {
+                    bytes += sizeOf(chat);
+                }
+            }
+            long pageFloor = page.size() < requested && !unordered ? 0 : oldest;
+            // 용량을 넘어 버린 채팅보다 오래된 쪽은 페이지에 없는 채팅이 있을 수 있다
+            trustedFrom = Math.max(pageFloor, droppedUpTo == 0 ? 0 : droppedUpTo + 1);
+            chats.headMap(trustedFrom, false).values().forEach(chat -> bytes -= sizeOf(chat));
+            chats.headMap(trustedFrom, false).clear();
+            seededAt = now;
+            trim(capacity);
+            return bytes - before;
+        }
+
+        private void trim(int capacity) {
+            while (chats.size() > capacity) {
+                Map.Entry<Long, ChatDto.Response> oldest = chats.pollFirstEntry();
+                bytes -= sizeOf(oldest.getValue());
+                droppedUpTo = Math.max(droppedUpTo, oldest.getKey());
+                if (trustedFrom != Long.MAX_VALUE) {
+                    trustedFrom = chats.firstKey();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.togedog.chat.recent;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.togedog.chat.broker.ChatDestinations;
+import com.togedog.chat.dto.ChatDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 브로커 채널로 /sub/chat/{chatRoomId} 에 전달되는 채팅을 RecentChatCache 에 기록
+ * 이 노드에서 보낸 채팅과 다른 노드에서 전달받은 채팅이 모두 브로커 채널을 지나간다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecentChatRecorder implements ChannelInterceptor {
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final RecentChatCache recentChatCache;
+
+    @Override
+    public void postSend(Message<?> message, MessageChannel channel, boolean sent) {
+        if (!sent || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                || !(message.getPayload() instanceof byte[])) {
+            return;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        Long chatRoomId = ChatDestinations.chatRoomIdOf(destination);
+        if (chatRoomId == null) {
+            return;
+        }
+        try {
+            ChatDto.Response chat = objectMapper.readValue((byte[]) message.getPayload(), ChatDto.Response.class);
+            if (chat.getChatId() > 0) {
+                recentChatCache.record(chatRoomId, chat);
+            }
+        } catch (IOException e) {
+            log.debug("최근 채팅 버퍼에 기록하지 않음 ({}): {}", destination, e.getMessage());
+        }
+    }
+}
@@ -1,10 +1,42 @@
 package com.togedog.chat.repository;
 
+import com.togedog.chat.dto.ChatDto;
 import com.togedog.chat.entity.Chat;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface ChatRepository extends JpaRepository<Chat, Long> {
-    List<Chat> findAllByChatRoom_ChatRoomId(long chatRoomId);
+    /**
+     * 채팅방의 순번 before 보다 오래된 채팅을 최신순으로 조회 (keyset, (CHATROOM_ID, seq) 인덱스 범위 조회)
+     * chatId 는 노드마다 구간을 나눠 할당하므로 시간 순서가 아니어서 채팅방 순번으로 정렬한다.
+     * 엔티티 대신 응답 DTO 로 바로 읽고, 개수는 pageable 로 제한한다.
+     */
+    @Query("SELECT new com.togedog.chat.dto.ChatDto$Response(c.chatId, c.type, c.content, c.sender, c.sendTime, c.sentAt, c.seq) " +
+            "FROM Chat c WHERE c.chatRoom.chatRoomId = :chatRoomId AND c.seq < :before ORDER BY c.seq DESC")
+    List<ChatDto.Response> findHistory(@Param("chatRoomId") long chatRoomId,
+                                       @Param("before") long before,
+                                       Pageable pageable);
+
+    /**
+     * 순번 도입 전에 저장되어 순번이 없는 채팅을 chatId before 이전부터 최신순으로 조회 ((CHATROOM_ID, chat_id) 인덱스 범위 조회)
+     * 이 채팅은 모두 순번이 있는 채팅보다 오래되었고, 그때의 chatId 는 시간 순서다.
+     */
+    @Query("SELECT new com.togedog.chat.dto.ChatDto$Response(c.chatId, c.type, c.content, c.sender, c.sendTime, c.sentAt, c.seq) " +
+            "FROM Chat c WHERE c.chatRoom.chatRoomId = :chatRoomId AND c.seq IS NULL AND c.chatId < :before ORDER BY c.chatId DESC")
+    List<ChatDto.Response> findLegacyHistory(@Param("chatRoomId") long chatRoomId,
+                                             @Param("before") long before,
+                                             Pageable pageable);
+
+    /**
+     * 채팅방의 순번 after 이후 채팅을 순번순으로 조회 ((CHATROOM_ID, seq) 인덱스 범위 조회)
+     */
+    @Query("SELECT new com.togedog.chat.dto.ChatDto$Response(c.chatId, c.type, c.content, c.sender, c.sendTime, c.sentAt, c.seq) " +
+            "FROM Chat c WHERE c.chatRoom.chatRoomId = :chatRoomId AND c.seq > :after ORDER BY c.seq ASC")
+    List<ChatDto.Response> findAfterSeq(@Param("chatRoomId") long chatRoomId,
+                                        @Param("after") long after,
+                                        Pageable pageable);
 }
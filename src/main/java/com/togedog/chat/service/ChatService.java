@@ -1,66 +1,85 @@
 package com.togedog.chat.service;
 
+import com.togedog.auth.principal.MemberPrincipal;
+import com.togedog.chat.dto.ChatDto;
 import com.togedog.chat.entity.Chat;
-import com.togedog.chat.mapper.ChatMapper;
+import com.togedog.chat.persistence.ChatIdAllocator;
+import com.togedog.chat.persistence.ChatPersistencePipeline;
+import com.togedog.chat.persistence.ChatSequenceAllocator;
+import com.togedog.chat.persistence.PendingChat;
+import com.togedog.chat.recent.RecentChatCache;
 import com.togedog.chat.repository.ChatRepository;
-import com.togedog.chatRoom.repository.ChatRoomMemberRepository;
-import com.togedog.chatRoom.repository.ChatRoomRepository;
+import com.togedog.chatRoom.unread.ChatUnreadCounter;
+import com.togedog.dto.CursorResponseDto;
 import com.togedog.exception.BusinessLogicException;
 import com.togedog.exception.ExceptionCode;
-import com.togedog.member.entity.Member;
-import com.togedog.member.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class ChatService {
-    private final ChatRoomRepository chatRoomRepository;
-    private final ChatRoomMemberRepository chatRoomMemberRepository;
+    private static final DateTimeFormatter SEND_TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    private static final int MAX_RESUME_CHATS = 200;
+
+    private final ChatIdAllocator chatIdAllocator;
+    private final ChatSequenceAllocator chatSequenceAllocator;
+    private final ChatPersistencePipeline chatPersistencePipeline;
+    private final ChatUnreadCounter chatUnreadCounter;
     private final ChatRepository chatRepository;
-    private final MemberRepository memberRepository;
-    private final ChatMapper mapper;
-    private static final Queue<Chat> chatQueue = new LinkedList<>();
-    private static final int chatQueueSize = 10;
+    private final RecentChatCache recentChatCache;
 
-    public Chat MessageSendAndSave(Chat chat, Long chatRoomId) {
-        Member member = memberRepository.findByEmail(chat.getSender())
-                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
+    /**
+     * 저장을 예약하고 전송할 메시지를 돌려준다
+     * 채팅방 권한은 StompHandler 가 세션마다 한번 확인하고, 보낸 사람은 세션의 인증 회원이므로 여기서는 DB 를 조회하지 않는다.
+     * DB 기록은 ChatPersistencePipeline 이 모아서 하므로 커밋도 기다리지 않는다.
+     */
+    public Chat MessageSendAndSave(Chat chat, Long chatRoomId, MemberPrincipal sender) {
+        chat.setChatId(chatIdAllocator.nextId());
+        chat.setSeq(chatSequenceAllocator.next(chatRoomId));
+        chat.setSender(sender.getNickname());
+        long sentAt = System.currentTimeMillis();
+        chat.setSentAt(sentAt);
+        chat.setSendTime(Instant.ofEpochMilli(sentAt).atZone(ZoneId.systemDefault()).format(SEND_TIME_FORMAT));
 
-        if (chatRoomMemberRepository.findByChatRoom_ChatRoomIdAndMember_MemberId(
-                chatRoomId, member.getMemberId()).isEmpty()) {
-            throw new BusinessLogicException(ExceptionCode.ACCESS_DENIED);
+        if (!chatPersistencePipeline.offer(PendingChat.of(chat, chatRoomId))) {
+            throw new BusinessLogicException(ExceptionCode.CHAT_BACKLOG_FULL);
         }
-        chat.setSender(member.getNickName());
-        chat.setSendTime(LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm")));
-        chat.setChatRoom(chatRoomRepository.findById(chatRoomId).orElseThrow(()->
-                new BusinessLogicException(ExceptionCode.CHATROOM_NOT_FOUND)));
-
-
-
-        saveMessage(chat,"NoQueue");
+        chatUnreadCounter.recordMessage(chatRoomId, sender.getMemberId());
         return chat;
     }
-    public void saveMessage(Chat chat,String queue) {
-        if (queue.equals("NoQueue")) {
-            chatRepository.save(chat);
-        } else {
-            chatQueue.add(chat);
-            if(chatQueue.size() == chatQueueSize) {// commitChatQueue();
-                chatRepository.saveAll(chatQueue);
-            }
+
+    /**
+     * 재접속한 클라이언트가 놓친 채팅 (순번 afterSeq 이후, 순번순으로 최대 MAX_RESUME_CHATS 개)
+     * 아직 DB 에 기록되지 않은 최근 채팅은 최근 채팅 버퍼에서 채운다.
+     * hasNext 면 nextCursor(마지막 순번)로 다시 요청하거나 채팅 내역 조회로 넘어간다.
+     */
+    public CursorResponseDto<ChatDto.Response> findChatsAfter(long chatRoomId, long afterSeq) {
+        Map<Long, ChatDto.Response> chats = new HashMap<>();
+        for (ChatDto.Response chat : chatRepository.findAfterSeq(chatRoomId, afterSeq,
+                PageRequest.of(0, MAX_RESUME_CHATS + 1))) {
+            chats.put(chat.getChatId(), chat);
         }
-//        chatRoomMemberRepository.findByChatRoom_ChatRoomIdAnd
-    }
-    public void saveMessage() {
-        if(!chatQueue.isEmpty())
-            chatRepository.saveAll(chatQueue);
+        for (ChatDto.Response chat : recentChatCache.findAfterSeq(chatRoomId, afterSeq)) {
+            chats.putIfAbsent(chat.getChatId(), chat);
+        }
+        List<ChatDto.Response> sorted = new ArrayList<>(chats.values());
+        sorted.sort(Comparator.comparing(ChatDto.Response::getSeq));
+        boolean hasNext = sorted.size() > MAX_RESUME_CHATS;
+        if (hasNext) {
+            sorted = sorted.subList(0, MAX_RESUME_CHATS);
+        }
+        Long nextCursor = sorted.isEmpty() ? null : sorted.get(sorted.size() - 1).getSeq();
+        return new CursorResponseDto<>(sorted, nextCursor, hasNext);
     }
 }
@@ -1,9 +1,5 @@
 package com.togedog.chatRoom.controller;
 
-import com.togedog.chat.entity.Chat;
-import com.togedog.chat.mapper.ChatMapper;
-import com.togedog.chatRoom.entity.ChatRoom;
-import com.togedog.chatRoom.mapper.ChatRoomMapper;
 import com.togedog.chatRoom.service.ChatRoomService;
 import com.togedog.dto.SingleResponseDto;
 import lombok.RequiredArgsConstructor;
@@ -14,9 +10,11 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
 
 @RestController
 @RequestMapping("/chatroom")
@@ -24,27 +22,26 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ChatRoomController {
     private final ChatRoomService chatRoomService;
-    private final ChatMapper chatMapper;
-    private final ChatRoomMapper chatRoomMapper;
 
     /**
-    * 해당 채팅방의 채팅 내역 전체 출력
+    * 해당 채팅방의 채팅 내역을 최신순으로 limit 개씩 출력
+    * 다음 페이지는 응답의 nextCursor 를 before 로 넘겨 조회
     *
-    * @param 채팅방 Id, 사용자 인증 정보
-    * @return 채팅내역
+    * @param 채팅방 Id, 커서(before, 이전 응답의 nextCursor), 개수(limit), 사용자 인증 정보
+    * @return 채팅내역, 다음 커서
     * @author Tizesin(신민준)
     */
     @GetMapping("/chat/{chatroom-id}")
     public ResponseEntity getChatFromChatRoom(@PathVariable("chatroom-id") long chatRoomId,
+                                      @Positive @RequestParam(required = false) Long before,
+                                      @Positive @Max(100) @RequestParam(defaultValue = "50") int limit,
                                       Authentication authentication) {
-        List<Chat> chatList = chatRoomService.findVerifiedChatRoomInChat(chatRoomId, authentication);
-
         return new ResponseEntity<>(
-                new SingleResponseDto<>(chatMapper.chatToChatResponseDto(chatList)), HttpStatus.OK);
+                chatRoomService.findVerifiedChatRoomInChat(chatRoomId, before, limit, authentication), HttpStatus.OK);
     }
 
     /**
-    * 등록이 되어있는 채팅방 리스트 조회
+    * 등록이 되어있는 채팅방 리스트 조회 (상대방, 마지막 메시지, 안 읽은 메시지 수 포함, 최근 활동순)
     *
     * @param 사용자 인증 정보
     * @return 채팅방 리스트
@@ -52,8 +49,7 @@ public class ChatRoomController {
     */
     @GetMapping
     public ResponseEntity getChatRoomList(Authentication authentication) {
-        List<ChatRoom> chatList = chatRoomService.findVerifiedChatRoom(authentication);
         return new ResponseEntity<>(
-                new SingleResponseDto<>(chatRoomMapper.chatRoomsToChatRoomResponseDto(chatList)), HttpStatus.OK);
+                new SingleResponseDto<>(chatRoomService.findVerifiedChatRoom(authentication)), HttpStatus.OK);
     }
 }
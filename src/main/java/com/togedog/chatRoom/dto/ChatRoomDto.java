@@ -1,19 +1,29 @@
 package com.togedog.chatRoom.dto;
 
-import com.togedog.chatRoom.entity.ChatRoomMember;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.time.LocalDateTime;
-import java.util.List;
-
 public class ChatRoomDto {
+    /**
+     * 채팅방 목록 한 줄 (chatRoomName 은 상대방 닉네임, lastMessageAt 은 epoch millis)
+     */
     @Setter
     @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class Response {
+        private long chatRoomId;
         private String chatRoomName;
-        private String chatDataPath;
-        private LocalDateTime updatedAt;
-        private List<ChatRoomMember> chatRoomMembers;
+        private String profileImage;
+        private String lastMessage;
+        private Long lastMessageAt;
+        private int notReadCount;
+
+        public Response(long chatRoomId, String chatRoomName, String profileImage,
+                        String lastMessage, Long lastMessageAt) {
+            this(chatRoomId, chatRoomName, profileImage, lastMessage, lastMessageAt, 0);
+        }
     }
 }
@@ -16,6 +16,8 @@ import java.util.List;
 @Setter
 @Entity
 public class ChatRoom extends Auditable {
+    public static final int LAST_MESSAGE_LENGTH = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long chatRoomId;
@@ -29,6 +31,20 @@ public class ChatRoom extends Auditable {
     @Column(name = "chat_data_path")
     private String chatDataPath;
 
+    // 채팅방 목록 미리보기 (ChatBatchWriter 가 채팅을 기록할 때 함께 갱신)
+    @Column(name = "last_chat_id")
+    private Long lastChatId;
+
+    @Column(name = "last_message", length = ChatRoom.LAST_MESSAGE_LENGTH)
+    private String lastMessage;
+
+    @Column(name = "last_message_at")
+    private Long lastMessageAt;
+
+    // 기록된 채팅 중 가장 큰 순번 (Redis 순번 키를 잃었을 때 이 값 뒤에서 다시 시작)
+    @Column(name = "last_seq")
+    private Long lastSeq;
+
     @Column(name = "UUID")
     private final String UUID = java.util.UUID.randomUUID().toString();
 
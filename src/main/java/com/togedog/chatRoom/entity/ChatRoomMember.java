@@ -10,6 +10,7 @@ import javax.persistence.*;
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_chat_room_member_member_id_chat_room_id", columnList = "member_id, chat_room_id"))
 public class ChatRoomMember {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
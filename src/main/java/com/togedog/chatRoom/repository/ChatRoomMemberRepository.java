@@ -3,6 +3,8 @@ package com.togedog.chatRoom.repository;
 import com.togedog.chatRoom.entity.ChatRoomMember;
 import com.togedog.member.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,6 +19,9 @@ public interface ChatRoomMemberRepository extends JpaRepository<ChatRoomMember,
 //    @Query("SELECT m FROM chatRoomMember m " +
 //            "WHERE m.chatRoom.id = :roomId AND m.member.id = :memberId")
     Optional<ChatRoomMember> findByChatRoom_ChatRoomIdAndMember_MemberId(long roomId, long memberId);
+    boolean existsByChatRoom_ChatRoomIdAndMember_MemberId(long roomId, long memberId);
+    @Query("SELECT m.member.memberId FROM ChatRoomMember m WHERE m.chatRoom.chatRoomId = :chatRoomId")
+    List<Long> findMemberIdsByChatRoomId(@Param("chatRoomId") Long chatRoomId);
     List<ChatRoomMember> findAllByMember(Member member);
     Optional<ChatRoomMember> findByChatRoom_ChatRoomIdAndMember_MemberIdNot(Long roomId, Long memberId);
 }
@@ -1,5 +1,6 @@
 package com.togedog.chatRoom.repository;
 
+import com.togedog.chatRoom.dto.ChatRoomDto;
 import com.togedog.chatRoom.entity.ChatRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -11,7 +12,14 @@ import java.util.List;
 @Repository
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
 
-    @Query("SELECT m FROM ChatRoom m WHERE m.chatRoomId IN (:chatRoomIds)")
-    List<ChatRoom> findAllByCustom(@Param("chatRoomIds") List<Long> chatRoomIds);
+    /**
+     * 회원의 채팅방 목록을 상대방 정보, 마지막 메시지와 함께 최근 활동순으로 조회 (쿼리 한번, 엔티티 로딩 없음)
+     */
+    @Query("SELECT new com.togedog.chatRoom.dto.ChatRoomDto$Response(" +
+            "r.chatRoomId, o.nickName, o.profileImage, r.lastMessage, r.lastMessageAt) " +
+            "FROM ChatRoomMember me JOIN me.chatRoom r JOIN r.chatRoomMembers other JOIN other.member o " +
+            "WHERE me.member.memberId = :memberId AND o.memberId <> :memberId " +
+            "ORDER BY COALESCE(r.lastMessageAt, 0) DESC, r.chatRoomId DESC")
+    List<ChatRoomDto.Response> findChatRoomList(@Param("memberId") long memberId);
 
 }
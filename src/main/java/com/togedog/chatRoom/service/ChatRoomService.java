@@ -1,29 +1,39 @@
 package com.togedog.chatRoom.service;
 
-import com.togedog.chat.entity.Chat;
+import com.togedog.auth.principal.AuthenticatedMemberResolver;
+import com.togedog.chat.dto.ChatDto;
+import com.togedog.chat.recent.RecentChatCache;
 import com.togedog.chat.repository.ChatRepository;
+import com.togedog.chatRoom.dto.ChatRoomDto;
 import com.togedog.chatRoom.entity.ChatRoom;
-import com.togedog.chatRoom.entity.ChatRoomMember;
 import com.togedog.chatRoom.repository.ChatRoomMemberRepository;
 import com.togedog.chatRoom.repository.ChatRoomRepository;
+import com.togedog.chatRoom.unread.ChatUnreadCounter;
+import com.togedog.dto.CursorResponseDto;
 import com.togedog.exception.BusinessLogicException;
 import com.togedog.exception.ExceptionCode;
 import com.togedog.member.entity.Member;
-import com.togedog.member.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class ChatRoomService {
+    // 이 비트가 켜진 커서는 순번이 없는 예전 채팅의 chatId (순번, chatId 모두 2^62 보다 작다)
+    private static final long LEGACY_CURSOR_FLAG = 1L << 62;
+
     private final ChatRoomRepository chatRoomRepository;
-    private final MemberRepository memberRepository;
+    private final AuthenticatedMemberResolver authenticatedMemberResolver;
     private final ChatRoomMemberRepository chatRoomMemberRepository;
     private final ChatRepository chatRepository;
+    private final ChatUnreadCounter chatUnreadCounter;
+    private final RecentChatCache recentChatCache;
 
     public void createChatRoom(List<Member> members) {
         ChatRoom chatRoom = new ChatRoom();
@@ -38,37 +48,67 @@ public class ChatRoomService {
         chatRoomRepository.save(chatRoom);
     }
 
-    public List<Chat> findVerifiedChatRoomInChat(long chatRoomId, Authentication authentication) {
-        Member member = extractMemberFromAuthentication(authentication);
+    /**
+     * 채팅 내역을 before 이전부터 최신순으로 limit 개씩 조회
+     * limit + 1 개를 읽어 다음 페이지가 있는지 판단한다.
+     * 최근 채팅 버퍼로 응답할 수 있으면 DB 를 읽지 않고, 아니면 DB 를 읽어 최신 페이지는 버퍼에 채워둔다.
+     * 순번(seq)이 있는 채팅을 다 넘기면 순번 도입 전의 채팅을 chatId 순으로 이어서 준다.
+     *
+     * @param before 이전 응답의 nextCursor (null 이면 가장 최근부터)
+     */
+    public CursorResponseDto<ChatDto.Response> findVerifiedChatRoomInChat(long chatRoomId, Long before, int limit,
+                                                                          Authentication authentication) {
+        Member member = authenticatedMemberResolver.resolve(authentication);
         chatRoomMemberRepository.
                 findByChatRoom_ChatRoomIdAndMember_MemberId(chatRoomId,member.getMemberId()).
                 orElseThrow(()-> new BusinessLogicException(ExceptionCode.CHATROOM_NOT_FOUND));
-        return chatRepository.findAllByChatRoom_ChatRoomId(chatRoomId);
+        List<ChatDto.Response> chats;
+        if (before != null && (before & LEGACY_CURSOR_FLAG) != 0) {
+            chats = chatRepository.findLegacyHistory(chatRoomId, before & ~LEGACY_CURSOR_FLAG, PageRequest.of(0, limit + 1));
+        } else {
+            long cursor = before == null ? Long.MAX_VALUE : before;
+            chats = recentChatCache.find(chatRoomId, cursor, limit + 1)
+                    .orElseGet(() -> findHistory(chatRoomId, cursor, limit + 1));
+        }
+        boolean hasNext = chats.size() > limit;
+        if (hasNext) {
+            chats = chats.subList(0, limit);
+        }
+        Long nextCursor = hasNext ? cursorOf(chats.get(chats.size() - 1)) : null;
+        return new CursorResponseDto<>(chats, nextCursor, hasNext);
     }
-    public List<ChatRoom> findVerifiedChatRoom(Authentication authentication) {
-        Member member = extractMemberFromAuthentication(authentication);
-        List<ChatRoomMember> chatRoomMembers = chatRoomMemberRepository.findAllByMember(member);
-        List<Long> chatRoomIds = new ArrayList<>();
-        for (ChatRoomMember chatRoomMember : chatRoomMembers) {
-            chatRoomIds.add(chatRoomMember.getChatRoom().getChatRoomId());
+
+    private List<ChatDto.Response> findHistory(long chatRoomId, long before, int count) {
+        long ticket = before == Long.MAX_VALUE ? recentChatCache.beginLoad(chatRoomId) : 0;
+        List<ChatDto.Response> chats = new ArrayList<>(
+                chatRepository.findHistory(chatRoomId, before, PageRequest.of(0, count)));
+        // 순번이 있는 채팅이 모자라면 그보다 오래된 순번 없는 채팅으로 채운다
+        if (chats.size() < count) {
+            chats.addAll(chatRepository.findLegacyHistory(chatRoomId, Long.MAX_VALUE,
+                    PageRequest.of(0, count - chats.size())));
         }
-        List<ChatRoom> chatRoomList = chatRoomRepository.findAllByCustom(chatRoomIds);
-        for(ChatRoom chatRoom : chatRoomList){
-            chatRoom.setChatRoomName(makeChatRoomName(chatRoom.getChatRoomName(),member.getNickName()));
+        if (ticket != 0) {
+            recentChatCache.seed(chatRoomId, ticket, chats, count);
         }
-        return chatRoomList;
+        return chats;
     }
 
-    private String makeChatRoomName(String string, String memberName) {
-        string = string.replace("-","");
-        string = string.replace(memberName,"");
-        return string;
+    // 순번이 없는 채팅은 chatId 에 LEGACY_CURSOR_FLAG 를 붙여 커서로 쓴다
+    private static long cursorOf(ChatDto.Response chat) {
+        return chat.getSeq() != null ? chat.getSeq() : chat.getChatId() | LEGACY_CURSOR_FLAG;
     }
 
-    private Member extractMemberFromAuthentication(Authentication authentication) {
-        String email = (String) authentication.getPrincipal();
-        return memberRepository.findByEmail(email)
-                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
+    /**
+     * 채팅방 목록 (DB 쿼리 한번 + 안 읽은 수 Redis hash 한번)
+     */
+    public List<ChatRoomDto.Response> findVerifiedChatRoom(Authentication authentication) {
+        Member member = authenticatedMemberResolver.resolve(authentication);
+        List<ChatRoomDto.Response> chatRooms = chatRoomRepository.findChatRoomList(member.getMemberId());
+        Map<Long, Integer> unreadCounts = chatUnreadCounter.unreadCounts(member.getMemberId());
+        for (ChatRoomDto.Response chatRoom : chatRooms) {
+            chatRoom.setNotReadCount(unreadCounts.getOrDefault(chatRoom.getChatRoomId(), 0));
+        }
+        return chatRooms;
     }
 
 }
@@ -0,0 +1,336 @@
+package com.togedog.chatRoom.unread;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.togedog.chatRoom.repository.ChatRoomMemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅방 안 읽은 메시지 수
+ *
+ * - Redis hash chat:unread:{memberId} (field: chatRoomId, value: 안 읽은 수)에 회원별로 보관하므로
+ *   채팅방 목록의 배지는 HGETALL 한번(채팅방 수에 비례)으로 만든다.
+ * - 보낸 메시지와 읽음 표시는 로컬에 모았다가 tick 마다 채팅방별로 한번에 반영한다 (증가 먼저, 그 다음 읽음).
+ *   따라서 같은 tick 에 들어온 읽음 표시는 그 tick 의 메시지까지 읽은 것으로 본다.
+ * - 증가는 채팅방을 보고 있지 않은 멤버에게만 한다. 보는 중인 회원은 sorted set chat:viewers:{chatRoomId}
+ *   (member: 회원 id:노드 id, score: 만료 시각)에 노드별로 두며, 노드가 VIEWERS_REFRESH_MILLIS 마다 만료 시각을 늦춘다.
+ *   비정상 종료된 노드의 표시는 늦춰지지 않으므로 회원별로 VIEWERS_TTL_MILLIS 뒤에 빠진다.
+ * - 바뀐 (회원, 채팅방)은 chat:unread:dirty 에 모아두고, flushToDatabase 가 주기적으로 ChatRoomMember.notReadCount 에
+ *   배치 UPDATE 로 기록한다. SPOP 으로 가져가므로 여러 노드가 같은 항목을 중복 기록하지 않는다.
+ */
+@Slf4j
+@Component
+public class ChatUnreadCounter {
+    private static final String UNREAD_KEY_PREFIX = "chat:unread:";
+    private static final String VIEWERS_KEY_PREFIX = "chat:viewers:";
+    private static final String DIRTY_KEY = "chat:unread:dirty";
+    // 노드가 비정상 종료되어 남은 보는 중 표시는 이 시간이 지나면 사라진다
+    private static final long VIEWERS_TTL_MILLIS = TimeUnit.SECONDS.toMillis(90);
+    private static final long VIEWERS_REFRESH_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final String UPDATE_SQL =
+            "UPDATE chat_room_member SET not_read_count = ? WHERE chat_room_id = ? AND member_id = ?";
+
+    // KEYS[1]: viewers, KEYS[2]: dirty, KEYS[3..]: 멤버별 unread / ARGV[1]: chatRoomId, ARGV[2]: 현재 시각, ARGV[3..]: (memberId, 증가량) 쌍
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[2]) " +
+            "local viewing = {} " +
+            "for _, viewer in ipairs(redis.call('ZRANGE', KEYS[1], 0, -1)) do " +
+            "  viewing[string.match(viewer, '^[^:]+')] = true " +
+            "end " +
+            "local changed = 0 " +
+            "for i = 3, #KEYS do " +
+            "  local member = ARGV[(i - 3) * 2 + 3] " +
+            "  local delta = tonumber(ARGV[(i - 3) * 2 + 4]) " +
+            "  if delta > 0 and not viewing[member] then " +
+            "    redis.call('HINCRBY', KEYS[i], ARGV[1], delta) " +
+            "    redis.call('SADD', KEYS[2], member .. ':' .. ARGV[1]) " +
+            "    changed = changed + 1 " +
+            "  end " +
+            "end " +
+            "return changed", Long.class);
+
+    // KEYS[1]: unread, KEYS[2]: dirty / ARGV: chatRoomId, memberId
+    private static final RedisScript<Long> READ_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HDEL', KEYS[1], ARGV[1]) == 1 then " +
+            "  redis.call('SADD', KEYS[2], ARGV[2] .. ':' .. ARGV[1]) " +
+            "  return 1 " +
+            "end " +
+            "return 0", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatRoomMemberRepository chatRoomMemberRepository;
+
+    @Value("${chat.unread.flush-interval-millis:100}")
+    private long flushIntervalMillis;
+
+    // 한번에 DB 에 기록할 최대 (회원, 채팅방) 수
+    @Value("${chat.unread.db-batch-size:500}")
+    private int dbBatchSize;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    // 채팅방 id -> 멤버 id (채팅방 멤버는 만들 때 정해지므로 로컬에 캐싱)
+    private final LoadingCache<Long, List<Long>> roomMembers;
+    private final Queue<long[]> sentMessages = new ConcurrentLinkedQueue<>();
+    private final Queue<long[]> readReceipts = new ConcurrentLinkedQueue<>();
+    // 이 노드에서 채팅방을 보는 중인 [채팅방 id, 회원 id], 아직 Redis 에 반영하지 않은 [채팅방 id, 회원 id, 보는 중이면 1]
+    private final Set<List<Long>> localViewers = ConcurrentHashMap.newKeySet();
+    private final Queue<long[]> viewingChanges = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chat-unread");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ChatUnreadCounter(StringRedisTemplate stringRedisTemplate, JdbcTemplate jdbcTemplate,
+                             ChatRoomMemberRepository chatRoomMemberRepository) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chatRoomMemberRepository = chatRoomMemberRepository;
+        this.roomMembers = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(1, TimeUnit.HOURS)
+                .build(chatRoomMemberRepository::findMemberIdsByChatRoomId);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::refreshViewersQuietly, VIEWERS_REFRESH_MILLIS, VIEWERS_REFRESH_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(1, TimeUnit.SECONDS);
+        flushQuietly();
+    }
+
+    /**
+     * 메시지 전송 기록 (보낸 사람을 뺀 멤버의 안 읽은 수가 다음 tick 에 증가)
+     */
+    public void recordMessage(long chatRoomId, long senderId) {
+        sentMessages.add(new long[]{chatRoomId, senderId});
+    }
+
+    /**
+     * 읽음 표시 (다음 tick 에 안 읽은 수를 0 으로)
+     */
+    public void markRead(long memberId, long chatRoomId) {
+        readReceipts.add(new long[]{memberId, chatRoomId});
+    }
+
+    /**
+     * 이 노드에서 회원이 채팅방을 보기 시작 (다음 tick 에 반영)
+     */
+    public void startViewing(long chatRoomId, long memberId) {
+        localViewers.add(List.of(chatRoomId, memberId));
+        viewingChanges.add(new long[]{chatRoomId, memberId, 1});
+    }
+
+    /**
+     * 이 노드에서 회원이 채팅방을 그만 봄 (다음 tick 에 반영)
+     */
+    public void stopViewing(long chatRoomId, long memberId) {
+        localViewers.remove(List.of(chatRoomId, memberId));
+        viewingChanges.add(new long[]{chatRoomId, memberId, 0});
+    }
+
+    /**
+     * @return 채팅방 id -> 안 읽은 수 (0 인 채팅방은 없다)
+     */
+    public Map<Long, Integer> unreadCounts(long memberId) {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(UNREAD_KEY_PREFIX + memberId);
+        Map<Long, Integer> counts = new HashMap<>(entries.size() * 2);
+        entries.forEach((chatRoomId, count) ->
+                counts.put(Long.valueOf((String) chatRoomId), Integer.valueOf((String) count)));
+        return counts;
+    }
+
+    /**
+     * 모인 보는 중 표시, 메시지 전송, 읽음 표시를 이 순서로 Redis 에 반영
+     */
+    void flush() {
+        applyViewingChanges();
+
+        // 채팅방 id -> (보낸 사람 id -> 보낸 수)
+        Map<Long, Map<Long, Integer>> sentByRoom = new HashMap<>();
+        long[] message;
+        while ((message = sentMessages.poll()) != null) {
+            sentByRoom.computeIfAbsent(message[0], id -> new HashMap<>()).merge(message[1], 1, Integer::sum);
+        }
+        long now = System.currentTimeMillis();
+        sentByRoom.forEach((chatRoomId, sentBySender) -> increment(chatRoomId, sentBySender, now));
+
+        Set<List<Long>> reads = new HashSet<>();
+        long[] receipt;
+        while ((receipt = readReceipts.poll()) != null) {
+            reads.add(List.of(receipt[0], receipt[1]));
+        }
+        for (List<Long> read : reads) {
+            stringRedisTemplate.execute(READ_SCRIPT, List.of(UNREAD_KEY_PREFIX + read.get(0), DIRTY_KEY),
+                    String.valueOf(read.get(1)), String.valueOf(read.get(0)));
+        }
+    }
+
+    // 반영하지 못한 변경은 버린다 (보기 시작은 다음 refreshViewers 가, 그만 봄은 만료가 맞춘다)
+    private void applyViewingChanges() {
+        List<long[]> changes = new ArrayList<>();
+        long[] change;
+        while ((change = viewingChanges.poll()) != null) {
+            changes.add(change);
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + VIEWERS_TTL_MILLIS;
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (long[] viewing : changes) {
+                String key = VIEWERS_KEY_PREFIX + viewing[0];
+                if (viewing[2] == 1) {
+                    redis.zAdd(key, expiresAt, viewer(viewing[1]));
+                    redis.pExpire(key, VIEWERS_TTL_MILLIS);
+                } else {
+                    redis.zRem(key, viewer(viewing[1]));
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 이 노드에서 보는 중인 회원 표시의 만료 시각을 늦춘다
+     */
+    void refreshViewers() {
+        List<List<Long>> viewers = new ArrayList<>(localViewers);
+        if (viewers.isEmpty()) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + VIEWERS_TTL_MILLIS;
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (List<Long> viewing : viewers) {
+                String key = VIEWERS_KEY_PREFIX + viewing.get(0);
+                redis.zAdd(key, expiresAt, viewer(viewing.get(1)));
+                redis.pExpire(key, VIEWERS_TTL_MILLIS);
+            }
+            return null;
+        });
+    }
+
+    private String viewer(long memberId) {
+        return memberId + ":" + nodeId;
+    }
+
+    private void increment(long chatRoomId, Map<Long, Integer> sentBySender, long now) {
+        int total = 0;
+        for (int count : sentBySender.values()) {
+            total += count;
+        }
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        keys.add(VIEWERS_KEY_PREFIX + chatRoomId);
+        keys.add(DIRTY_KEY);
+        args.add(String.valueOf(chatRoomId));
+        args.add(String.valueOf(now));
+        for (long memberId : roomMembers.get(chatRoomId)) {
+            keys.add(UNREAD_KEY_PREFIX + memberId);
+            args.add(String.valueOf(memberId));
+            args.add(String.valueOf(total - sentBySender.getOrDefault(memberId, 0)));
+        }
+        if (keys.size() > 2) {
+            stringRedisTemplate.execute(INCREMENT_SCRIPT, keys, args.toArray());
+        }
+    }
+
+    /**
+     * 바뀐 안 읽은 수를 ChatRoomMember 에 배치 UPDATE
+     *
+     * @return 기록한 (회원, 채팅방) 수
+     */
+    public int flushToDatabase() {
+        int written = 0;
+        while (true) {
+            List<String> entries = popDirty();
+            if (entries.isEmpty()) {
+                break;
+            }
+            List<Object> counts = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (String entry : entries) {
+                    int separator = entry.indexOf(':');
+                    redis.hGet(UNREAD_KEY_PREFIX + entry.substring(0, separator), entry.substring(separator + 1));
+                }
+                return null;
+            });
+            List<Object[]> updates = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                String entry = entries.get(i);
+                int separator = entry.indexOf(':');
+                Object count = counts.get(i);
+                updates.add(new Object[]{count == null ? 0 : Integer.parseInt((String) count),
+                        Long.parseLong(entry.substring(separator + 1)), Long.parseLong(entry.substring(0, separator))});
+            }
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            } catch (DataAccessException e) {
+                // 다음 주기에 다시 기록
+                stringRedisTemplate.opsForSet().add(DIRTY_KEY, entries.toArray(new String[0]));
+                throw e;
+            }
+            written += entries.size();
+            if (entries.size() < dbBatchSize) {
+                break;
+            }
+        }
+        return written;
+    }
+
+    private List<String> popDirty() {
+        List<String> entries = stringRedisTemplate.opsForSet().pop(DIRTY_KEY, dbBatchSize);
+        return entries == null ? List.of() : entries;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("안 읽은 메시지 수 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    private void refreshViewersQuietly() {
+        try {
+            refreshViewers();
+        } catch (Exception e) {
+            log.warn("채팅방 보는 중 표시 갱신 실패: {}", e.getMessage());
+        }
+    }
+}
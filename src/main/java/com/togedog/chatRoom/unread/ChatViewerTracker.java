@@ -0,0 +1,30 @@
+package com.togedog.chatRoom.unread;
+
+import com.togedog.chat.broker.RoomSubscriptionRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방을 보는 중인 회원 추적
+ * /sub/chat/{chatRoomId} 를 구독하는 동안 그 회원은 채팅방을 보는 중이며, 새 메시지가 와도 안 읽은 수가 늘지 않는다.
+ */
+@Component
+public class ChatViewerTracker implements RoomSubscriptionRegistry.Listener {
+    private final ChatUnreadCounter chatUnreadCounter;
+
+    public ChatViewerTracker(ChatUnreadCounter chatUnreadCounter, RoomSubscriptionRegistry subscriptions) {
+        this.chatUnreadCounter = chatUnreadCounter;
+        subscriptions.addListener(this);
+    }
+
+    @Override
+    public void viewerJoined(long chatRoomId, long memberId) {
+        chatUnreadCounter.startViewing(chatRoomId, memberId);
+        // 채팅방에 들어오면 읽은 것으로 본다
+        chatUnreadCounter.markRead(memberId, chatRoomId);
+    }
+
+    @Override
+    public void viewerLeft(long chatRoomId, long memberId) {
+        chatUnreadCounter.stopViewing(chatRoomId, memberId);
+    }
+}
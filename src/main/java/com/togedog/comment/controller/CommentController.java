@@ -1,6 +1,5 @@
 package com.togedog.comment.controller;
 
-import com.togedog.auth.service.AuthService;
 import com.togedog.comment.dto.CommentDto;
 import com.togedog.comment.entity.Comment;
 import com.togedog.comment.mapper.CommentMapper;
@@ -24,7 +23,6 @@ public class CommentController {
     private final static String COMMENT_DEF_URL = "/comments";
     private final CommentService commentService;
     private final CommentMapper commentMapper;
-    private final AuthService authService;
 
     @PostMapping("/boards/{board-id}/comments")
     public ResponseEntity<Void> postComment(@PathVariable("board-id") @Positive long boardId,
@@ -40,14 +38,7 @@ public class CommentController {
     public ResponseEntity patchComment(@PathVariable("comment-id") @Positive long commentId,
                                        @Valid @RequestBody CommentDto.Patch requestBody,
                                        Authentication authentication){
-        String email = null;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
+        if (authentication == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         requestBody.setCommentId(commentId);
@@ -60,14 +51,7 @@ public class CommentController {
     @DeleteMapping("/comments/{comment-id}")
     public ResponseEntity deleteComment(@PathVariable("comment-id") @Positive long commentId,
                                         Authentication authentication){
-        String email = null;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
+        if (authentication == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         commentService.deleteComment(commentId, authentication);
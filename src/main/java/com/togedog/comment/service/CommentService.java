@@ -1,12 +1,12 @@
 package com.togedog.comment.service;
 
+import com.togedog.auth.principal.AuthenticatedMemberResolver;
 import com.togedog.board.repository.BoardRepository;
 import com.togedog.comment.entity.Comment;
 import com.togedog.comment.repository.CommentRepository;
 import com.togedog.exception.BusinessLogicException;
 import com.togedog.exception.ExceptionCode;
 import com.togedog.member.entity.Member;
-import com.togedog.member.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
@@ -18,17 +18,17 @@ import java.util.Optional;
 @Service
 public class CommentService {
     private final CommentRepository commentRepository;
-    private final MemberRepository memberRepository;
+    private final AuthenticatedMemberResolver authenticatedMemberResolver;
     private final BoardRepository boardRepository;
 
     public Comment createComment(Comment comment, Authentication authentication) {
-        Member member = extractMemberFromAuthentication(authentication);
+        Member member = authenticatedMemberResolver.resolve(authentication);
         comment.setMember(member);
         return commentRepository.save(comment);
     }
 
     public Comment updateComment(Comment comment, Authentication authentication) {
-        extractMemberFromAuthentication(authentication);
+        authenticatedMemberResolver.resolve(authentication);
         Comment findComment = findVerifiedComment(comment.getCommentId());
 
         if(!findComment.getMember().getEmail().equals(authentication.getName())) {
@@ -45,7 +45,7 @@ public class CommentService {
     }
 
     public void deleteComment(long commentId, Authentication authentication) {
-        Member member = extractMemberFromAuthentication(authentication);
+        Member member = authenticatedMemberResolver.resolve(authentication);
         Comment verifiedComment = findVerifiedComment(commentId);
 
         if(!verifiedComment.getMember().getEmail().equals(authentication.getName())) {
@@ -63,13 +63,4 @@ public class CommentService {
                 new BusinessLogicException(ExceptionCode.BOARD_NOT_FOUND));
         return resultComment;
     }
-
-    private Member extractMemberFromAuthentication(Authentication authentication) {
-        if (authentication == null || authentication.getPrincipal() == null) {
-            throw new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND);
-        }
-        String email = (String) authentication.getPrincipal();
-        return memberRepository.findByEmail(email)
-                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
-    }
 }
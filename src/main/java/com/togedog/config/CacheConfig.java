@@ -1,33 +1,74 @@
 package com.togedog.config;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import org.springframework.cache.CacheManager;
+import com.togedog.redis.LocationService;
+import com.togedog.redis.LocationWriteBehindBuffer;
+import com.togedog.redis.WriteBehindRedisCache;
+import com.togedog.redis.cache.CacheSpec;
+import com.togedog.redis.cache.NearCacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
 
+/**
+ * 애플리케이션 캐시 설정
+ * 캐시는 모두 nearCacheManager 하나로 관리하며, 새 캐시는 아래 cacheSpecs 에 등록해야 사용할 수 있다.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
-    @Bean
-    public Caffeine<Object, Object> caffeineConfig() {
-        return Caffeine.newBuilder()
-                .expireAfterWrite(10, TimeUnit.MINUTES)
-                .maximumSize(1000);
+    private List<CacheSpec> cacheSpecs(LocationWriteBehindBuffer locationWriteBehindBuffer) {
+        return List.of(
+                // 사용자 현재 위치: L2 는 쓰기 지연 버퍼로 기록, 유실된 무효화는 30초 refresh-ahead 로 보정
+                CacheSpec.builder()
+                        .name(LocationService.LOCATION_CACHE)
+                        .maximumWeight(8L * 1024 * 1024)
+                        .weigher(CacheSpec.estimatedBytes(32))
+                        .ttl(Duration.ofSeconds(LocationService.TTL_SECONDS))
+                        .localTtl(Duration.ofMinutes(10))
+                        .refreshAhead(Duration.ofSeconds(30))
+                        .remoteCache(new WriteBehindRedisCache(LocationService.LOCATION_CACHE, locationWriteBehindBuffer,
+                                LocationService.LOCATION_KEY_PREFIX, LocationService.TTL_SECONDS))
+                        .build(),
+                // Redis 에서 직접 읽은 위치의 JVM 캐시
+                CacheSpec.builder()
+                        .name(LocationService.USER_LOCATION_CACHE)
+                        .tiers(EnumSet.of(CacheSpec.Tier.LOCAL))
+                        .maximumWeight(4L * 1024 * 1024)
+                        .weigher(CacheSpec.estimatedBytes(32))
+                        .ttl(Duration.ofMinutes(10))
+                        .build()
+        );
     }
 
-    @Primary
-    @Bean("caffeineCacheManager")
-    public CacheManager caffeineCacheManager(Caffeine<Object, Object> caffeine) {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("locationCache");
-        cacheManager.setCaffeine(caffeine);
+    // Caffeine(L1) + Redis(L2) 2계층 캐시, 변경 시 pub/sub 으로 다른 노드의 L1 무효화
+    @Bean("nearCacheManager")
+    public NearCacheManager nearCacheManager(RedisConnectionFactory redisConnectionFactory,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             LocationWriteBehindBuffer locationWriteBehindBuffer) {
+        NearCacheManager cacheManager = new NearCacheManager(cacheSpecs(locationWriteBehindBuffer),
+                redisConnectionFactory, stringRedisTemplate);
+
+        // 위치는 쓰기 지연 버퍼로 기록되므로 실제 기록이 끝난 뒤 다른 노드에 알린다
+        locationWriteBehindBuffer.addFlushListener(keys ->
+                cacheManager.publishInvalidation(LocationService.LOCATION_CACHE, keys));
         return cacheManager;
     }
 
-
-}
\ No newline at end of file
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            NearCacheManager nearCacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(nearCacheManager, new ChannelTopic(NearCacheManager.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,67 @@
+package com.togedog.config;
+
+import com.togedog.ratelimit.RateLimitRule;
+import com.togedog.ratelimit.RateLimitRule.Limit;
+import com.togedog.ratelimit.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 경로별 요청 제한 규칙 (위에서부터 처음 일치하는 규칙 하나만 적용)
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(StringRedisTemplate stringRedisTemplate,
+                                   @Value("${rate-limit.lease-millis:1000}") long leaseMillis) {
+        List<RateLimitRule> rules = List.of(
+                // 실제 메일이 발송되므로 가장 엄격하게
+                RateLimitRule.builder()
+                        .name("auth-code")
+                        .method(HttpMethod.POST)
+                        .pattern("/auth-code")
+                        .limit(Limit.perIp(5, Duration.ofMinutes(10)))
+                        .build(),
+                RateLimitRule.builder()
+                        .name("verify-auth-code")
+                        .method(HttpMethod.POST)
+                        .pattern("/verify-auth-code")
+                        .limit(Limit.perIp(10, Duration.ofMinutes(10)))
+                        .build(),
+                RateLimitRule.builder()
+                        .name("current-location")
+                        .method(HttpMethod.POST)
+                        .pattern("/api/currentLocation")
+                        .limit(Limit.perUser(120, Duration.ofMinutes(1)))
+                        .limit(Limit.perIp(600, Duration.ofMinutes(1)))
+                        .build(),
+                RateLimitRule.builder()
+                        .name("save-marker")
+                        .method(HttpMethod.POST)
+                        .pattern("/save-marker")
+                        .limit(Limit.perUser(30, Duration.ofMinutes(1)))
+                        .limit(Limit.perIp(150, Duration.ofMinutes(1)))
+                        .build(),
+                RateLimitRule.builder()
+                        .name("boards-read")
+                        .method(HttpMethod.GET)
+                        .pattern("/boards/**")
+                        .limit(Limit.perIp(300, Duration.ofMinutes(1)))
+                        .build(),
+                RateLimitRule.builder()
+                        .name("boards-write")
+                        .pattern("/boards/**")
+                        .limit(Limit.perUser(20, Duration.ofMinutes(1)))
+                        .limit(Limit.perIp(100, Duration.ofMinutes(1)))
+                        .build()
+        );
+        return new RateLimiter(rules, stringRedisTemplate, leaseMillis);
+    }
+}
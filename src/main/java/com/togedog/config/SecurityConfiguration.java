@@ -1,17 +1,23 @@
 package com.togedog.config;
 
+import com.togedog.auth.credential.CredentialVerificationExecutor;
+import com.togedog.auth.credential.LoginStatistics;
 import com.togedog.auth.filter.JwtAuthenticationFilter;
 import com.togedog.auth.filter.JwtVerificationFilter;
+import com.togedog.auth.filter.RateLimitFilter;
 import com.togedog.auth.handler.MemberAccessDeniedHandler;
 import com.togedog.auth.handler.MemberAuthenticationEntryPoint;
 import com.togedog.auth.handler.MemberAuthenticationFailureHandler;
 import com.togedog.auth.handler.MemberAuthenticationSuccessHandler;
 import com.togedog.auth.jwt.JwtTokenizer;
+import com.togedog.auth.jwt.SessionEpochRegistry;
+import com.togedog.auth.jwt.VerifiedTokenCache;
 import com.togedog.auth.utils.CustomAuthorityUtils;
 import com.togedog.member.repository.MemberRepository;
+import com.togedog.ratelimit.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -19,7 +25,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
@@ -28,6 +35,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Map;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
@@ -40,14 +48,25 @@ public class SecurityConfiguration {
     private final JwtTokenizer jwtTokenizer;
     private final CustomAuthorityUtils authorityUtils; // 추가
     private final MemberRepository memberRepository; // 추가
-    private final RedisTemplate<String, Object> redisTemplate; // 추가
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SessionEpochRegistry sessionEpochRegistry;
+    private final CredentialVerificationExecutor credentialVerificationExecutor;
+    private final LoginStatistics loginStatistics;
+    private final RateLimiter rateLimiter;
 
     public SecurityConfiguration(JwtTokenizer jwtTokenizer,
-                                 CustomAuthorityUtils authorityUtils, MemberRepository memberRepository, RedisTemplate<String, Object> redisTemplate) {
+                                 CustomAuthorityUtils authorityUtils, MemberRepository memberRepository,
+                                 VerifiedTokenCache verifiedTokenCache, SessionEpochRegistry sessionEpochRegistry,
+                                 CredentialVerificationExecutor credentialVerificationExecutor,
+                                 LoginStatistics loginStatistics, RateLimiter rateLimiter) {
         this.jwtTokenizer = jwtTokenizer;
         this.authorityUtils = authorityUtils;
         this.memberRepository = memberRepository;
-        this.redisTemplate = redisTemplate;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.sessionEpochRegistry = sessionEpochRegistry;
+        this.credentialVerificationExecutor = credentialVerificationExecutor;
+        this.loginStatistics = loginStatistics;
+        this.rateLimiter = rateLimiter;
     }
 
     @Bean
@@ -69,6 +88,8 @@ public class SecurityConfiguration {
                 .and()
                 .authorizeHttpRequests(authorize -> authorize
                         .antMatchers(HttpMethod.POST, "/auth/logout").hasAnyRole("USER", "ADMIN")
+                        .antMatchers(HttpMethod.GET, "/caches/**").hasRole("ADMIN")
+                        .antMatchers(HttpMethod.GET, "/auth/statistics").hasRole("ADMIN")
                         .anyRequest().permitAll()
                 );
         return http.build();
@@ -111,9 +132,13 @@ public class SecurityConfiguration {
 //        return http.build();
 //    }
 
+    /**
+     * 저장된 해시는 모두 {bcrypt} 이므로 bcrypt 만 등록한다.
+     * 강도(cost)를 올리면 기존 해시는 다음 로그인 성공 시 새 강도로 다시 저장된다. (MemberDetailsService.updatePassword)
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int bcryptStrength) {
+        return new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(bcryptStrength)));
     }
 
     @Bean
@@ -121,8 +146,8 @@ public class SecurityConfiguration {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(Collections.singletonList("*"));  // 모든 오리진 허용
         configuration.setAllowedMethods(Arrays.asList("HEAD", "GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));  // 허용되는 HTTP 메서드
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept"));  // 허용되는 헤더
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "memberId", "Location"));  // 노출할 헤더 추가
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Refresh", "Content-Type", "X-Requested-With", "Accept"));  // 허용되는 헤더
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Refresh", "memberId", "Location"));  // 노출할 헤더 추가
         configuration.setAllowCredentials(true);  // 인증 관련 정보를 허용
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -138,7 +163,8 @@ public class SecurityConfiguration {
                     builder.getSharedObject(AuthenticationManager.class);
 
             JwtAuthenticationFilter jwtAuthenticationFilter =
-                    new JwtAuthenticationFilter(authenticationManager, jwtTokenizer);
+                    new JwtAuthenticationFilter(authenticationManager, jwtTokenizer,
+                            credentialVerificationExecutor, loginStatistics);
             jwtAuthenticationFilter.setFilterProcessesUrl("/login");
             jwtAuthenticationFilter.setAuthenticationSuccessHandler(
                     new MemberAuthenticationSuccessHandler(memberRepository));
@@ -146,11 +172,15 @@ public class SecurityConfiguration {
                     new MemberAuthenticationFailureHandler());
 
             JwtVerificationFilter jwtVerificationFilter =
-                    new JwtVerificationFilter(jwtTokenizer, authorityUtils, redisTemplate); // 추가
+                    new JwtVerificationFilter(verifiedTokenCache, sessionEpochRegistry); // 추가
+
+            // 인증 정보가 정해진 뒤 회원/IP 기준으로 요청 제한
+            RateLimitFilter rateLimitFilter = new RateLimitFilter(rateLimiter);
 
             builder
                     .addFilter(jwtAuthenticationFilter)
-                    .addFilterAfter(jwtVerificationFilter, JwtAuthenticationFilter.class);
+                    .addFilterAfter(jwtVerificationFilter, JwtAuthenticationFilter.class)
+                    .addFilterAfter(rateLimitFilter, JwtVerificationFilter.class);
         }
 
     }
@@ -0,0 +1,18 @@
+package com.togedog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 커서(keyset) 기반 목록 응답
+ * 다음 페이지는 nextCursor 를 그대로 다음 요청의 커서로 넘겨 조회한다 (마지막 페이지면 null)
+ */
+@Getter
+@AllArgsConstructor
+public class CursorResponseDto<T> {
+    private List<T> data;
+    private Long nextCursor;
+    private boolean hasNext;
+}
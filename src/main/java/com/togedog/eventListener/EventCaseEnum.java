@@ -10,7 +10,9 @@ public class EventCaseEnum {
         DELETE_RELATED_MATCHING_STAND_BY_DATA(1,"연관된 MatchingStandBy 데이터 삭제"),
         SUCCESS_RELATED_MATCHING_DATA(2,"연관된 Matching 데이터 성공으로 상태 변경"),
         CREATE_CHAT_ROOM(3, "호스트와 게스트의 채팅방을 생성"),
-        DELETE_MARKER(4,"마커 삭제");
+        DELETE_MARKER(4,"마커 삭제"),
+        INVALIDATE_MARKER_TILES(5,"변경된 마커가 걸친 타일 캐시 무효화"),
+        REVOKE_MEMBER_TOKENS(6,"로그아웃한 회원의 토큰 검증 캐시 무효화");
 
         private int statusNumber;
 
@@ -1,16 +1,21 @@
 package com.togedog.eventListener;
 
+import com.togedog.auth.jwt.VerifiedTokenCache;
 import com.togedog.chatRoom.service.ChatRoomService;
 import com.togedog.matching.service.MatchingService;
+import com.togedog.matching.service.MatchingSpatialIndex;
 import com.togedog.matchingStandBy.entity.MatchingStandBy;
 import com.togedog.matchingStandBy.service.MatchingStandByService;
 import com.togedog.member.service.MemberService;
 import com.togedog.redis.MarkerService;
+import com.togedog.redis.MarkerTileService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -20,18 +25,24 @@ public class ServiceEventListener {
     private final MatchingStandByService matchingStandByService;
     private final MemberService memberService;
     private final MarkerService markerService;
+    private final MatchingSpatialIndex matchingSpatialIndex;
+    private final MarkerTileService markerTileService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @EventListener
+    @SuppressWarnings("unchecked")
     public void handleMyCustomEvent(CustomEvent event) {
         switch (event.getMethodName()) {
             case DELETE_RELATED_MATCHING_STAND_BY_DATA:
                 log.debug("Event : DELETE_RELATED_MATCHING_STAND_BY_DATA");
                 matchingStandByService.extractedDataAndChangeStatusToFail((Long) event.getResource(),
                         MatchingStandBy.Status.STATUS_WAIT);
+                matchingSpatialIndex.removeByHostMemberId((Long) event.getResource());
                 break;
             case SUCCESS_RELATED_MATCHING_DATA:
                 log.debug("Event : SUCCESS_RELATED_MATCHING_DATA");
                 matchingService.updateMatchForCustomEvent(event.getResources().get(0),event.getResources().get(1));
+                event.getResources().forEach(matchingSpatialIndex::removeByHostMemberId);
                 break;
 
             case CREATE_CHAT_ROOM:
@@ -42,6 +53,15 @@ public class ServiceEventListener {
                 log.debug("Event : DELETE_MARKER");
                 String markerInfo = "marker:" + (String)event.getResource();
                 markerService.deleteMarker(markerInfo);
+                break;
+            case INVALIDATE_MARKER_TILES:
+                log.debug("Event : INVALIDATE_MARKER_TILES");
+                markerTileService.invalidate((List<MarkerService.Marker>) event.getResource());
+                break;
+            case REVOKE_MEMBER_TOKENS:
+                log.debug("Event : REVOKE_MEMBER_TOKENS");
+                verifiedTokenCache.revoke((String) event.getResource());
+                break;
 
 
         }
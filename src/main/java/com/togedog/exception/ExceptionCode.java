@@ -11,6 +11,7 @@ public enum ExceptionCode {
     REQUEST_ALREADY_RECEIVED_FROM_OTHER_PARTY(202,"NOT_MATCH_HOST_MEMBER"),
     ACCESS_DENIED(403,"ACCESS_DENIED"),
     CHATROOM_NOT_FOUND(404,"CHATROOM_NOT_FOUND"),
+    CHAT_BACKLOG_FULL(503,"CHAT_BACKLOG_FULL"),
 
     //match 관련
     MATCH_NOT_FOUND(404,"MATCH_NOT_FOUND"),
@@ -36,6 +37,13 @@ public enum ExceptionCode {
     PET_NOT_FOUND(404, "Pet Not Found"),
     PET_EXISTS(409,"Pet exists"),
 
+    //마커 관련
+    INVALID_MARKER_QUERY(400, "INVALID_MARKER_QUERY"),
+
+    //주소 변환(Kakao API) 관련
+    GEOCODE_FAILED(502, "주소 변환에 실패했습니다."),
+    GEOCODE_UNAVAILABLE(503, "주소 변환 서비스를 일시적으로 사용할 수 없습니다."),
+
     //친구 요청 관련
     UNAUTHORIZED_ACCESS(404, "친구요청을 없습니다."),
 
@@ -45,7 +53,8 @@ public enum ExceptionCode {
 
     //토큰 인증 관련
     UNAUTHORIZED_MEMBER(401, "권한이 없는 멤버입니다."),
-    TOKEN_INVALID(404, "토큰값이 유효하지 않습니다.");
+    TOKEN_INVALID(404, "토큰값이 유효하지 않습니다."),
+    REFRESH_TOKEN_INVALID(401, "리프레시 토큰이 유효하지 않습니다.");
 
     @Getter
     private int statusCode;
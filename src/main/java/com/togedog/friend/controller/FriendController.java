@@ -1,6 +1,7 @@
 package com.togedog.friend.controller;
 
-import com.togedog.auth.service.AuthService;
+import com.togedog.auth.principal.LoginMember;
+import com.togedog.auth.principal.MemberPrincipal;
 import com.togedog.friend.dto.Dto;
 import com.togedog.friend.entity.Friend;
 import com.togedog.friend.mapper.FriendMapper;
@@ -23,7 +24,6 @@ import java.util.List;
 public class FriendController {
     private final FriendService friendService;
     private final FriendMapper friendMapper;
-    private final AuthService authService;
 
 //    @GetMapping("/{friend-email}/{member-email}")
 //    public ResponseEntity getFriend(@PathVariable("friend-email") String friendEmail,
@@ -63,19 +63,8 @@ public class FriendController {
 //    }
 
     @GetMapping
-    public ResponseEntity getsFriends(Authentication authentication) {
-        String email;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
-
-        List<Member> friendList = friendService.getsFriends(email, Friend.Status.ACCEPTED);
+    public ResponseEntity getsFriends(@LoginMember MemberPrincipal principal) {
+        List<Member> friendList = friendService.getsFriends(principal.getEmail(), Friend.Status.ACCEPTED);
         List<Dto.Response> responseDtos = friendMapper.friendsToResponse(friendList);
 
         return new ResponseEntity<>(responseDtos, HttpStatus.OK);
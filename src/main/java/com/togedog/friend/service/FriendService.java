@@ -1,5 +1,6 @@
 package com.togedog.friend.service;
 
+import com.togedog.auth.principal.AuthenticatedMemberResolver;
 import com.togedog.exception.BusinessLogicException;
 import com.togedog.exception.ExceptionCode;
 import com.togedog.friend.entity.Friend;
@@ -24,6 +25,7 @@ import java.util.Optional;
 public class FriendService {
     private final FriendRepository friendRepository;
     private final MemberRepository memberRepository;
+    private final AuthenticatedMemberResolver authenticatedMemberResolver;
 
     public Friend getFriend(String memberEmail, String friendEmail) {
         Member member = memberRepository.findByEmail(memberEmail)
@@ -98,7 +100,7 @@ public class FriendService {
 
     @Transactional
     public void acceptFriendRequest(long friendId, Authentication authentication) {
-        Member recipient = extractMemberFromAuthentication(authentication);
+        Member recipient = authenticatedMemberResolver.resolve(authentication);
 
         Optional<Friend> optionalFriend = friendRepository.findById(friendId);
 
@@ -139,7 +141,7 @@ public class FriendService {
 
     @Transactional
     public void rejectFriendRequest(long friendId, Authentication authentication) {
-        Member recipient = extractMemberFromAuthentication(authentication);
+        Member recipient = authenticatedMemberResolver.resolve(authentication);
 
         Optional<Friend> optionalFriend = friendRepository.findById(friendId);
 
@@ -150,24 +152,5 @@ public class FriendService {
         friendRepository.delete(friend);
     }
 
-    private Member extractMemberFromAuthentication(Authentication authentication) {
-        /**
-         * 첫 번째 if 블록에서는 메서드로 전달된 authentication 객체가 null인 경우,
-         * SecurityContextHolder에서 인증 정보를 가져오려고 시도.
-         * 두 번째 if 블록에서는 authentication이 여전히 null인 경우,
-         * 사용자에게 인증되지 않았음을 알리고, 처리할 수 있도록 예외를 발생시킴.
-         */
-//        if (authentication == null) {
-//            authentication = SecurityContextHolder.getContext().getAuthentication();
-//        }
-//
-//        if (authentication == null) {
-//            throw new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND);
-//        }
-
-        String username = (String) authentication.getPrincipal();
-        return memberRepository.findByEmail(username)
-                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
-    }
 
 }
@@ -1,5 +1,6 @@
 package com.togedog.likes.service;
 
+import com.togedog.auth.principal.AuthenticatedMemberResolver;
 import com.togedog.board.entity.Board;
 import com.togedog.board.repository.BoardRepository;
 import com.togedog.exception.BusinessLogicException;
@@ -7,7 +8,6 @@ import com.togedog.exception.ExceptionCode;
 import com.togedog.likes.entity.Likes;
 import com.togedog.likes.repository.LikesRepository;
 import com.togedog.member.entity.Member;
-import com.togedog.member.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
@@ -21,19 +21,14 @@ import java.util.Optional;
 public class LikesService {
     private final LikesRepository likesRepository;
     private final BoardRepository boardRepository;
-    private final MemberRepository memberRepository;
+    private final AuthenticatedMemberResolver authenticatedMemberResolver;
 
     @Transactional
     public void toggleLikes(Long memberId, Long boardId,Authentication authentication){
-        //멤버가 존재하는지 확인
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
-        //인증된 사용자가 memberId와 일치하는지 확인
-        String email = (String) authentication.getPrincipal();
-        Member authenticatedMember = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.UNAUTHORIZED_ACCESS));
-
-        if (!(authenticatedMember.getMemberId() == memberId)){
+        //인증된 사용자가 memberId와 일치하는지 확인 (인증 회원을 그대로 사용하므로 memberId 로 다시 조회하지 않음)
+        Member member = authenticatedMemberResolver.resolve(authentication);
+
+        if (!(member.getMemberId() == memberId)){
             throw new BusinessLogicException(ExceptionCode.UNAUTHORIZED_ACCESS);
         }
 
@@ -0,0 +1,31 @@
+package com.togedog.map.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kakao 좌표 -> 주소 변환(coord2address) 호출 설정
+ * 값이 없으면 아래 기본값을 사용한다.
+ */
+@Component
+@ConfigurationProperties(prefix = "kakao.geocode")
+@Getter
+@Setter
+public class GeocodeProperties {
+    private String url = "https://dapi.kakao.com/v2/local/geo/coord2address.json";
+
+    // 캐시 키로 사용할 좌표 소수점 자리수 (4자리 ≒ 11m)
+    private int precision = 4;
+
+    private long connectTimeoutMillis = 1000;
+    private long requestTimeoutMillis = 2000;
+
+    private long cacheMaximumSize = 10000;
+    private long cacheTtlMinutes = 60;
+
+    // 연속 실패가 이 횟수에 도달하면 회로를 열고 openStateMillis 동안 호출을 막는다
+    private int failureThreshold = 5;
+    private long openStateMillis = 30000;
+}
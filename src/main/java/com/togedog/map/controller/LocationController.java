@@ -1,37 +1,31 @@
 package com.togedog.map.controller;
 
+import com.togedog.map.service.ReverseGeocodeService;
 import com.togedog.redis.LocationService;
 import lombok.Getter;
 import lombok.Setter;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "http://localhost:3000")  // localhost:3000에서 오는 요청을 허용
 public class LocationController {
 
-    @Value("${kakao.api.key}")
-    private String apiKey;
-
-    private final RestTemplate restTemplate;
+    private final ReverseGeocodeService reverseGeocodeService;
     private final LocationService locationService;
 
-    public LocationController(RestTemplate restTemplate, LocationService locationService) {
-        this.restTemplate = restTemplate;
+    public LocationController(ReverseGeocodeService reverseGeocodeService, LocationService locationService) {
+        this.reverseGeocodeService = reverseGeocodeService;
         this.locationService = locationService;
     }
 
 
     @PostMapping("/currentLocation")
-    public ResponseEntity<Object> currentLocation(@RequestBody LocationRequest request, Authentication authentication) {
+    public CompletableFuture<ResponseEntity<Object>> currentLocation(@RequestBody LocationRequest request, Authentication authentication) {
         String userEmail = authentication.getName();
         double latitude = request.getLatitude();
         double longitude = request.getLongitude();
@@ -39,19 +33,9 @@ public class LocationController {
         // 자동 캐싱 방식 저장
         locationService.saveLocationCache(userEmail, latitude, longitude);
 
-        // Kakao API 호출
-        String url = UriComponentsBuilder
-                .fromHttpUrl("https://dapi.kakao.com/v2/local/geo/coord2address.json")
-                .queryParam("x", longitude)
-                .queryParam("y", latitude)
-                .toUriString();
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "KakaoAK " + apiKey);
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-
-        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-        return ResponseEntity.ok(response.getBody());
+        // Kakao API 비동기 호출 (캐시/중복 요청 병합), 응답이 올 때까지 요청 스레드를 반환
+        return reverseGeocodeService.reverseGeocode(latitude, longitude)
+                .thenApply(body -> ResponseEntity.ok(body));
     }
 
     //자동 캐싱으로 저장된 위치 조회
@@ -1,34 +1,74 @@
 package com.togedog.map.controller;
 
+import com.togedog.exception.BusinessLogicException;
+import com.togedog.exception.ExceptionCode;
 import com.togedog.redis.MarkerService;
+import com.togedog.redis.MarkerTileService;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.validation.constraints.Positive;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:3000")
+@Validated
 public class MarkerController {
+    private static final String DEFAULT_RADIUS_KM = "3";
+    private static final String DEFAULT_LIMIT = "500";
     private final MarkerService markerService;
+    private final MarkerTileService markerTileService;
 
-    public MarkerController(MarkerService markerService) {
+    public MarkerController(MarkerService markerService, MarkerTileService markerTileService) {
         this.markerService = markerService;
+        this.markerTileService = markerTileService;
     }
 
     @GetMapping("/markers")
     public ResponseEntity<List<MarkerService.Marker>> getMarkers(Authentication authentication) {
-        // Redis에서 마커 키들을 가져와 해당 마커 정보를 반환
-        Set<String> markerKeys = markerService.getKeysByPattern("marker:*");
-        List<MarkerService.Marker> markers = markerKeys.stream()
-                .map(key -> markerService.getMarker(key))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(markers);
+        // 만료 인덱스에서 살아있는 마커 키들을 가져와 해당 마커 정보를 반환
+        List<String> markerKeys = markerService.getActiveMarkerKeys();
+        return ResponseEntity.ok(markerService.getMarkers(markerKeys));
     }
+
+    /**
+     * 중심 좌표 기준 반경 안의 마커만 조회
+     * ex) /markers?lat=37.5&lng=127.0&radiusKm=2
+     */
+    @GetMapping(value = "/markers", params = {"lat", "lng"})
+    public ResponseEntity<List<MarkerService.Marker>> getMarkersInRadius(@RequestParam("lat") double latitude,
+                                                                         @RequestParam("lng") double longitude,
+                                                                         @RequestParam(defaultValue = DEFAULT_RADIUS_KM) @Positive double radiusKm,
+                                                                         @RequestParam(defaultValue = DEFAULT_LIMIT) @Positive int limit) {
+        return ResponseEntity.ok(markerService.findMarkersInRadius(latitude, longitude, radiusKm, limit));
+    }
+
+    /**
+     * 화면 영역 안의 마커만 조회
+     * ex) /markers?bbox=남서위도,남서경도,북동위도,북동경도
+     */
+    @GetMapping(value = "/markers", params = "bbox")
+    public ResponseEntity<List<MarkerService.Marker>> getMarkersInBox(@RequestParam("bbox") String bbox,
+                                                                      @RequestParam(defaultValue = DEFAULT_LIMIT) @Positive int limit) {
+        double[] bounds = parseBoundingBox(bbox);
+        return ResponseEntity.ok(markerService.findMarkersInBox(bounds[0], bounds[1], bounds[2], bounds[3], limit));
+    }
+    /**
+     * 줌 단계별 마커 타일 조회 (웹 메르카토르 타일 좌표)
+     * 낮은 줌에서는 클러스터(개수 + 중심 좌표), 높은 줌에서는 개별 마커를 반환
+     * ex) /markers/tiles/12/3492/1587
+     */
+    @GetMapping("/markers/tiles/{zoom}/{x}/{y}")
+    public ResponseEntity<MarkerTileService.MarkerTile> getMarkerTile(@PathVariable("zoom") int zoom,
+                                                                     @PathVariable("x") int tileX,
+                                                                     @PathVariable("y") int tileY) {
+        return ResponseEntity.ok(markerTileService.getTile(zoom, tileX, tileY));
+    }
+
     //markers에 respnse 에 반환 값 추가를 해야합니다 경도 위도는 잘 받지만 우리가 추가 할거는
     //userEmail 마커 주인의 key 값을 넣거나
 
@@ -38,7 +78,7 @@ public class MarkerController {
     public ResponseEntity<String> saveMarker(@RequestBody LocationRequest locationRequest, Authentication authentication) {
         double latitude = locationRequest.getLatitude();
         double longitude = locationRequest.getLongitude();
-        String userEmail = (String) authentication.getPrincipal();
+        String userEmail = authentication.getName();
 
         // latitude와 longitude를 문자열로 변환하여 키 구성
         String markerKey = "marker:" + userEmail;// + ":" + latitude + ":" + longitude;
@@ -50,6 +90,26 @@ public class MarkerController {
     }
 
 
+    private double[] parseBoundingBox(String bbox) {
+        String[] values = bbox.split(",");
+        if (values.length != 4) {
+            throw new BusinessLogicException(ExceptionCode.INVALID_MARKER_QUERY);
+        }
+        double[] bounds = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                bounds[i] = Double.parseDouble(values[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new BusinessLogicException(ExceptionCode.INVALID_MARKER_QUERY);
+        }
+        if (bounds[0] > bounds[2] || bounds[1] > bounds[3]) {
+            throw new BusinessLogicException(ExceptionCode.INVALID_MARKER_QUERY);
+        }
+        return bounds;
+    }
+
+
     @Getter
     @Setter
     public static class LocationRequest {
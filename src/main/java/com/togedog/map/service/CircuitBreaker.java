@@ -0,0 +1,66 @@
+package com.togedog.map.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 외부 API 호출용 단순 서킷 브레이커
+ * CLOSED : 정상 호출, 연속 실패가 failureThreshold 에 도달하면 OPEN
+ * OPEN : openStateMillis 동안 호출 차단
+ * HALF_OPEN : 대기 시간이 지나면 한 건만 시험 호출, 성공하면 CLOSED / 실패하면 다시 OPEN
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openStateMillis;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong(-1);
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+
+    public CircuitBreaker(int failureThreshold, long openStateMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openStateMillis = openStateMillis;
+    }
+
+    /**
+     * 호출 가능 여부 확인 (HALF_OPEN 에서는 한 호출만 통과)
+     *
+     * @return 호출해도 되면 true
+     */
+    public boolean tryAcquire() {
+        long opened = openedAt.get();
+        if (opened < 0) {
+            return true;
+        }
+        if (System.currentTimeMillis() - opened < openStateMillis) {
+            return false;
+        }
+        return trialInFlight.compareAndSet(false, true);
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        openedAt.set(-1);
+        trialInFlight.set(false);
+    }
+
+    public void onFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold || trialInFlight.get()) {
+            openedAt.set(System.currentTimeMillis());
+        }
+        trialInFlight.set(false);
+    }
+
+    public State getState() {
+        long opened = openedAt.get();
+        if (opened < 0) {
+            return State.CLOSED;
+        }
+        return System.currentTimeMillis() - opened < openStateMillis ? State.OPEN : State.HALF_OPEN;
+    }
+}
@@ -0,0 +1,110 @@
+package com.togedog.map.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.togedog.exception.BusinessLogicException;
+import com.togedog.exception.ExceptionCode;
+import com.togedog.map.config.GeocodeProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 좌표 -> 주소 변환(Kakao coord2address) 서비스
+ * - 좌표를 설정된 소수점 자리수로 반올림하여 캐시 키로 사용 (가까운 위치는 같은 결과 재사용)
+ * - 같은 좌표에 대한 동시 요청은 진행 중인 한 번의 호출 결과를 함께 받는다 (AsyncCache)
+ * - JDK HttpClient 비동기 호출 + 연결/응답 타임아웃으로 요청 스레드를 붙잡지 않는다
+ * - 연속 실패 시 서킷 브레이커로 외부 호출을 잠시 막는다
+ */
+@Slf4j
+@Service
+public class ReverseGeocodeService {
+    private final GeocodeProperties properties;
+    private final String apiKey;
+    private final HttpClient httpClient;
+    private final CircuitBreaker circuitBreaker;
+    private final AsyncCache<String, String> addressCache;
+
+    public ReverseGeocodeService(GeocodeProperties properties, @Value("${kakao.api.key}") String apiKey) {
+        this.properties = properties;
+        this.apiKey = apiKey;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMillis()))
+                .build();
+        this.circuitBreaker = new CircuitBreaker(properties.getFailureThreshold(), properties.getOpenStateMillis());
+        // 실패한 호출은 캐시에 남지 않고 자동으로 제거된다
+        this.addressCache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getCacheTtlMinutes(), TimeUnit.MINUTES)
+                .buildAsync();
+    }
+
+    /**
+     * 좌표에 해당하는 주소 정보(JSON 원문) 조회
+     *
+     * @param latitude 위도
+     * @param longitude 경도
+     * @return Kakao coord2address 응답 본문
+     */
+    public CompletableFuture<String> reverseGeocode(double latitude, double longitude) {
+        String roundedLatitude = round(latitude);
+        String roundedLongitude = round(longitude);
+        String cacheKey = roundedLatitude + "," + roundedLongitude;
+        return addressCache.get(cacheKey, (key, executor) -> request(roundedLatitude, roundedLongitude));
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private CompletableFuture<String> request(String latitude, String longitude) {
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new BusinessLogicException(ExceptionCode.GEOCODE_UNAVAILABLE));
+        }
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(properties.getUrl() + "?x=" + longitude + "&y=" + latitude))
+                .timeout(Duration.ofMillis(properties.getRequestTimeoutMillis()))
+                .header("Authorization", "KakaoAK " + apiKey)
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, throwable) -> {
+                    if (throwable != null) {
+                        circuitBreaker.onFailure();
+                        log.warn("주소 변환 API 호출 실패: {}", throwable.getMessage());
+                        throw new CompletionException(new BusinessLogicException(ExceptionCode.GEOCODE_UNAVAILABLE));
+                    }
+                    int status = response.statusCode();
+                    if (status >= 500) {
+                        circuitBreaker.onFailure();
+                        log.warn("주소 변환 API 서버 오류: {}", status);
+                        throw new CompletionException(new BusinessLogicException(ExceptionCode.GEOCODE_UNAVAILABLE));
+                    }
+                    // 4xx 는 요청 문제이므로 회로 상태에는 반영하지 않는다
+                    circuitBreaker.onSuccess();
+                    if (status >= 400) {
+                        log.warn("주소 변환 API 요청 오류: {}", status);
+                        throw new CompletionException(new BusinessLogicException(ExceptionCode.GEOCODE_FAILED));
+                    }
+                    return response.body();
+                });
+    }
+
+    private String round(double degrees) {
+        return BigDecimal.valueOf(degrees)
+                .setScale(properties.getPrecision(), RoundingMode.HALF_UP)
+                .toPlainString();
+    }
+}
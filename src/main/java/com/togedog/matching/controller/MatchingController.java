@@ -5,6 +5,7 @@ import com.togedog.matching.dto.MatchingDto;
 import com.togedog.matching.entity.Matching;
 import com.togedog.matching.mapper.MatchingMapper;
 import com.togedog.matching.service.MatchingService;
+import com.togedog.matching.service.MatchingSpatialIndex;
 import com.togedog.utils.UriCreator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -14,7 +15,9 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/matchings")
@@ -52,6 +55,22 @@ public class MatchingController {
                 HttpStatus.OK);
     }
 
+    /**
+     * 주변에 호스팅 중인 매칭을 가까운 순으로 조회
+     * ex) /matchings/nearby?lat=37.5&lng=127.0&radiusKm=2&limit=20
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity getNearbyMatchings(@RequestParam("lat") double latitude,
+                                             @RequestParam("lng") double longitude,
+                                             @RequestParam(defaultValue = "3") @Positive double radiusKm,
+                                             @RequestParam(defaultValue = "20") @Positive int limit) {
+        List<MatchingSpatialIndex.NearbyMatch> nearbyMatches =
+                service.findNearbyMatches(latitude, longitude, radiusKm, limit);
+        return new ResponseEntity<>(
+                new SingleResponseDto<>(mapper.nearbyMatchesToNearbyResponsesDto(nearbyMatches)),
+                HttpStatus.OK);
+    }
+
     @GetMapping("/{email}")
     public ResponseEntity getMatching(@PathVariable("email") String email,Authentication authentication) {
         Matching findMatching = service.findVerifiedMatch(email,authentication);
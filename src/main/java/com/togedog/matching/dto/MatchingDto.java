@@ -41,6 +41,17 @@ public class MatchingDto {
         private long hostMemberId;
     }
 
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class NearbyResponse {
+        private long matchingId;
+        private long hostMemberId;
+        private double latitude;
+        private double longitude;
+        private double distanceKm;
+    }
+
     @Setter
     @Getter
     @AllArgsConstructor
@@ -2,10 +2,12 @@ package com.togedog.matching.mapper;
 
 import com.togedog.matching.dto.MatchingDto;
 import com.togedog.matching.entity.Matching;
+import com.togedog.matching.service.MatchingSpatialIndex;
 import com.togedog.member.entity.Member;
 import com.togedog.pet.entity.Pet;
 import org.mapstruct.Mapper;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Mapper(componentModel = "spring")
@@ -42,4 +44,19 @@ public interface MatchingMapper {
         );
     }
     List<MatchingDto.Response> matchingToMatchingResponsesDto(List<Matching> matchings);
+
+    default List<MatchingDto.NearbyResponse> nearbyMatchesToNearbyResponsesDto(
+            List<MatchingSpatialIndex.NearbyMatch> nearbyMatches) {
+        List<MatchingDto.NearbyResponse> responses = new ArrayList<>(nearbyMatches.size());
+        for (MatchingSpatialIndex.NearbyMatch nearbyMatch : nearbyMatches) {
+            responses.add(new MatchingDto.NearbyResponse(
+                    nearbyMatch.getMatchId(),
+                    nearbyMatch.getHostMemberId(),
+                    nearbyMatch.getLatitude(),
+                    nearbyMatch.getLongitude(),
+                    nearbyMatch.getDistanceKm()
+            ));
+        }
+        return responses;
+    }
 }
@@ -27,6 +27,7 @@ public interface MatchingRepository extends JpaRepository<Matching, Long> {
     Optional<Matching> findByHostMemberAndMatchStatus(Member member, Matching.MatchStatus matchStatus);
     Optional<Matching> findByHostMember_EmailAndMatchStatus(String email, Matching.MatchStatus matchStatus);
     Optional<Matching> findByHostMember(Member member);
+    List<Matching> findAllByMatchStatus(Matching.MatchStatus matchStatus);
 
     List<Matching> findByHostMemberIdOrHostMemberId(long hostMemberId, long guestMemberId);
 
@@ -1,5 +1,6 @@
 package com.togedog.matching.service;
 
+import com.togedog.auth.principal.AuthenticatedMemberResolver;
 import com.togedog.eventListener.CustomEvent;
 import com.togedog.exception.BusinessLogicException;
 import com.togedog.exception.ExceptionCode;
@@ -29,32 +30,35 @@ import static com.togedog.eventListener.EventCaseEnum.EventCase.DELETE_RELATED_M
 public class MatchingService {
     private final MatchingRepository matchingRepository;
     private final MemberRepository memberRepository;
+    private final AuthenticatedMemberResolver authenticatedMemberResolver;
     private final ApplicationEventPublisher eventPublisher;
+    private final MatchingSpatialIndex matchingSpatialIndex;
     public Matching createMatch(Matching matching, Authentication authentication) {
-        Member member = extractMemberFromAuthentication(authentication);
+        Member member = authenticatedMemberResolver.resolve(authentication);
 
         Optional<Matching> optionalMatching =
                 matchingRepository.findByHostMemberAndMatchStatus(member, Matching.MatchStatus.MATCH_HOSTING);
 
-
         if (optionalMatching.isPresent()) {
             Matching findMatch = optionalMatching.get();
             findMatch.setLatitude(matching.getLatitude());
             findMatch.setLongitude(matching.getLongitude());
-            return matchingRepository.save(findMatch);
+            Matching saved = matchingRepository.save(findMatch);
+            matchingSpatialIndex.apply(saved);
+            return saved;
         } else {
             // ✅ 새로운 매칭 생성
             matching.setHostMember(member);
             matching.setHostMemberId(member.getMemberId());
             Matching saved = matchingRepository.save(matching);
             System.out.println("📌 매칭 저장 완료: matchId = " + saved.getMatchId());
+            matchingSpatialIndex.apply(saved);
             return saved;
         }
     }
 
-
     public Matching updateMatch(Matching matching, Authentication authentication) {
-        Member member = extractMemberFromAuthentication(authentication);
+        Member member = authenticatedMemberResolver.resolve(authentication);
         Matching findMatching = matchingRepository.findByHostMemberAndMatchStatus(member, Matching.MatchStatus.MATCH_HOSTING)
                 .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MATCH_NOT_FOUND));
 
@@ -68,7 +72,9 @@ public class MatchingService {
 
         }
 
-        return matchingRepository.save(findMatching);
+        Matching saved = matchingRepository.save(findMatching);
+        matchingSpatialIndex.apply(saved);
+        return saved;
     }
 
     private void publishMatchCancelEvents(Matching findMatching) {
@@ -81,7 +87,6 @@ public class MatchingService {
         eventPublisher.publishEvent(deleteMarkerEvent);
     }
 
-
     public void updateMatchForCustomEvent(Long hostMemberId, Long guestMemberId) {
         List<Matching> findMatchings = matchingRepository.findByHostMemberIdOrHostMemberId(hostMemberId, guestMemberId);
 
@@ -96,13 +101,28 @@ public class MatchingService {
         }
     }
 
+    /**
+     * 주변에 호스팅 중인 매칭을 가까운 순으로 조회 (DB 조회 없이 메모리 격자 인덱스 사용)
+     *
+     * @param latitude 중심 위도
+     * @param longitude 중심 경도
+     * @param radiusKm 반경(km)
+     * @param limit 최대 반환 개수
+     * @return 가까운 순으로 정렬된 매칭 목록
+     */
+    @Transactional(readOnly = true)
+    public List<MatchingSpatialIndex.NearbyMatch> findNearbyMatches(double latitude, double longitude,
+                                                                    double radiusKm, int limit) {
+        return matchingSpatialIndex.findNearbyMatches(latitude, longitude, radiusKm, limit);
+    }
+
     public Page<Matching> findMatches(int page, int size) {
         return matchingRepository.findAll(PageRequest.of(page, size, Sort.by("matchId").descending()));
     }
 
     @Transactional(readOnly = true)
     public Matching findVerifiedMatch(String email, Authentication authentication) {
-        extractMemberFromAuthentication(authentication);
+        authenticatedMemberResolver.resolve(authentication);
         Matching result = matchingRepository.findByHostMember_EmailAndMatchStatus(email, Matching.MatchStatus.MATCH_HOSTING)
                 .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MATCH_NOT_FOUND));
         Member member = memberRepository.findByEmail(email)
@@ -113,14 +133,8 @@ public class MatchingService {
 
     @Transactional(readOnly = true)
     public Matching findVerifiedMatch(Authentication authentication) {
-        Member member = extractMemberFromAuthentication(authentication);
+        Member member = authenticatedMemberResolver.resolve(authentication);
         return matchingRepository.findByHostMember(member)
                 .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MATCH_NOT_FOUND));
     }
-
-    private Member extractMemberFromAuthentication(Authentication authentication) {
-        String email = (String) authentication.getPrincipal();
-        return memberRepository.findByEmail(email)
-                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
-    }
 }
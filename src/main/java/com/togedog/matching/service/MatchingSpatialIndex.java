@@ -0,0 +1,255 @@
+package com.togedog.matching.service;
+
+import com.togedog.matching.entity.Matching;
+import com.togedog.matching.repository.MatchingRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 호스팅 중(MATCH_HOSTING)인 매칭의 위치를 메모리에 들고 있는 격자(grid) 인덱스
+ * 위/경도를 CELL_DEGREES 크기의 칸으로 나눠 칸마다 매칭을 담아두고,
+ * 주변 매칭 조회 시 반경에 걸치는 칸만 훑어서 DB 조회 없이 가까운 순으로 반환한다.
+ *
+ * 인덱스 변경은 트랜잭션 커밋 이후에 반영하여 롤백된 매칭이 남지 않도록 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchingSpatialIndex {
+    // 한 칸의 크기 (0.01도 ≒ 위도 방향 1.1km)
+    private static final double CELL_DEGREES = 0.01;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final MatchingRepository matchingRepository;
+
+    // matchId -> 위치 정보
+    private final Map<Long, IndexedMatch> matches = new ConcurrentHashMap<>();
+    // hostMemberId -> matchId (호스트당 호스팅 중인 매칭은 하나)
+    private final Map<Long, Long> matchIdsByHost = new ConcurrentHashMap<>();
+    // 칸 key -> 칸 안의 매칭들
+    private final Map<Long, Set<IndexedMatch>> cells = new ConcurrentHashMap<>();
+
+    /**
+     * 서버 기동 시 DB 에 남아있는 호스팅 중인 매칭으로 인덱스를 채운다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        matches.clear();
+        matchIdsByHost.clear();
+        cells.clear();
+        List<Matching> hostingMatchings = matchingRepository.findAllByMatchStatus(Matching.MatchStatus.MATCH_HOSTING);
+        for (Matching matching : hostingMatchings) {
+            put(new IndexedMatch(matching.getMatchId(), matching.getHostMemberId(),
+                    matching.getLatitude(), matching.getLongitude(), cellKey(matching.getLatitude(), matching.getLongitude())));
+        }
+        log.info("매칭 위치 인덱스 초기화 완료: {}건", matches.size());
+    }
+
+    /**
+     * 매칭 상태에 맞춰 인덱스를 갱신 (호스팅 중이면 추가/이동, 아니면 제거)
+     *
+     * @param matching 저장된 매칭
+     */
+    public void apply(Matching matching) {
+        long matchId = matching.getMatchId();
+        if (matching.getMatchStatus() != Matching.MatchStatus.MATCH_HOSTING) {
+            afterCommit(() -> remove(matchId));
+            return;
+        }
+        IndexedMatch indexedMatch = new IndexedMatch(matchId, matching.getHostMemberId(),
+                matching.getLatitude(), matching.getLongitude(), cellKey(matching.getLatitude(), matching.getLongitude()));
+        afterCommit(() -> put(indexedMatch));
+    }
+
+    /**
+     * 호스트 회원 기준으로 호스팅 중인 매칭을 인덱스에서 제거
+     *
+     * @param hostMemberId 호스트 회원 Id
+     */
+    public void removeByHostMemberId(long hostMemberId) {
+        afterCommit(() -> {
+            Long matchId = matchIdsByHost.get(hostMemberId);
+            if (matchId != null) {
+                remove(matchId);
+            }
+        });
+    }
+
+    /**
+     * 중심 좌표 기준 반경 안의 호스팅 중인 매칭을 가까운 순으로 조회
+     *
+     * @param latitude 중심 위도
+     * @param longitude 중심 경도
+     * @param radiusKm 반경(km)
+     * @param limit 최대 반환 개수
+     * @return 가까운 순으로 정렬된 매칭 목록
+     */
+    public List<NearbyMatch> findNearbyMatches(double latitude, double longitude, double radiusKm, int limit) {
+        if (limit <= 0 || radiusKm <= 0 || matches.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // 거리가 먼 것이 head 에 오도록 하여 limit 개만 유지 (k-nearest)
+        PriorityQueue<NearbyMatch> nearest =
+                new PriorityQueue<>(limit + 1, Comparator.comparingDouble(NearbyMatch::getDistanceKm).reversed());
+
+        double latSpan = radiusKm / KM_PER_DEGREE;
+        double lngSpan = radiusKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+        long minLatCell = cellIndex(latitude - latSpan, 90);
+        long maxLatCell = cellIndex(latitude + latSpan, 90);
+        long minLngCell = cellIndex(longitude - lngSpan, 180);
+        long maxLngCell = cellIndex(longitude + lngSpan, 180);
+
+        long cellCount = (maxLatCell - minLatCell + 1) * (maxLngCell - minLngCell + 1);
+        if (cellCount > matches.size()) {
+            // 훑어야 할 칸이 매칭 수보다 많으면 전체를 보는 편이 빠르다
+            for (IndexedMatch candidate : matches.values()) {
+                offer(nearest, candidate, latitude, longitude, radiusKm, limit);
+            }
+        } else {
+            for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (long lngCell = minLngCell; lngCell <= maxLngCell; lngCell++) {
+                    Set<IndexedMatch> cell = cells.get(toCellKey(latCell, lngCell));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (IndexedMatch candidate : cell) {
+                        offer(nearest, candidate, latitude, longitude, radiusKm, limit);
+                    }
+                }
+            }
+        }
+
+        List<NearbyMatch> result = new ArrayList<>(nearest);
+        result.sort(Comparator.comparingDouble(NearbyMatch::getDistanceKm));
+        return result;
+    }
+
+    public int size() {
+        return matches.size();
+    }
+
+    private void offer(PriorityQueue<NearbyMatch> nearest, IndexedMatch candidate,
+                       double latitude, double longitude, double radiusKm, int limit) {
+        double distanceKm = distanceKm(latitude, longitude, candidate.latitude, candidate.longitude);
+        if (distanceKm > radiusKm) {
+            return;
+        }
+        if (nearest.size() < limit) {
+            nearest.add(candidate.toNearbyMatch(distanceKm));
+        } else if (distanceKm < nearest.peek().getDistanceKm()) {
+            nearest.poll();
+            nearest.add(candidate.toNearbyMatch(distanceKm));
+        }
+    }
+
+    private void put(IndexedMatch indexedMatch) {
+        // 같은 매칭에 대한 갱신은 compute 로 직렬화하여 칸 이동 중 중복/유실이 없도록 한다
+        matches.compute(indexedMatch.matchId, (matchId, previous) -> {
+            if (previous != null) {
+                removeFromCell(previous);
+            }
+            addToCell(indexedMatch);
+            return indexedMatch;
+        });
+        matchIdsByHost.put(indexedMatch.hostMemberId, indexedMatch.matchId);
+    }
+
+    private void remove(long matchId) {
+        matches.computeIfPresent(matchId, (id, previous) -> {
+            removeFromCell(previous);
+            matchIdsByHost.remove(previous.hostMemberId, id);
+            return null;
+        });
+    }
+
+    // 칸 추가/제거 모두 cells.compute 안에서 하여, 비워진 칸이 map 에서 빠지는 사이에 추가된 매칭이 유실되지 않도록 한다
+    private void addToCell(IndexedMatch indexedMatch) {
+        cells.compute(indexedMatch.cellKey, (key, cell) -> {
+            Set<IndexedMatch> target = cell == null ? ConcurrentHashMap.newKeySet() : cell;
+            target.add(indexedMatch);
+            return target;
+        });
+    }
+
+    private void removeFromCell(IndexedMatch indexedMatch) {
+        cells.computeIfPresent(indexedMatch.cellKey, (key, cell) -> {
+            cell.remove(indexedMatch);
+            return cell.isEmpty() ? null : cell;
+        });
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return toCellKey(cellIndex(latitude, 90), cellIndex(longitude, 180));
+    }
+
+    private static long cellIndex(double degrees, double offset) {
+        return (long) Math.floor((degrees + offset) / CELL_DEGREES);
+    }
+
+    private static long toCellKey(long latCell, long lngCell) {
+        return (latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    // 하버사인 공식으로 두 좌표 사이의 거리(km) 계산
+    private static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    @AllArgsConstructor
+    private static final class IndexedMatch {
+        private final long matchId;
+        private final long hostMemberId;
+        private final double latitude;
+        private final double longitude;
+        private final long cellKey;
+
+        private NearbyMatch toNearbyMatch(double distanceKm) {
+            return new NearbyMatch(matchId, hostMemberId, latitude, longitude, distanceKm);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class NearbyMatch {
+        private long matchId;
+        private long hostMemberId;
+        private double latitude;
+        private double longitude;
+        private double distanceKm;
+    }
+}
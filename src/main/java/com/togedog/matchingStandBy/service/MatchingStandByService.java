@@ -1,5 +1,6 @@
 package com.togedog.matchingStandBy.service;
 
+import com.togedog.auth.principal.AuthenticatedMemberResolver;
 import com.togedog.eventListener.CustomEvent;
 import com.togedog.exception.BusinessLogicException;
 import com.togedog.exception.ExceptionCode;
@@ -8,7 +9,6 @@ import com.togedog.matching.repository.MatchingRepository;
 import com.togedog.matchingStandBy.entity.MatchingStandBy;
 import com.togedog.matchingStandBy.repository.MatchingStandByRepository;
 import com.togedog.member.entity.Member;
-import com.togedog.member.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
@@ -32,7 +32,7 @@ import static com.togedog.eventListener.EventCaseEnum.EventCase.*;
 @Transactional
 public class MatchingStandByService {
     private final MatchingStandByRepository repository;
-    private final MemberRepository memberRepository;
+    private final AuthenticatedMemberResolver authenticatedMemberResolver;
     private final MatchingRepository matchingRepository;
     private final ApplicationEventPublisher eventPublisher;
 
@@ -43,7 +43,7 @@ public class MatchingStandByService {
         lock.lock();
         try {
             MatchingStandBy matchingStandBy = new MatchingStandBy();
-            Member member = extractMemberFromAuthentication(authentication);
+            Member member = authenticatedMemberResolver.resolve(authentication);
             Matching matching = matchingRepository.findById(matchingId).orElseThrow(() ->
                     new BusinessLogicException(ExceptionCode.MATCH_NOT_FOUND));
             long hostMemberId = matching.getHostMember().getMemberId();
@@ -69,7 +69,7 @@ public class MatchingStandByService {
     public MatchingStandBy updateMatchingStandBy(MatchingStandBy matchingStandBy,Authentication authentication) {
         lock.lock();
         try {
-            Member member = extractMemberFromAuthentication(authentication);
+            Member member = authenticatedMemberResolver.resolve(authentication);
             //param으로 입력받은 id가 실제로 테이블에 존재하는지?
             MatchingStandBy findMatchingStandBy = repository.findById(matchingStandBy.getMatchingStandById()).orElseThrow(() ->
                     new BusinessLogicException(ExceptionCode.NOT_MATCH_HOST_MEMBER));
@@ -136,15 +136,15 @@ public class MatchingStandByService {
     }
 
     public List<MatchingStandBy> findHostMatchingStandBys(Authentication authentication) {
-        Member hostMember = extractMemberFromAuthentication(authentication);
+        Member hostMember = authenticatedMemberResolver.resolve(authentication);
         return repository.findAllByHostMemberIdAndStatus(hostMember.getMemberId(), MatchingStandBy.Status.STATUS_WAIT);
     }
     public List<MatchingStandBy> findGuestMatchingStandBys(Authentication authentication) {
-        Member guestMember = extractMemberFromAuthentication(authentication);
+        Member guestMember = authenticatedMemberResolver.resolve(authentication);
         return repository.findAllByGuestMemberAndStatus(guestMember, MatchingStandBy.Status.STATUS_WAIT);
     }
     public boolean findMatchAlreadyExists(long matchingId, Authentication authentication) {
-        Member guestMember = extractMemberFromAuthentication(authentication);
+        Member guestMember = authenticatedMemberResolver.resolve(authentication);
         Matching matching = matchingRepository.findById(matchingId).orElseThrow(() ->
                 new BusinessLogicException(ExceptionCode.MATCH_NOT_FOUND));
         return repository.findByHostMemberIdAndGuestMemberAndStatus(
@@ -153,10 +153,4 @@ public class MatchingStandByService {
                 MatchingStandBy.Status.STATUS_WAIT
         ).isPresent();
     }
-
-    private Member extractMemberFromAuthentication(Authentication authentication) {
-        String email = (String) authentication.getPrincipal();
-        return memberRepository.findByEmail(email)
-                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
-    }
 }
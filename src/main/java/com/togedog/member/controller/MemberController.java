@@ -1,6 +1,5 @@
 package com.togedog.member.controller;
 
-import com.togedog.auth.service.AuthService;
 import com.togedog.dto.MultiResponseDto;
 import com.togedog.dto.SingleResponseDto;
 import com.togedog.email.service.EmailVerificationService;
@@ -35,7 +34,6 @@ public class MemberController {
     private final FriendService friendService;
     private final MemberMapper memberMapper;
     private final EmailVerificationService emailVerificationService;
-    private final AuthService authService;
 
     // 이메일 인증코드 전송
     @PostMapping("/auth-code")
@@ -70,14 +68,7 @@ public class MemberController {
 
     @GetMapping("/member")
     public ResponseEntity getMember(Authentication authentication) {
-        String email = null;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
+        if (authentication == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         Member member = service.findMember(authentication);
@@ -90,14 +81,7 @@ public class MemberController {
     public ResponseEntity getMembers(@RequestParam @Positive int page,
                                      @RequestParam @Positive int size,
                                      Authentication authentication) {
-        String email = null;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
+        if (authentication == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         Page<Member> pageMembers = service.findMembers(page -1, size, authentication);
@@ -110,14 +94,7 @@ public class MemberController {
     @PatchMapping("/members")
     public ResponseEntity patchMember(Authentication authentication,
                                       @Valid @RequestBody MemberDto.Patch patch) {
-        String email = null;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
+        if (authentication == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         Member member = service.updateMember(memberMapper.memberPatchToMember(patch),authentication);
@@ -128,14 +105,7 @@ public class MemberController {
 
     @DeleteMapping("/members")
     public ResponseEntity deleteMember(Authentication authentication) {
-        String email = null;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
+        if (authentication == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         service.deleteMember(authentication);
@@ -146,14 +116,7 @@ public class MemberController {
     @PostMapping("/friends/{friend-email}")
     public ResponseEntity addFriend(@PathVariable("friend-email") String toEmail,
                                     Authentication authentication) {
-        String email = null;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
+        if (authentication == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         String fromEmail = authentication.getName();
@@ -165,14 +128,7 @@ public class MemberController {
     @PostMapping("/accept/{friend-id}")
     public ResponseEntity acceptFriendRequest(@PathVariable("friend-id") @Positive long friendId,
                                               Authentication authentication) {
-        String email = null;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
+        if (authentication == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         friendService.acceptFriendRequest(friendId, authentication);
@@ -183,14 +139,7 @@ public class MemberController {
     @DeleteMapping("/reject/{friend-id}")
     public ResponseEntity rejectFriendRequest(@PathVariable("friend-id") @Positive long friendId,
                                               Authentication authentication) {
-        String email = null;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
+        if (authentication == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         friendService.rejectFriendRequest(friendId, authentication);
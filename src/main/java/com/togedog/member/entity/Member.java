@@ -170,8 +170,6 @@ public class Member{
     // 엑세스 리프리시 토큰. key 쌍으로
     // h2 같은 인메모리방식, nosql
 
-    // 화면줌 마커정보 레디스 범위만큼 캐싱
-
     public Member(String email) {
         this.email = email;
     }
@@ -1,5 +1,6 @@
 package com.togedog.member.service;
 
+import com.togedog.auth.principal.AuthenticatedMemberResolver;
 import com.togedog.auth.utils.CustomAuthorityUtils;
 import com.togedog.exception.BusinessLogicException;
 import com.togedog.exception.ExceptionCode;
@@ -24,6 +25,7 @@ import java.util.Optional;
 @Transactional
 public class MemberService {
     private final MemberRepository memberRepository;
+    private final AuthenticatedMemberResolver authenticatedMemberResolver;
     private final PasswordEncoder passwordEncoder;
     private final CustomAuthorityUtils authorityUtils;
 
@@ -44,7 +46,7 @@ public class MemberService {
     }
 
     public Member findMember(Authentication authentication) {
-        Member member = extractMemberFromAuthentication(authentication);
+        Member member = authenticatedMemberResolver.resolve(authentication);
         return member;
     }
 
@@ -54,7 +56,7 @@ public class MemberService {
     }
 
     public Member updateMember(Member member, Authentication authentication) {
-        Member authenticatedMember = extractMemberFromAuthentication(authentication);
+        Member authenticatedMember = authenticatedMemberResolver.resolve(authentication);
 
         Optional.ofNullable(member.getPhone())
                 .ifPresent(phone -> authenticatedMember.setPhone(phone));
@@ -81,7 +83,7 @@ public class MemberService {
     }
 
     public void deleteMember(Authentication authentication) {
-        Member authenticatedMember = extractMemberFromAuthentication(authentication);
+        Member authenticatedMember = authenticatedMemberResolver.resolve(authentication);
         authenticatedMember.setStatus(Member.memberStatus.DELETED);
         memberRepository.save(authenticatedMember);
     }
@@ -115,27 +117,6 @@ public class MemberService {
 //        }
 //    }
 
-    private Member extractMemberFromAuthentication(Authentication authentication) {
-        /**
-         * 첫 번째 if 블록에서는 메서드로 전달된 authentication 객체가 null인 경우,
-         * SecurityContextHolder에서 인증 정보를 가져오려고 시도.
-         * 두 번째 if 블록에서는 authentication이 여전히 null인 경우,
-         * 사용자에게 인증되지 않았음을 알리고, 처리할 수 있도록 예외를 발생시킴.
-         */
-//        if (authentication == null) {
-//            authentication = SecurityContextHolder.getContext().getAuthentication();
-//        }
-//
-//        if (authentication == null) {
-//            throw new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND);
-//        }
-
-        String username = (String) authentication.getPrincipal();
-
-        return memberRepository.findByEmail(username)
-                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
-    }
-
     public List<Member> createChatRoomForCustomEvent(List<Long> memberIds) {
         return memberRepository.findByMemberIdOrMemberId(memberIds.get(0),memberIds.get(1));
     }
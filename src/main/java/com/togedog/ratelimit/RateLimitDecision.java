@@ -0,0 +1,18 @@
+package com.togedog.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RateLimitDecision {
+    public static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0);
+
+    private final boolean allowed;
+    // 거절된 경우 다시 시도할 수 있을 때까지의 시간
+    private final long retryAfterMillis;
+
+    public static RateLimitDecision rejected(long retryAfterMillis) {
+        return new RateLimitDecision(false, retryAfterMillis);
+    }
+}
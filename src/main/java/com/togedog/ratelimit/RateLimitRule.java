@@ -0,0 +1,62 @@
+package com.togedog.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 경로 패턴 하나에 적용할 요청 제한
+ * - pattern: Ant 스타일 경로 패턴, method 가 null 이면 모든 메서드
+ * - limits: 함께 적용할 토큰 버킷 (회원별 / IP별), 하나라도 부족하면 거절
+ */
+@Getter
+@Builder
+public class RateLimitRule {
+    public enum KeyType {
+        // 인증된 회원 (비로그인 요청은 IP 로 대신한다)
+        USER,
+        IP
+    }
+
+    private final String name;
+    private final HttpMethod method;
+    private final String pattern;
+    @Singular
+    private final List<Limit> limits;
+
+    /**
+     * period 동안 capacity 만큼 채워지는 버킷
+     * leaseSize: 노드가 Redis 버킷에서 한번에 가져와 로컬에서 나눠 쓰는 토큰 수
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Limit {
+        private final KeyType keyType;
+        private final long capacity;
+        private final Duration period;
+        private final long leaseSize;
+
+        public static Limit perUser(long capacity, Duration period) {
+            return new Limit(KeyType.USER, capacity, period, defaultLeaseSize(capacity));
+        }
+
+        public static Limit perIp(long capacity, Duration period) {
+            return new Limit(KeyType.IP, capacity, period, defaultLeaseSize(capacity));
+        }
+
+        public double getRefillPerMillis() {
+            return (double) capacity / period.toMillis();
+        }
+
+        // 용량의 5% (최소 1): 여러 노드가 나눠 가져도 버킷 대부분은 Redis 에 남는다
+        private static long defaultLeaseSize(long capacity) {
+            return Math.max(1, capacity / 20);
+        }
+    }
+}
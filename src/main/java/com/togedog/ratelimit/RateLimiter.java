@@ -0,0 +1,221 @@
+package com.togedog.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 경로별 토큰 버킷 요청 제한
+ *
+ * 버킷의 원본은 Redis 에 있고, 요청에 해당하는 버킷들을 하나의 Lua 스크립트 호출로 함께 계산한다.
+ * 노드는 버킷에서 토큰을 한번에 여러 개(leaseSize) 가져와 로컬에서 나눠 쓰므로 대부분의 요청은 Redis 를 거치지 않는다.
+ * - 가져온 토큰은 전역 버킷에서 이미 빠졌으므로 노드가 여러 개여도 제한을 넘지 않는다. (쓰지 못하고 만료된 토큰만큼 덜 허용)
+ * - 거절된 키는 다시 시도할 수 있을 때까지 로컬에서 바로 거절하여, 과도한 요청이 Redis 부하로 이어지지 않는다.
+ * - Redis 장애 시에는 요청을 막지 않는다.
+ */
+@Slf4j
+public class RateLimiter {
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // KEYS[i]: 버킷 키, ARGV[1]: 현재 시각(ms), ARGV[2+3(i-1)..]: 용량, ms 당 충전량, 요청 토큰 수
+    // 반환: 버킷마다 {가져간 토큰 수, 거절 시 재시도까지 ms}
+    private static final RedisScript<List<Long>> ACQUIRE_SCRIPT = longListScript(
+            "local now = tonumber(ARGV[1]) " +
+            "local result = {} " +
+            "for i, key in ipairs(KEYS) do " +
+            "  local base = 2 + (i - 1) * 3 " +
+            "  local capacity = tonumber(ARGV[base]) " +
+            "  local refill = tonumber(ARGV[base + 1]) " +
+            "  local requested = tonumber(ARGV[base + 2]) " +
+            "  local bucket = redis.call('HMGET', key, 'tokens', 'ts') " +
+            "  local tokens = tonumber(bucket[1]) or capacity " +
+            "  local ts = tonumber(bucket[2]) or now " +
+            "  tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill) " +
+            "  local granted = math.min(requested, math.floor(tokens)) " +
+            "  tokens = tokens - granted " +
+            "  redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', tostring(math.max(ts, now))) " +
+            "  redis.call('PEXPIRE', key, math.ceil((capacity - tokens) / refill) + 1000) " +
+            "  local retryAfter = 0 " +
+            "  if granted == 0 then retryAfter = math.ceil((1 - tokens) / refill) end " +
+            "  result[#result + 1] = granted " +
+            "  result[#result + 1] = retryAfter " +
+            "end " +
+            "return result");
+
+    // Lua 가 정수 배열을 반환하는 스크립트 (List.class 로는 원소 타입을 나타낼 수 없어 여기서 한번만 캐스팅한다)
+    @SuppressWarnings("unchecked")
+    private static RedisScript<List<Long>> longListScript(String script) {
+        return new DefaultRedisScript<>(script, (Class<List<Long>>) (Class<?>) List.class);
+    }
+
+    private final List<RateLimitRule> rules;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long leaseMillis;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Cache<String, LocalBucket> localBuckets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    public RateLimiter(List<RateLimitRule> rules, StringRedisTemplate stringRedisTemplate, long leaseMillis) {
+        this.rules = rules;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * @param method 요청 메서드
+     * @param path 요청 경로
+     * @return 적용할 제한 (없으면 null)
+     */
+    public RateLimitRule findRule(String method, String path) {
+        for (RateLimitRule rule : rules) {
+            if ((rule.getMethod() == null || rule.getMethod().matches(method)) && pathMatcher.match(rule.getPattern(), path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 요청 하나에 대해 규칙의 모든 버킷에서 토큰을 하나씩 사용
+     *
+     * @param rule 적용할 제한
+     * @param username 인증 회원 이메일 (비로그인이면 null)
+     * @param ip 요청 IP
+     */
+    public RateLimitDecision acquire(RateLimitRule rule, String username, String ip) {
+        return acquire(rule, username, ip, System.currentTimeMillis());
+    }
+
+    RateLimitDecision acquire(RateLimitRule rule, String username, String ip, long now) {
+        List<RateLimitRule.Limit> limits = rule.getLimits();
+        List<LocalBucket> buckets = new ArrayList<>(limits.size());
+        List<LocalBucket> taken = new ArrayList<>(limits.size());
+        List<Integer> missing = new ArrayList<>();
+
+        for (int i = 0; i < limits.size(); i++) {
+            RateLimitRule.Limit limit = limits.get(i);
+            String subject = limit.getKeyType() == RateLimitRule.KeyType.USER && username != null
+                    ? "u:" + username : "ip:" + ip;
+            String key = KEY_PREFIX + rule.getName() + ":" + i + ":" + subject;
+            LocalBucket bucket = localBuckets.get(key, LocalBucket::new);
+            buckets.add(bucket);
+            if (bucket.tryTake(now)) {
+                taken.add(bucket);
+                continue;
+            }
+            // 로컬 토큰을 다 쓴 뒤에만 거절 상태를 본다 (거절 전에 가져온 토큰은 끝까지 쓴다)
+            long blockedFor = bucket.blockedFor(now);
+            if (blockedFor > 0) {
+                release(taken);
+                return RateLimitDecision.rejected(blockedFor);
+            }
+            missing.add(i);
+        }
+
+        if (!missing.isEmpty()) {
+            RateLimitDecision decision = lease(limits, buckets, missing, taken, now);
+            if (!decision.isAllowed()) {
+                // 다른 버킷에서 가져간 토큰은 거절된 요청이 쓰지 않았으므로 돌려준다
+                release(taken);
+                return decision;
+            }
+        }
+        return RateLimitDecision.ALLOWED;
+    }
+
+    private static void release(List<LocalBucket> taken) {
+        for (LocalBucket bucket : taken) {
+            bucket.release();
+        }
+    }
+
+    // 로컬 토큰이 없는 버킷들을 Redis 에서 한번에 채우고, 채운 버킷에서 이번 요청의 토큰을 하나씩 가져간다
+    private RateLimitDecision lease(List<RateLimitRule.Limit> limits, List<LocalBucket> buckets,
+                                    List<Integer> missing, List<LocalBucket> taken, long now) {
+        List<String> keys = new ArrayList<>(missing.size());
+        List<String> args = new ArrayList<>(1 + missing.size() * 3);
+        args.add(String.valueOf(now));
+        for (int i : missing) {
+            RateLimitRule.Limit limit = limits.get(i);
+            keys.add(buckets.get(i).key);
+            args.add(String.valueOf(limit.getCapacity()));
+            args.add(String.valueOf(limit.getRefillPerMillis()));
+            args.add(String.valueOf(limit.getLeaseSize()));
+        }
+
+        List<Long> result;
+        try {
+            result = stringRedisTemplate.execute(ACQUIRE_SCRIPT, keys, args.toArray());
+        } catch (DataAccessException e) {
+            log.warn("요청 제한 확인 실패, 요청을 허용합니다: {}", e.getMessage());
+            return RateLimitDecision.ALLOWED;
+        }
+
+        long retryAfterMillis = 0;
+        for (int j = 0; j < missing.size(); j++) {
+            LocalBucket bucket = buckets.get(missing.get(j));
+            long granted = result.get(j * 2);
+            if (granted > 0) {
+                bucket.refillAndTake(granted, now + leaseMillis);
+                taken.add(bucket);
+            } else {
+                long retryAfter = result.get(j * 2 + 1);
+                bucket.block(now + retryAfter);
+                retryAfterMillis = Math.max(retryAfterMillis, retryAfter);
+            }
+        }
+        return retryAfterMillis > 0 ? RateLimitDecision.rejected(retryAfterMillis) : RateLimitDecision.ALLOWED;
+    }
+
+    // 노드가 Redis 버킷에서 가져온 토큰 (leaseMillis 가 지나면 남은 토큰은 버린다)
+    private static class LocalBucket {
+        private final String key;
+        private long tokens;
+        private long leaseExpiresAt;
+        private long blockedUntil;
+
+        LocalBucket(String key) {
+            this.key = key;
+        }
+
+        synchronized long blockedFor(long now) {
+            return Math.max(0, blockedUntil - now);
+        }
+
+        // 토큰 확인과 사용을 한번에 (확인 후 사용 사이에 다른 요청이 같은 토큰을 가져가지 않도록)
+        synchronized boolean tryTake(long now) {
+            if (now >= leaseExpiresAt) {
+                tokens = 0;
+            }
+            if (tokens == 0) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        synchronized void release() {
+            tokens++;
+        }
+
+        synchronized void refillAndTake(long granted, long expiresAt) {
+            tokens += granted - 1;
+            leaseExpiresAt = expiresAt;
+        }
+
+        synchronized void block(long until) {
+            blockedUntil = until;
+        }
+    }
+}
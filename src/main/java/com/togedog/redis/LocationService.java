@@ -1,93 +1,54 @@
-
 package com.togedog.redis;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.togedog.exception.CacheOperationException;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
 
 import java.io.IOException;
 
-import java.time.LocalDateTime;
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
-
+@Slf4j
 @Service
 @RequiredArgsConstructor
-@CacheConfig(cacheManager = "caffeineCacheManager") // JVM 캐시 (1차 캐시)
+@CacheConfig(cacheManager = "nearCacheManager") // L1 Caffeine + L2 Redis, 노드 간 무효화
 public class LocationService {
+    public static final String LOCATION_CACHE = "locationCache";
+    public static final String USER_LOCATION_CACHE = "userLocationCache";
+    // LOCATION_CACHE 의 Redis key prefix (아래 key SpEL 과 맞춰야 한다)
+    public static final String LOCATION_KEY_PREFIX = "location:";
+    public static final long TTL_SECONDS = 10000;
+
     private final RedisTemplate<String, Object> redisTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    private static final long TTL_SECONDS = 10000;
-
-    // 자동 캐싱 + Redis 수동 저장
-    @CachePut(value = "locationCache", key = "'location:' + #userEmail")
+    // L1 에 즉시 저장, L2(Redis)는 쓰기 지연 버퍼가 사용자별 마지막 위치만 모아 일괄 기록 (WriteBehindRedisCache)
+    @CachePut(value = LOCATION_CACHE, key = "'location:' + #userEmail")
     public Location saveLocationCache(String userEmail, double latitude, double longitude) {
-        System.out.println("📦 @CachePut - JVM 저장: " + userEmail);
-        Location location = new Location(latitude, longitude);
-
-        // Redis에도 수동 저장
-        try {
-            String redisKey = "location:" + userEmail;
-            String redisValue = objectMapper.writeValueAsString(location);
-            redisTemplate.opsForValue().set(redisKey, redisValue);
-            redisTemplate.expire(redisKey, TTL_SECONDS, TimeUnit.SECONDS);
-            System.out.println("Redis 수동 저장 완료: " + redisKey);
-        } catch (JsonProcessingException e) {
-            System.err.println("Redis 직렬화 오류: " + e.getMessage());
-        } catch (Exception e) {
-            System.err.println("Redis 저장 실패: " + e.getMessage());
-
-        }
-
-        return location;
+        return new Location(latitude, longitude);
     }
 
-    // JVM 캐시 (1차 조회)
-    @Cacheable(value = "locationCache", key = "'location:' + #userEmail")
+    // L1 -> L2 순으로 조회, 두 계층 모두 없을 때만 실행된다
+    @Cacheable(value = LOCATION_CACHE, key = "'location:' + #userEmail", unless = "#result == null")
     public Location getLocationCache(String userEmail) {
-        System.out.println("getLocationCache() 메서드 진입: " + userEmail);
-        System.out.println("@Cacheable - JVM 캐시 미스: " + userEmail);
-
-        // Redis에서 직접 조회 시도
-        try {
-            String redisKey = "location:" + userEmail;
-            String redisValue = (String) redisTemplate.opsForValue().get(redisKey);
-            if (redisValue != null) {
-                System.out.println("Redis 직접 조회 성공: " + redisKey);
-                return objectMapper.readValue(redisValue, Location.class);
-            }
-        } catch (IOException e) {
-            System.err.println("Redis 역직렬화 실패: " + e.getMessage());
-        }
-
+        log.debug("위치 캐시 미스: {}", userEmail);
         return null;
     }
 
-    @CacheEvict(value = "locationCache", key = "'location:' + #userEmail")
+    // L1/L2 삭제 후 다른 노드의 L1 도 무효화
+    @CacheEvict(value = LOCATION_CACHE, key = "'location:' + #userEmail")
     public void deleteLocationCache(String userEmail) {
-        System.out.println("🧹 JVM 캐시 삭제: " + userEmail);
-
-        // Redis도 삭제
-        try {
-            String redisKey = "location:" + userEmail;
-            redisTemplate.delete(redisKey);
-            System.out.println("🧹 Redis 삭제 완료: " + redisKey);
-        } catch (Exception e) {
-            System.err.println("Redis 삭제 실패: " + e.getMessage());
-        }
     }
 
     // 수동 캐싱 방식
@@ -119,7 +80,7 @@ public class LocationService {
      * 사용자 위치 정보를 Redis에서 조회
      * - 캐싱 적용 (Spring Cache 사용)
      */
-    @Cacheable(value = "userLocationCache", key = "T(String).format('userLocation:%s:%s', #locationKey, #userEmail)", unless = "#result == null")
+    @Cacheable(value = USER_LOCATION_CACHE, key = "#locationKey + ':' + #userEmail", unless = "#result == null")
     public Location getLocation(String locationKey, String userEmail) {
         try {
             String finalKey = locationKey + ":" + userEmail;
@@ -151,7 +112,7 @@ public class LocationService {
     /**
      * 특정 사용자 위치 데이터 삭제 (캐시 무효화)
      */
-    @CacheEvict(value = "userLocationCache", key = "#locationKey + ':' + #userEmail")
+    @CacheEvict(value = USER_LOCATION_CACHE, key = "#locationKey + ':' + #userEmail")
     public void deleteLocation(String locationKey, String userEmail) {
         try {
             String finalKey = locationKey + ":" + userEmail;
@@ -162,4 +123,12 @@ public class LocationService {
         }
     }
 
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Location {
+        private double latitude;
+        private double longitude;
+    }
 }
@@ -0,0 +1,249 @@
+package com.togedog.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 위치 정보 Redis 쓰기 지연(write-behind) 버퍼
+ * 위치 갱신 요청마다 Redis 에 바로 쓰지 않고 사용자별 마지막 위치만 모아두었다가,
+ * 전용 flusher 스레드가 주기적으로 SET ... EX 를 파이프라인으로 묶어 한번에 기록한다.
+ * 같은 사용자의 위치가 flush 전에 여러 번 들어오면 마지막 값만 남는다.
+ */
+@Slf4j
+@Component
+public class LocationWriteBehindBuffer {
+    private final RedisTemplate<String, LocationService.Location> locationRedisTemplate;
+
+    @Value("${location.write-behind.flush-interval-millis:200}")
+    private long flushIntervalMillis;
+
+    // 파이프라인 한번에 보낼 최대 명령 수, 대기 건수가 이 값을 넘으면 주기를 기다리지 않고 flush
+    @Value("${location.write-behind.batch-size:500}")
+    private int batchSize;
+
+    // redis key -> 마지막 위치
+    private final Map<String, PendingWrite> pending = new ConcurrentHashMap<>();
+    // 배치 기록이 끝난 key 목록을 받는 리스너 (다른 노드 캐시 무효화 등)
+    private final List<Consumer<List<String>>> flushListeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "location-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LocationWriteBehindBuffer(RedisTemplate<String, LocationService.Location> locationRedisTemplate) {
+        this.locationRedisTemplate = locationRedisTemplate;
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flush(); // 종료 전 남은 위치 기록
+    }
+
+    public void addFlushListener(Consumer<List<String>> listener) {
+        flushListeners.add(listener);
+    }
+
+    /**
+     * 위치 쓰기 예약 (이전에 예약된 같은 key 의 값은 덮어쓴다)
+     *
+     * @param key redis key
+     * @param value 저장할 위치
+     * @param ttlSeconds 만료 시간(초)
+     */
+    public void enqueue(String key, LocationService.Location value, long ttlSeconds) {
+        pending.put(key, new PendingWrite(value, ttlSeconds));
+        if (pending.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * 위치 조회 (아직 Redis 에 기록되지 않은 값이 있으면 그 값이 최신)
+     *
+     * @return 위치, 없으면 null
+     */
+    public LocationService.Location get(String key) {
+        PendingWrite write = pending.get(key);
+        if (write != null) {
+            return write.value;
+        }
+        return locationRedisTemplate.opsForValue().get(key);
+    }
+
+    /**
+     * 대기 중인 쓰기를 취소하고 Redis 에서도 삭제
+     * 진행 중인 flush 가 삭제 이후에 값을 되살리지 않도록 flush 와 직렬화한다.
+     */
+    public void delete(String key) {
+        flushLock.lock();
+        try {
+            pending.remove(key);
+            locationRedisTemplate.delete(key);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * prefix 로 시작하는 key 를 모두 삭제 (대기 중인 쓰기 취소 후 SCAN + UNLINK)
+     * KEYS 로 Redis 를 붙잡지 않도록 SCAN 으로 나눠 찾고, 삭제는 UNLINK 로 Redis 백그라운드 스레드에 맡긴다.
+     * delete 와 같이 flush 와 직렬화하여 진행 중인 flush 가 지운 값을 되살리지 않도록 한다.
+     *
+     * @return Redis 에서 삭제한 key 수
+     */
+    public long deleteByPrefix(String prefix) {
+        flushLock.lock();
+        try {
+            pending.keySet().removeIf(key -> key.startsWith(prefix));
+            long deleted = 0;
+            List<String> batch = new ArrayList<>(batchSize);
+            ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(1000).build();
+            try (Cursor<String> cursor = locationRedisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == batchSize) {
+                        deleted += unlink(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                deleted += unlink(batch);
+            }
+            return deleted;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private long unlink(List<String> keys) {
+        Long unlinked = locationRedisTemplate.unlink(keys);
+        return unlinked == null ? 0 : unlinked;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 대기 중인 위치를 batchSize 단위 파이프라인으로 기록
+     *
+     * @return 기록한 건수
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            int written = 0;
+            List<Map.Entry<String, PendingWrite>> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+            Iterator<String> keys = pending.keySet().iterator();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                PendingWrite write = pending.remove(key);
+                if (write == null) {
+                    continue;
+                }
+                batch.add(Map.entry(key, write));
+                if (batch.size() == batchSize) {
+                    written += write(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                written += write(batch);
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int write(List<Map.Entry<String, PendingWrite>> batch) {
+        try {
+            locationRedisTemplate.executePipelined(new SessionCallback<List<Object>>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> List<Object> execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    // 콜백은 locationRedisTemplate 자신을 받으므로 키/값 타입이 같다
+                    RedisOperations<String, LocationService.Location> locationOperations =
+                            (RedisOperations<String, LocationService.Location>) operations;
+                    for (Map.Entry<String, PendingWrite> entry : batch) {
+                        PendingWrite write = entry.getValue();
+                        locationOperations.opsForValue().set(entry.getKey(), write.value, write.ttlSeconds, TimeUnit.SECONDS);
+                    }
+                    return null;
+                }
+            });
+        } catch (DataAccessException e) {
+            // 실패한 값은 다시 대기열에 넣되, 그 사이 들어온 최신 위치가 있으면 그 값을 유지
+            for (Map.Entry<String, PendingWrite> entry : batch) {
+                pending.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+            throw e;
+        }
+
+        if (!flushListeners.isEmpty()) {
+            List<String> keys = new ArrayList<>(batch.size());
+            for (Map.Entry<String, PendingWrite> entry : batch) {
+                keys.add(entry.getKey());
+            }
+            for (Consumer<List<String>> listener : flushListeners) {
+                listener.accept(keys);
+            }
+        }
+        return batch.size();
+    }
+
+    private void flushQuietly() {
+        try {
+            int written = flush();
+            if (written > 0) {
+                log.debug("위치 {}건 Redis 기록", written);
+            }
+        } catch (Exception e) {
+            log.warn("위치 write-behind flush 실패: {}", e.getMessage());
+        }
+    }
+
+    private static final class PendingWrite {
+        private final LocationService.Location value;
+        private final long ttlSeconds;
+
+        private PendingWrite(LocationService.Location value, long ttlSeconds) {
+            this.value = value;
+            this.ttlSeconds = ttlSeconds;
+        }
+    }
+}
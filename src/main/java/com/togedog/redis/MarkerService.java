@@ -1,64 +1,315 @@
 package com.togedog.redis;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.togedog.eventListener.CustomEvent;
 import lombok.*;
-import org.springframework.cache.annotation.CacheEvict;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.domain.geo.GeoReference;
+import org.springframework.data.redis.domain.geo.GeoShape;
+import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.stereotype.Service;
 
-import javax.persistence.Cacheable;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+
+import static com.togedog.eventListener.EventCaseEnum.EventCase.INVALIDATE_MARKER_TILES;
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MarkerService {
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 값은 고정 배치 바이너리로 저장 (MarkerRedisSerializer)
+    private final RedisTemplate<String, Marker> markerRedisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final long TTL_SECONDS = 259200;  // 3일
 
+    public static final String MARKER_KEY_PREFIX = "marker:";
+    // 마커 위치 GEO 인덱스 (member = 사용자 이메일)
+    public static final String MARKER_GEO_KEY = "markers:geo";
+    // 마커별 만료 시각 인덱스 (score = 만료 epoch millis), GEO 셋은 member 단위 TTL이 없어서 따로 관리
+    public static final String MARKER_EXPIRY_KEY = "markers:expiry";
+
+    private static final double KM_PER_DEGREE = 111.32;
+    // MGET 한번에 담을 최대 키 수 (너무 큰 단일 명령으로 Redis 가 오래 붙잡히지 않도록)
+    private static final int MGET_BATCH_SIZE = 500;
+
     public Marker getMarker(String markerKey) {
         try {
             // Redis에서 값 가져오기
-            String markerValue = (String) redisTemplate.opsForValue().get(markerKey);
-            if (markerValue == null) {
+            Marker marker = markerRedisTemplate.opsForValue().get(markerKey);
+            if (marker == null) {
                 return null;
             }
-            // JSON을 Marker 객체로 변환
-            Marker marker = objectMapper.readValue(markerValue, Marker.class);
-            marker.setEmail(markerKey); // 마커 키 정보 설정
+            marker.setEmail(toMember(markerKey)); // 반경/영역 조회와 같이 이메일로 식별
             return marker;
-        } catch (IOException e) {
-            e.printStackTrace();
+        } catch (SerializationException e) {
+            log.warn("마커 역직렬화 실패: {}", markerKey, e);
             return null;
         }
     }
 
-    public Set<String> getKeysByPattern(String pattern) {
-        return redisTemplate.keys(pattern);
+    /**
+     * 여러 마커를 한번에 조회 (MGET, 키가 많으면 묶음 단위로 나눠 파이프라인 전송)
+     * 키마다 GET 을 날리면 마커 수만큼 왕복이 생기므로 목록 조회는 이 메서드를 사용한다.
+     *
+     * @param markerKeys marker:{email} 형식의 키 목록
+     * @return 존재하는 마커 목록 (만료/삭제된 키는 제외), 키 순서 유지, email 은 키가 아닌 사용자 이메일
+     */
+    public List<Marker> getMarkers(Collection<String> markerKeys) {
+        if (markerKeys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> keys = new ArrayList<>(markerKeys);
+        List<Object> values = new ArrayList<>(keys.size());
+        if (keys.size() <= MGET_BATCH_SIZE) {
+            List<Marker> result = markerRedisTemplate.opsForValue().multiGet(keys);
+            if (result != null) {
+                values.addAll(result);
+            }
+        } else {
+            List<Object> chunks = markerRedisTemplate.executePipelined(new SessionCallback<List<Object>>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> List<Object> execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Marker> markerOperations = (RedisOperations<String, Marker>) operations;
+                    for (int from = 0; from < keys.size(); from += MGET_BATCH_SIZE) {
+                        int to = Math.min(from + MGET_BATCH_SIZE, keys.size());
+                        markerOperations.opsForValue().multiGet(keys.subList(from, to));
+                    }
+                    return null;
+                }
+            });
+            for (Object chunk : chunks) {
+                values.addAll((List<?>) chunk);
+            }
+        }
+
+        List<Marker> markers = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size() && i < values.size(); i++) {
+            Marker marker = (Marker) values.get(i);
+            if (marker == null) {
+                continue;
+            }
+            marker.setEmail(toMember(keys.get(i))); // getMarker 와 동일하게 이메일로 식별
+            markers.add(marker);
+        }
+        return markers;
+    }
+
+    /**
+     * 만료되지 않은 마커의 키 목록 조회
+     * KEYS 대신 만료 인덱스에서 현재 시각 이후 score 만 읽는다.
+     *
+     * @return marker:{email} 형식의 키 목록
+     */
+    public List<String> getActiveMarkerKeys() {
+        Set<String> members = stringRedisTemplate.opsForZSet()
+                .rangeByScore(MARKER_EXPIRY_KEY, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        List<String> markerKeys = new ArrayList<>(members == null ? 0 : members.size());
+        if (members != null) {
+            for (String member : members) {
+                markerKeys.add(MARKER_KEY_PREFIX + member);
+            }
+        }
+        return markerKeys;
+    }
+
+    /**
+     * 중심 좌표 기준 반경 안의 마커 조회 (GEOSEARCH BYRADIUS, 1회 왕복)
+     *
+     * @param latitude 중심 위도
+     * @param longitude 중심 경도
+     * @param radiusKm 반경(km)
+     * @param limit 최대 반환 개수, 가까운 순으로 자른다
+     * @return 반경 안의 마커 목록
+     */
+    public List<Marker> findMarkersInRadius(double latitude, double longitude, double radiusKm, int limit) {
+        GeoResults<RedisGeoCommands.GeoLocation<String>> results = stringRedisTemplate.opsForGeo().search(
+                MARKER_GEO_KEY,
+                GeoReference.fromCoordinate(longitude, latitude),
+                GeoShape.byRadius(new Distance(radiusKm, Metrics.KILOMETERS)),
+                geoSearchArgs(limit));
+        return toMarkers(results, null);
+    }
+
+    /**
+     * 화면 영역(남서/북동 좌표) 안의 마커 조회 (GEOSEARCH BYBOX, 1회 왕복)
+     * BYBOX 는 중심점 기준 가로/세로 거리로 검색하므로 적도에 가까운 경계 기준으로 넉넉히 찾고
+     * 경계 밖 결과는 좌표로 한번 더 걸러낸다.
+     *
+     * @return 영역 안의 마커 목록
+     */
+    public List<Marker> findMarkersInBox(double southWestLat, double southWestLng,
+                                         double northEastLat, double northEastLng, int limit) {
+        return searchMarkersInBox(southWestLat, southWestLng, northEastLat, northEastLng, limit).getMarkers();
+    }
+
+    /**
+     * findMarkersInBox 와 같으나, GEOSEARCH 가 limit 에서 잘렸는지(영역 안에 마커가 더 있을 수 있는지)를 함께 반환
+     * 경계 밖 결과를 걸러내기 전의 개수로 판단하므로 걸러진 뒤 limit 보다 적어도 잘렸을 수 있다.
+     */
+    public MarkerSearchResult searchMarkersInBox(double southWestLat, double southWestLng,
+                                                 double northEastLat, double northEastLng, int limit) {
+        double centerLat = (southWestLat + northEastLat) / 2;
+        double centerLng = (southWestLng + northEastLng) / 2;
+        double heightKm = (northEastLat - southWestLat) * KM_PER_DEGREE;
+        double widestCos = (southWestLat <= 0 && northEastLat >= 0) ? 1
+                : Math.max(Math.cos(Math.toRadians(southWestLat)), Math.cos(Math.toRadians(northEastLat)));
+        double widthKm = (northEastLng - southWestLng) * KM_PER_DEGREE * widestCos;
+
+        GeoResults<RedisGeoCommands.GeoLocation<String>> results = stringRedisTemplate.opsForGeo().search(
+                MARKER_GEO_KEY,
+                GeoReference.fromCoordinate(centerLng, centerLat),
+                GeoShape.byBox(widthKm, heightKm, RedisGeoCommands.DistanceUnit.KILOMETERS),
+                geoSearchArgs(limit));
+        boolean truncated = results != null && results.getContent().size() >= limit;
+        return new MarkerSearchResult(
+                toMarkers(results, new double[]{southWestLat, southWestLng, northEastLat, northEastLng}), truncated);
     }
-//사용자의 마커 데이터를 저장 (기존 데이터 삭제 후 갱신)
-public void saveMarker(String markerKey, double latitude, double longitude, String userEmail) {
-    try {
+
+    //사용자의 마커 데이터를 저장 (기존 데이터 덮어쓰기)
+    public void saveMarker(String markerKey, double latitude, double longitude, String userEmail) {
         Marker marker = new Marker(userEmail, latitude, longitude);
-        String markerValue = objectMapper.writeValueAsString(marker);
+        String member = toMember(markerKey);
+        long expireAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TTL_SECONDS);
 
-        deleteMarker(markerKey); // 기존 데이터 삭제
-        redisTemplate.opsForValue().set(markerKey, markerValue);
-        redisTemplate.expire(markerKey, TTL_SECONDS, TimeUnit.SECONDS);
-    } catch (JsonProcessingException e) {
-        e.printStackTrace();
+        // SET EX 가 기존 값을 덮어쓰므로 선삭제 불필요, GEO / 만료 인덱스는 파이프라인으로 한번에 기록
+        // (GEOPOS 가 먼저 실행되므로 이동 전 위치를 함께 받아 타일 캐시 무효화에 사용)
+        markerRedisTemplate.opsForValue().set(markerKey, marker, TTL_SECONDS, TimeUnit.SECONDS);
+        List<Object> results = stringRedisTemplate.executePipelined(new SessionCallback<List<Object>>() {
+            @Override
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> stringOperations = stringOperations(operations);
+                stringOperations.opsForGeo().position(MARKER_GEO_KEY, member);
+                stringOperations.opsForGeo().add(MARKER_GEO_KEY, new Point(longitude, latitude), member);
+                stringOperations.opsForZSet().add(MARKER_EXPIRY_KEY, member, expireAt);
+                return null;
+            }
+        });
+        List<Marker> changed = toMarkers(member, results.get(0));
+        changed.add(marker);
+        publishMarkerChanged(changed);
     }
-}
 
     public void deleteMarker(String markerKey) {
-        if (Boolean.TRUE.equals(redisTemplate.hasKey(markerKey))) {
-            redisTemplate.delete(markerKey);
+        String member = toMember(markerKey);
+        markerRedisTemplate.delete(markerKey);
+        List<Object> results = stringRedisTemplate.executePipelined(new SessionCallback<List<Object>>() {
+            @Override
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> stringOperations = stringOperations(operations);
+                stringOperations.opsForGeo().position(MARKER_GEO_KEY, member);
+                stringOperations.opsForZSet().remove(MARKER_GEO_KEY, member);
+                stringOperations.opsForZSet().remove(MARKER_EXPIRY_KEY, member);
+                return null;
+            }
+        });
+        publishMarkerChanged(toMarkers(member, results.get(0)));
+    }
+
+    /**
+     * 만료 시각이 지난 마커를 GEO / 만료 인덱스에서 제거
+     * 값 키(marker:{email})는 Redis TTL 로 이미 사라지므로 인덱스만 정리한다.
+     *
+     * @return 제거된 마커 수
+     */
+    public int purgeExpiredMarkers() {
+        Set<String> expired = stringRedisTemplate.opsForZSet()
+                .rangeByScore(MARKER_EXPIRY_KEY, 0, System.currentTimeMillis());
+        if (expired == null || expired.isEmpty()) {
+            return 0;
+        }
+        String[] members = expired.toArray(new String[0]);
+        List<Object> results = stringRedisTemplate.executePipelined(new SessionCallback<List<Object>>() {
+            @Override
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> stringOperations = stringOperations(operations);
+                stringOperations.opsForGeo().position(MARKER_GEO_KEY, members);
+                stringOperations.opsForZSet().remove(MARKER_GEO_KEY, members);
+                stringOperations.opsForZSet().remove(MARKER_EXPIRY_KEY, members);
+                return null;
+            }
+        });
+        publishMarkerChanged(toMarkers(members, results.get(0)));
+        return members.length;
+    }
+
+    // 파이프라인 콜백은 템플릿의 키/값 타입을 잃으므로 stringRedisTemplate 과 같은 타입으로 되돌린다
+    @SuppressWarnings("unchecked")
+    private static RedisOperations<String, String> stringOperations(RedisOperations<?, ?> operations) {
+        return (RedisOperations<String, String>) operations;
+    }
+
+    private RedisGeoCommands.GeoSearchCommandArgs geoSearchArgs(int limit) {
+        return RedisGeoCommands.GeoSearchCommandArgs.newGeoSearchArgs()
+                .includeCoordinates()
+                .sortAscending()
+                .limit(limit);
+    }
+
+    private List<Marker> toMarkers(GeoResults<RedisGeoCommands.GeoLocation<String>> results, double[] bounds) {
+        if (results == null) {
+            return new ArrayList<>();
+        }
+        List<Marker> markers = new ArrayList<>(results.getContent().size());
+        for (GeoResult<RedisGeoCommands.GeoLocation<String>> result : results) {
+            RedisGeoCommands.GeoLocation<String> location = result.getContent();
+            Point point = location.getPoint();
+            if (bounds != null && (point.getY() < bounds[0] || point.getX() < bounds[1]
+                    || point.getY() > bounds[2] || point.getX() > bounds[3])) {
+                continue;
+            }
+            markers.add(new Marker(location.getName(), point.getY(), point.getX()));
+        }
+        return markers;
+    }
+
+    // GEOPOS 결과를 마커 목록으로 변환 (위치가 없는 member 는 제외)
+    private List<Marker> toMarkers(Object member, Object positions) {
+        return toMarkers(new Object[]{member}, positions);
+    }
+
+    private List<Marker> toMarkers(Object[] members, Object positions) {
+        List<Marker> markers = new ArrayList<>(members.length + 1);
+        if (!(positions instanceof List)) {
+            return markers;
+        }
+        List<?> points = (List<?>) positions;
+        for (int i = 0; i < members.length && i < points.size(); i++) {
+            Object point = points.get(i);
+            if (point instanceof Point) {
+                markers.add(new Marker((String) members[i], ((Point) point).getY(), ((Point) point).getX()));
+            }
+        }
+        return markers;
+    }
+
+    // 위치가 바뀐(추가/이동/삭제) 마커를 알려 타일 캐시를 부분 무효화
+    private void publishMarkerChanged(List<Marker> changed) {
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new CustomEvent(this, INVALIDATE_MARKER_TILES, changed));
         }
     }
 
+    private String toMember(String markerKey) {
+        return markerKey.startsWith(MARKER_KEY_PREFIX) ? markerKey.substring(MARKER_KEY_PREFIX.length()) : markerKey;
+    }
+
 
     @Getter
     @Setter
@@ -69,4 +320,12 @@ public void saveMarker(String markerKey, double latitude, double longitude, Stri
         private double latitude;
         private double longitude;
     }
+
+    @Getter
+    @AllArgsConstructor
+    public static class MarkerSearchResult {
+        private List<Marker> markers;
+        // limit 에서 잘려 일부만 담겼으면 true
+        private boolean truncated;
+    }
 }
@@ -0,0 +1,180 @@
+package com.togedog.redis;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.togedog.exception.BusinessLogicException;
+import com.togedog.exception.ExceptionCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지도 화면 줌 단계별 마커 타일 캐시
+ * 웹 메르카토르 타일 좌표 (zoom, x, y) 단위로 마커를 캐싱하고,
+ * 낮은 줌(넓은 화면)에서는 타일을 격자로 나눠 묶은 클러스터(개수 + 중심 좌표)를,
+ * 높은 줌에서는 개별 마커를 그대로 반환한다.
+ *
+ * 마커가 추가/이동/삭제되면 해당 좌표가 걸친 타일만 줌 단계별로 무효화한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MarkerTileService {
+    public static final int MIN_ZOOM = 0;
+    public static final int MAX_ZOOM = 21;
+    // 이 줌 미만에서는 클러스터로 반환
+    public static final int CLUSTER_MAX_ZOOM = 15;
+    // 클러스터링 시 타일 한 변을 나누는 칸 수 (256px 타일 기준 32px 칸)
+    private static final int CLUSTER_GRID_SIZE = 8;
+    // 타일 하나를 만들 때 읽어올 최대 마커 수 (넘으면 MarkerTile.truncated 로 알린다)
+    private static final int TILE_MARKER_LIMIT = 20000;
+
+    private final MarkerService markerService;
+
+    // 만료(TTL)로 사라진 마커는 무효화 이벤트가 늦을 수 있으므로 짧은 TTL 을 함께 둔다
+    private final Cache<String, MarkerTile> tileCache = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterWrite(60, TimeUnit.SECONDS)
+            .build();
+
+    /**
+     * 타일 조회 (캐시 미스 시 GEO 인덱스에서 타일 영역을 읽어 생성)
+     *
+     * @param zoom 줌 단계
+     * @param tileX 타일 x 좌표
+     * @param tileY 타일 y 좌표
+     * @return 클러스터 또는 개별 마커가 담긴 타일
+     */
+    public MarkerTile getTile(int zoom, int tileX, int tileY) {
+        verifyTile(zoom, tileX, tileY);
+        return tileCache.get(tileKey(zoom, tileX, tileY), key -> loadTile(zoom, tileX, tileY));
+    }
+
+    /**
+     * 변경된 마커 좌표가 걸친 타일을 모든 줌 단계에서 무효화
+     *
+     * @param markers 이동 전/후 또는 삭제된 마커 좌표
+     */
+    public void invalidate(Collection<MarkerService.Marker> markers) {
+        List<String> keys = new ArrayList<>(markers.size() * (MAX_ZOOM - MIN_ZOOM + 1));
+        for (MarkerService.Marker marker : markers) {
+            for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+                keys.add(tileKey(zoom, tileX(marker.getLongitude(), zoom), tileY(marker.getLatitude(), zoom)));
+            }
+        }
+        tileCache.invalidateAll(keys);
+    }
+
+    private MarkerTile loadTile(int zoom, int tileX, int tileY) {
+        double north = tileLatitude(tileY, zoom);
+        double south = tileLatitude(tileY + 1, zoom);
+        double west = tileLongitude(tileX, zoom);
+        double east = tileLongitude(tileX + 1, zoom);
+
+        MarkerService.MarkerSearchResult result =
+                markerService.searchMarkersInBox(south, west, north, east, TILE_MARKER_LIMIT);
+        List<MarkerService.Marker> markers = result.getMarkers();
+        if (zoom >= CLUSTER_MAX_ZOOM) {
+            return new MarkerTile(zoom, tileX, tileY, false, markers.size(), result.isTruncated(),
+                    new ArrayList<>(), markers);
+        }
+        return new MarkerTile(zoom, tileX, tileY, true, markers.size(), result.isTruncated(),
+                cluster(markers, north, south, west, east), new ArrayList<>());
+    }
+
+    // 타일을 CLUSTER_GRID_SIZE x CLUSTER_GRID_SIZE 칸으로 나눠 칸마다 개수와 중심 좌표를 집계
+    private List<MarkerCluster> cluster(List<MarkerService.Marker> markers,
+                                        double north, double south, double west, double east) {
+        int cellCount = CLUSTER_GRID_SIZE * CLUSTER_GRID_SIZE;
+        int[] counts = new int[cellCount];
+        double[] latitudeSums = new double[cellCount];
+        double[] longitudeSums = new double[cellCount];
+        double latitudeStep = (north - south) / CLUSTER_GRID_SIZE;
+        double longitudeStep = (east - west) / CLUSTER_GRID_SIZE;
+
+        for (MarkerService.Marker marker : markers) {
+            int row = clamp((int) ((north - marker.getLatitude()) / latitudeStep));
+            int column = clamp((int) ((marker.getLongitude() - west) / longitudeStep));
+            int cell = row * CLUSTER_GRID_SIZE + column;
+            counts[cell]++;
+            latitudeSums[cell] += marker.getLatitude();
+            longitudeSums[cell] += marker.getLongitude();
+        }
+
+        List<MarkerCluster> clusters = new ArrayList<>();
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (counts[cell] > 0) {
+                clusters.add(new MarkerCluster(counts[cell],
+                        latitudeSums[cell] / counts[cell], longitudeSums[cell] / counts[cell]));
+            }
+        }
+        return clusters;
+    }
+
+    private int clamp(int index) {
+        return Math.max(0, Math.min(CLUSTER_GRID_SIZE - 1, index));
+    }
+
+    private void verifyTile(int zoom, int tileX, int tileY) {
+        if (zoom < MIN_ZOOM || zoom > MAX_ZOOM) {
+            throw new BusinessLogicException(ExceptionCode.INVALID_MARKER_QUERY);
+        }
+        int tileCount = 1 << zoom;
+        if (tileX < 0 || tileX >= tileCount || tileY < 0 || tileY >= tileCount) {
+            throw new BusinessLogicException(ExceptionCode.INVALID_MARKER_QUERY);
+        }
+    }
+
+    private static String tileKey(int zoom, int tileX, int tileY) {
+        return zoom + "/" + tileX + "/" + tileY;
+    }
+
+    static int tileX(double longitude, int zoom) {
+        int tileCount = 1 << zoom;
+        int x = (int) Math.floor((longitude + 180) / 360 * tileCount);
+        return Math.max(0, Math.min(tileCount - 1, x));
+    }
+
+    static int tileY(double latitude, int zoom) {
+        int tileCount = 1 << zoom;
+        double latitudeRad = Math.toRadians(latitude);
+        int y = (int) Math.floor((1 - Math.log(Math.tan(latitudeRad) + 1 / Math.cos(latitudeRad)) / Math.PI) / 2 * tileCount);
+        return Math.max(0, Math.min(tileCount - 1, y));
+    }
+
+    static double tileLongitude(int tileX, int zoom) {
+        return (double) tileX / (1 << zoom) * 360 - 180;
+    }
+
+    static double tileLatitude(int tileY, int zoom) {
+        double n = Math.PI - 2 * Math.PI * tileY / (1 << zoom);
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class MarkerTile {
+        private int zoom;
+        private int tileX;
+        private int tileY;
+        private boolean clustered;
+        private int markerCount;
+        // TILE_MARKER_LIMIT 에서 잘려 markerCount / 클러스터 개수가 실제보다 적을 수 있으면 true
+        private boolean truncated;
+        private List<MarkerCluster> clusters;
+        private List<MarkerService.Marker> markers;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class MarkerCluster {
+        private int count;
+        private double latitude;
+        private double longitude;
+    }
+}
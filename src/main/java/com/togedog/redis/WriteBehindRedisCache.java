@@ -0,0 +1,95 @@
+package com.togedog.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 쓰기 지연 버퍼를 통해 Redis 에 기록하는 위치 캐시 (2계층 캐시의 L2 로 사용)
+ * 캐시 키를 그대로 Redis key 로 사용하고, 값 직렬화는 버퍼의 위치 전용 템플릿이 맡는다.
+ * 이 캐시의 키는 모두 keyPrefix 로 시작해야 하며, 전체 삭제는 그 prefix 의 key 만 지운다.
+ * 조회 시에는 아직 기록되지 않은 값을 먼저 확인하여 자신이 쓴 최신 값을 읽는다.
+ */
+@Slf4j
+public class WriteBehindRedisCache implements Cache {
+    private final String name;
+    private final LocationWriteBehindBuffer writeBehindBuffer;
+    private final String keyPrefix;
+    private final long ttlSeconds;
+
+    public WriteBehindRedisCache(String name, LocationWriteBehindBuffer writeBehindBuffer,
+                                 String keyPrefix, long ttlSeconds) {
+        this.name = name;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.keyPrefix = keyPrefix;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return writeBehindBuffer;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        try {
+            LocationService.Location location = writeBehindBuffer.get(String.valueOf(key));
+            return location == null ? null : new SimpleValueWrapper(location);
+        } catch (SerializationException e) {
+            log.warn("Redis 역직렬화 실패 ({}): {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        return wrapper == null ? null : (T) wrapper.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        try {
+            T value = valueLoader.call();
+            put(key, value);
+            return value;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        writeBehindBuffer.enqueue(String.valueOf(key), (LocationService.Location) value, ttlSeconds);
+    }
+
+    @Override
+    public void evict(Object key) {
+        writeBehindBuffer.delete(String.valueOf(key));
+    }
+
+    // 대기 중인 쓰기를 버리고 keyPrefix 의 key 를 삭제 (L1 은 NearCache 가 이어서 비운다)
+    @Override
+    public void clear() {
+        long deleted = writeBehindBuffer.deleteByPrefix(keyPrefix);
+        log.info("캐시 {} 전체 삭제: Redis key {}건", name, deleted);
+    }
+}
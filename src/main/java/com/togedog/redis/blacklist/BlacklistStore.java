@@ -0,0 +1,161 @@
+package com.togedog.redis.blacklist;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 블랙리스트 (폐기된 토큰 해시, 차단한 식별자 등)
+ *
+ * - Redis 에는 blacklist:{항목} 키로 저장하고, 항목이 원래 만료되는 시각에 맞춰 키도 만료된다.
+ *   (값은 항상 문자열이며 템플릿 설정을 바꾸지 않는다)
+ * - 각 노드는 항목을 Bloom filter 로 들고 있어서 블랙리스트에 없는 대부분의 조회는 Redis 를 거치지 않는다.
+ *   Bloom filter 가 있다고 답한 항목만 Redis 에서 확인한다. (오탐 확인용)
+ * - 다른 노드의 추가는 pub/sub 으로 받고, 메시지 유실과 만료된 항목 정리를 위해 주기적으로 Redis 에서 다시 만든다.
+ */
+@Slf4j
+@Component
+public class BlacklistStore implements MessageListener {
+    static final String CHANNEL = "blacklist:added";
+    private static final String KEY_PREFIX = "blacklist:";
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long expectedEntries;
+
+    private volatile BloomFilter filter;
+    // 다시 만드는 중인 filter (그 사이의 추가도 함께 반영)
+    private volatile BloomFilter rebuilding;
+
+    public BlacklistStore(StringRedisTemplate stringRedisTemplate,
+                          RedisMessageListenerContainer listenerContainer,
+                          @Value("${blacklist.expected-entries:100000}") long expectedEntries) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.expectedEntries = expectedEntries;
+        this.filter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        rebuild();
+    }
+
+    /**
+     * @param entry 차단할 항목
+     * @param expiresAt 항목이 원래 만료되는 시각 (이후에는 블랙리스트에 둘 필요가 없다)
+     */
+    public void add(String entry, Instant expiresAt) {
+        long ttlMillis = expiresAt.toEpochMilli() - System.currentTimeMillis();
+        if (ttlMillis <= 0) {
+            return;
+        }
+        // Redis 에 먼저 기록해야 다시 만드는 중인 filter 가 이 항목을 놓치지 않는다
+        stringRedisTemplate.opsForValue().set(KEY_PREFIX + entry, "1", ttlMillis, TimeUnit.MILLISECONDS);
+        putLocal(entry);
+        stringRedisTemplate.convertAndSend(CHANNEL, entry);
+    }
+
+    public boolean remove(String entry) {
+        // Bloom filter 에서는 지울 수 없으므로 다음 재생성 전까지는 Redis 확인으로 걸러진다
+        return Boolean.TRUE.equals(stringRedisTemplate.delete(KEY_PREFIX + entry));
+    }
+
+    public boolean isBlacklisted(String entry) {
+        if (!filter.mightContain(entry)) {
+            return false;
+        }
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(KEY_PREFIX + entry));
+    }
+
+    /**
+     * 여러 항목을 한번에 확인 (Bloom filter 를 통과한 항목만 한번의 MGET 으로 확인)
+     *
+     * @return 항목 -> 블랙리스트 여부 (입력 순서 유지)
+     */
+    public Map<String, Boolean> isBlacklisted(Collection<String> entries) {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        List<String> candidates = new ArrayList<>();
+        BloomFilter current = filter;
+        for (String entry : entries) {
+            boolean candidate = current.mightContain(entry);
+            result.put(entry, false);
+            if (candidate) {
+                candidates.add(entry);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return result;
+        }
+
+        List<String> keys = new ArrayList<>(candidates.size());
+        for (String candidate : candidates) {
+            keys.add(KEY_PREFIX + candidate);
+        }
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; i < candidates.size(); i++) {
+            if (values != null && values.get(i) != null) {
+                result.put(candidates.get(i), true);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Redis 의 현재 항목으로 filter 를 다시 만든다. (만료된 항목 정리, 유실된 메시지 보정)
+     */
+    public synchronized void rebuild() {
+        BloomFilter fresh = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+        rebuilding = fresh;
+        long count = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                fresh.put(cursor.next().substring(KEY_PREFIX.length()));
+                count++;
+            }
+        } catch (RuntimeException e) {
+            rebuilding = null;
+            log.warn("블랙리스트 filter 재생성 실패, 기존 filter 를 유지합니다: {}", e.getMessage());
+            return;
+        }
+        filter = fresh;
+        rebuilding = null;
+        if (count > expectedEntries) {
+            log.warn("블랙리스트 항목 수({})가 예상치({})를 넘어 오탐이 늘어납니다.", count, expectedEntries);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        putLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    // 재생성 중인 filter 를 먼저 확인해야 교체 직전의 추가가 새 filter 에서 빠지지 않는다
+    private void putLocal(String entry) {
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(entry);
+        }
+        filter.put(entry);
+    }
+}
@@ -0,0 +1,71 @@
+package com.togedog.redis.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.interceptor.CacheOperation;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 기동 시 @Cacheable / @CachePut / @CacheEvict 에서 사용하는 캐시 이름이
+ * {@link NearCacheManager} 에 등록되어 있는지 검사하고, 없으면 기동을 중단한다.
+ * (등록되지 않은 이름은 첫 호출 시점에야 오류가 나기 때문에 미리 확인)
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheNameVerifier implements SmartInitializingSingleton {
+    private static final String BASE_PACKAGE = "com.togedog.";
+    private static final String CACHE_MANAGER_BEAN = "nearCacheManager";
+
+    private final ApplicationContext applicationContext;
+    private final NearCacheManager nearCacheManager;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        AnnotationCacheOperationSource operationSource = new AnnotationCacheOperationSource();
+        Collection<String> cacheNames = nearCacheManager.getCacheNames();
+        List<String> errors = new ArrayList<>();
+
+        for (String beanName : applicationContext.getBeanDefinitionNames()) {
+            Class<?> beanType = applicationContext.getType(beanName, false);
+            if (beanType == null) {
+                continue;
+            }
+            Class<?> userClass = ClassUtils.getUserClass(beanType);
+            if (!userClass.getName().startsWith(BASE_PACKAGE)) {
+                continue;
+            }
+            for (Method method : ReflectionUtils.getUniqueDeclaredMethods(userClass)) {
+                Collection<CacheOperation> operations = operationSource.getCacheOperations(method, userClass);
+                if (operations == null) {
+                    continue;
+                }
+                for (CacheOperation operation : operations) {
+                    String location = userClass.getSimpleName() + "." + method.getName();
+                    if (StringUtils.hasText(operation.getCacheManager())
+                            && !CACHE_MANAGER_BEAN.equals(operation.getCacheManager())) {
+                        errors.add(location + ": 알 수 없는 캐시 매니저 " + operation.getCacheManager());
+                    }
+                    for (String cacheName : operation.getCacheNames()) {
+                        if (!cacheNames.contains(cacheName)) {
+                            errors.add(location + ": 등록되지 않은 캐시 " + cacheName);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("캐시 설정 오류 " + errors + ", 등록된 캐시: " + cacheNames);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.togedog.redis.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 이름 있는 캐시 하나의 설정
+ * - tiers: 사용할 계층 (LOCAL: 노드 로컬 Caffeine, REMOTE: Redis)
+ * - maximumWeight / weigher: L1 최대 용량과 항목당 무게(대략적인 byte)
+ * - ttl: L2 만료 시간 (localTtl 을 따로 주지 않으면 L1 도 같은 시간)
+ * - refreshAhead: L1 항목이 이 시간보다 오래되면 조회 시 L2 에서 비동기로 다시 읽는다
+ *   (pub/sub 무효화 메시지가 유실되어도 L1 이 오래된 값을 계속 들고 있지 않도록)
+ * - serializer: L2 값 직렬화 방식
+ * - remoteCache: 기본 RedisCache 대신 사용할 L2 (쓰기 지연 저장소 등, 이 경우 serializer 는 L2 가 직접 정한다)
+ */
+@Getter
+@Builder
+public class CacheSpec {
+    public enum Tier {
+        LOCAL,
+        REMOTE
+    }
+
+    // 키(UTF-16) + 항목/노드 오버헤드 + 값 크기로 무게를 어림한다
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final String name;
+
+    @Builder.Default
+    private final Set<Tier> tiers = EnumSet.of(Tier.LOCAL, Tier.REMOTE);
+
+    @Builder.Default
+    private final long maximumWeight = 16L * 1024 * 1024;
+
+    @Builder.Default
+    private final Weigher<String, Object> weigher = estimatedBytes(256);
+
+    @Builder.Default
+    private final Duration ttl = Duration.ofMinutes(10);
+
+    private final Duration localTtl;
+
+    private final Duration refreshAhead;
+
+    @Builder.Default
+    private final RedisSerializer<?> serializer = new GenericJackson2JsonRedisSerializer();
+
+    private final Cache remoteCache;
+
+    public boolean hasTier(Tier tier) {
+        return tiers.contains(tier);
+    }
+
+    public Duration getLocalTtl() {
+        return localTtl == null ? ttl : localTtl;
+    }
+
+    /**
+     * 값 크기가 거의 일정한 캐시용 무게 계산
+     *
+     * @param valueBytes 값 하나의 대략적인 크기(byte)
+     */
+    public static Weigher<String, Object> estimatedBytes(int valueBytes) {
+        return (key, value) -> ENTRY_OVERHEAD_BYTES + key.length() * 2 + valueBytes;
+    }
+}
@@ -0,0 +1,178 @@
+package com.togedog.redis.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+
+/**
+ * 2계층 캐시 (L1: 노드 로컬 Caffeine, L2: 노드 간 공유 Redis)
+ * - 조회: L1 -> L2 순으로 찾고, L2 에서 찾은 값은 L1 에 채운다
+ * - 저장/삭제: L2 에 먼저 반영한 뒤 L1 을 갱신하고, 다른 노드의 L1 을 무효화하도록 알린다
+ *
+ * L2 쓰기가 지연 기록(write-behind)인 경우 저장 시점에는 알리지 않는다.
+ * 다른 노드가 아직 기록되지 않은 L2 의 이전 값을 다시 읽어 L1 에 채울 수 있기 때문에,
+ * 그런 L2 는 실제 기록 후 {@link NearCacheManager#publishInvalidation} 으로 직접 알린다.
+ * 키는 L2(Redis) 와 같이 문자열로 통일하여 다루며, null 값은 캐싱하지 않는다.
+ * 설정에 따라 한 계층만 사용할 수도 있다 (사용하지 않는 계층은 null).
+ */
+public class NearCache extends AbstractValueAdaptingCache {
+    private final CacheSpec spec;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final Cache remoteCache;
+    private final boolean publishOnWrite;
+    private final NearCacheManager cacheManager;
+    private final TierStatistics localStatistics;
+    private final TierStatistics remoteStatistics = new TierStatistics();
+
+    NearCache(CacheSpec spec, com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+              TierStatistics localStatistics, Cache remoteCache, NearCacheManager cacheManager) {
+        super(false);
+        this.spec = spec;
+        this.localCache = localCache;
+        this.localStatistics = localStatistics;
+        this.remoteCache = remoteCache;
+        this.publishOnWrite = spec.getRemoteCache() == null;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return spec.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache != null ? localCache : remoteCache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = cacheKey(key);
+        if (localCache != null) {
+            Object value = localCache.getIfPresent(cacheKey);
+            if (value != null) {
+                localStatistics.recordHit();
+                return value;
+            }
+            localStatistics.recordMiss();
+        }
+        if (remoteCache == null) {
+            return null;
+        }
+
+        ValueWrapper wrapper = remoteCache.get(cacheKey);
+        if (wrapper == null || wrapper.get() == null) {
+            remoteStatistics.recordMiss();
+            return null;
+        }
+        remoteStatistics.recordHit();
+        if (localCache != null) {
+            localCache.put(cacheKey, wrapper.get());
+        }
+        return wrapper.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (loaded != null) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = cacheKey(key);
+        if (remoteCache != null) {
+            remoteCache.put(cacheKey, toStoreValue(value));
+        }
+        if (localCache != null) {
+            localCache.put(cacheKey, toStoreValue(value));
+        }
+        if (publishOnWrite) {
+            cacheManager.publishInvalidation(getName(), Collections.singletonList(cacheKey));
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = cacheKey(key);
+        if (remoteCache != null) {
+            remoteCache.evict(cacheKey);
+            remoteStatistics.recordEvictions(1);
+        }
+        if (localCache != null) {
+            localCache.invalidate(cacheKey);
+            localStatistics.recordEvictions(1);
+        }
+        cacheManager.publishInvalidation(getName(), Collections.singletonList(cacheKey));
+    }
+
+    @Override
+    public void clear() {
+        if (remoteCache != null) {
+            remoteCache.clear();
+        }
+        clearLocal();
+        cacheManager.publishInvalidation(getName(), null);
+    }
+
+    // 다른 노드에서 변경된 키를 L1 에서만 제거
+    void evictLocal(Collection<String> keys) {
+        if (localCache != null) {
+            localCache.invalidateAll(keys);
+            localStatistics.recordEvictions(keys.size());
+        }
+    }
+
+    void clearLocal() {
+        if (localCache != null) {
+            localStatistics.recordEvictions(localCache.estimatedSize());
+            localCache.invalidateAll();
+        }
+    }
+
+    public Statistics getStatistics() {
+        long localSize = 0;
+        long localWeight = 0;
+        if (localCache != null) {
+            localSize = localCache.estimatedSize();
+            localWeight = localCache.policy().eviction()
+                    .map(eviction -> eviction.weightedSize().orElse(0L))
+                    .orElse(0L);
+        }
+        return new Statistics(spec.getTiers().toString(), localSize, localWeight, spec.getMaximumWeight(),
+                localStatistics.snapshot(), remoteStatistics.snapshot());
+    }
+
+    private static String cacheKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Statistics {
+        private String tiers;
+        private long localSize;
+        private long localWeight;
+        private long localMaximumWeight;
+        private TierStatistics.Snapshot local;
+        private TierStatistics.Snapshot remote;
+    }
+}
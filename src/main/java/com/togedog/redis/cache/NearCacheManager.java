@@ -0,0 +1,195 @@
+package com.togedog.redis.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Caffeine(L1) + Redis(L2) 2계층 캐시 매니저
+ * 애플리케이션의 모든 캐시는 {@link CacheSpec} 으로 등록된 것만 사용할 수 있으며,
+ * 등록되지 않은 이름은 null 을 반환한다 (기동 시 {@link CacheNameVerifier} 가 미리 검사).
+ *
+ * 캐시 변경 시 Redis pub/sub 채널로 무효화 메시지를 보내고,
+ * 메시지를 받은 다른 노드는 자신의 L1 에서 해당 키를 제거하여 오래된 값을 반환하지 않도록 한다.
+ * 자신이 보낸 메시지는 nodeId 로 걸러낸다.
+ * pub/sub 메시지는 유실될 수 있으므로 refreshAhead 또는 L1 TTL 이 오래된 값이 남을 수 있는 최대 시간이 된다.
+ */
+@Slf4j
+public class NearCacheManager implements CacheManager, MessageListener {
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 등록 후 변경되지 않으므로 동기화 없이 읽는다
+    private final Map<String, NearCache> caches;
+
+    public NearCacheManager(List<CacheSpec> specs, RedisConnectionFactory redisConnectionFactory,
+                            StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+
+        Map<String, CacheSpec> specsByName = new LinkedHashMap<>();
+        for (CacheSpec spec : specs) {
+            if (specsByName.put(spec.getName(), spec) != null) {
+                throw new IllegalStateException("캐시 설정이 중복되었습니다: " + spec.getName());
+            }
+            if (spec.getTiers().isEmpty()) {
+                throw new IllegalStateException("캐시 계층이 지정되지 않았습니다: " + spec.getName());
+            }
+        }
+
+        RedisCacheManager redisCacheManager = redisCacheManager(specsByName.values(), redisConnectionFactory);
+        Map<String, NearCache> created = new LinkedHashMap<>();
+        for (CacheSpec spec : specsByName.values()) {
+            created.put(spec.getName(), createCache(spec, redisCacheManager));
+        }
+        this.caches = Collections.unmodifiableMap(created);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return caches.keySet();
+    }
+
+    /**
+     * 다른 노드의 L1 에서 키 제거 요청
+     *
+     * @param cacheName 캐시 이름
+     * @param keys 제거할 키, null 이면 캐시 전체
+     */
+    public void publishInvalidation(String cacheName, Collection<String> keys) {
+        try {
+            List<String> keyList = keys == null ? null : new ArrayList<>(keys);
+            String message = objectMapper.writeValueAsString(new Invalidation(nodeId, cacheName, keyList));
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (Exception e) {
+            log.warn("캐시 무효화 메시지 발행 실패 ({}): {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Invalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), Invalidation.class);
+        } catch (IOException e) {
+            log.warn("캐시 무효화 메시지 해석 실패: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(invalidation.getNodeId())) {
+            return;
+        }
+        NearCache cache = caches.get(invalidation.getCacheName());
+        if (cache == null) {
+            return;
+        }
+        if (invalidation.getKeys() == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.getKeys());
+        }
+    }
+
+    /**
+     * 캐시별 계층 통계
+     *
+     * @return 캐시 이름 -> 계층별 통계
+     */
+    public Map<String, NearCache.Statistics> getStatistics() {
+        Map<String, NearCache.Statistics> statistics = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> statistics.put(name, cache.getStatistics()));
+        return statistics;
+    }
+
+    // REMOTE 계층을 쓰면서 L2 를 따로 지정하지 않은 캐시들의 RedisCache 생성
+    private static RedisCacheManager redisCacheManager(Collection<CacheSpec> specs,
+                                                       RedisConnectionFactory redisConnectionFactory) {
+        Map<String, RedisCacheConfiguration> configurations = new HashMap<>();
+        for (CacheSpec spec : specs) {
+            if (!spec.hasTier(CacheSpec.Tier.REMOTE) || spec.getRemoteCache() != null) {
+                continue;
+            }
+            configurations.put(spec.getName(), RedisCacheConfiguration.defaultCacheConfig()
+                    .entryTtl(spec.getTtl())
+                    .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(spec.getSerializer()))
+                    .disableCachingNullValues());
+        }
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .withInitialCacheConfigurations(configurations)
+                .disableCreateOnMissingCache()
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        return redisCacheManager;
+    }
+
+    private NearCache createCache(CacheSpec spec, RedisCacheManager redisCacheManager) {
+        Cache remoteCache = null;
+        if (spec.hasTier(CacheSpec.Tier.REMOTE)) {
+            remoteCache = spec.getRemoteCache() != null ? spec.getRemoteCache() : redisCacheManager.getCache(spec.getName());
+        }
+
+        TierStatistics localStatistics = new TierStatistics();
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache = null;
+        if (spec.hasTier(CacheSpec.Tier.LOCAL)) {
+            Caffeine<String, Object> builder = Caffeine.newBuilder()
+                    .maximumWeight(spec.getMaximumWeight())
+                    .weigher(spec.getWeigher())
+                    .expireAfterWrite(spec.getLocalTtl())
+                    .removalListener((key, value, cause) -> {
+                        // 명시적 삭제는 NearCache 에서 직접 센다
+                        if (cause.wasEvicted()) {
+                            localStatistics.recordEvictions(1);
+                        }
+                    });
+            if (spec.getRefreshAhead() != null && remoteCache != null) {
+                Cache source = remoteCache;
+                localCache = builder.refreshAfterWrite(spec.getRefreshAhead())
+                        .build(key -> {
+                            Cache.ValueWrapper wrapper = source.get(key);
+                            return wrapper == null ? null : wrapper.get();
+                        });
+            } else {
+                localCache = builder.build();
+            }
+        }
+        return new NearCache(spec, localCache, localStatistics, remoteCache, this);
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Invalidation {
+        private String nodeId;
+        private String cacheName;
+        private List<String> keys;
+    }
+}
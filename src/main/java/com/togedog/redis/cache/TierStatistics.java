@@ -0,0 +1,49 @@
+package com.togedog.redis.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 캐시 계층(L1 Caffeine / L2 Redis) 하나의 적중/미스/제거 카운터
+ */
+public class TierStatistics {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordEvictions(long count) {
+        evictions.add(count);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private long hits;
+        private long misses;
+        private long evictions;
+
+        public double getHitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hit=%d miss=%d eviction=%d hitRate=%.2f", hits, misses, evictions, getHitRate());
+        }
+    }
+}
@@ -1,25 +1,19 @@
-// ✅ Redis 전용 캐시 매니저 설정 (Caffeine과 분리)
-
 package com.togedog.redis.config;
 
+import com.togedog.redis.LocationService;
+import com.togedog.redis.MarkerService;
+import com.togedog.redis.serializer.LocationRedisSerializer;
+import com.togedog.redis.serializer.MarkerRedisSerializer;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
-import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
-
 @Configuration
 public class RedisConfig {
 
@@ -34,31 +28,6 @@ public class RedisConfig {
         return new LettuceConnectionFactory(host, port);
     }
 
-    @Bean("redisCacheManager")
-    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory) {
-        StringRedisSerializer keySerializer = new StringRedisSerializer();
-        Jackson2JsonRedisSerializer<Object> valueSerializer = new Jackson2JsonRedisSerializer<>(Object.class);
-
-        RedisCacheConfiguration locationCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(30))
-                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(keySerializer))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer));
-
-        RedisCacheConfiguration tokenCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(30))
-                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(keySerializer))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer))
-                .prefixCacheNameWith("token:");
-
-        Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
-        cacheConfigs.put("location", locationCacheConfig);
-        cacheConfigs.put("token", tokenCacheConfig);
-
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .withInitialCacheConfigurations(cacheConfigs)
-                .build();
-    }
-
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -68,4 +37,24 @@ public class RedisConfig {
         return template;
 
     }
+
+    // 자주 쓰는 값 타입은 고정 배치 바이너리로 저장 (이전 JSON 값도 읽을 수 있음)
+    @Bean
+    public RedisTemplate<String, LocationService.Location> locationRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        return compactTemplate(redisConnectionFactory, new LocationRedisSerializer());
+    }
+
+    @Bean
+    public RedisTemplate<String, MarkerService.Marker> markerRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        return compactTemplate(redisConnectionFactory, new MarkerRedisSerializer());
+    }
+
+    private static <T> RedisTemplate<String, T> compactTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                                RedisSerializer<T> valueSerializer) {
+        RedisTemplate<String, T> template = new RedisTemplate<>();
+        template.setConnectionFactory(redisConnectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(valueSerializer);
+        return template;
+    }
 }
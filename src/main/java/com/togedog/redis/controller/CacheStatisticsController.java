@@ -0,0 +1,24 @@
+package com.togedog.redis.controller;
+
+import com.togedog.redis.cache.NearCache;
+import com.togedog.redis.cache.NearCacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class CacheStatisticsController {
+    private final NearCacheManager nearCacheManager;
+
+    public CacheStatisticsController(NearCacheManager nearCacheManager) {
+        this.nearCacheManager = nearCacheManager;
+    }
+
+    // 캐시별 계층(L1/L2) 적중률, 제거 수, L1 사용 용량 조회 (관리자 전용)
+    @GetMapping("/caches/statistics")
+    public ResponseEntity<Map<String, NearCache.Statistics>> getCacheStatistics() {
+        return ResponseEntity.ok(nearCacheManager.getStatistics());
+    }
+}
@@ -0,0 +1,97 @@
+package com.togedog.redis.serializer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * 자주 읽고 쓰는 값 타입용 고정 배치(fixed-layout) 바이너리 직렬화
+ *
+ * 저장 형식: [MAGIC(1)][타입 id(1)][버전(1)][본문]
+ * - 본문 배치는 타입별 하위 클래스가 버전마다 정한다 (새 버전을 추가해도 이전 버전은 계속 읽는다)
+ * - 헤더가 없는 값은 이전 형식(Jackson2JsonRedisSerializer 로 저장된 JSON, 문자열로 한번 더 감싼 JSON 포함)으로 읽는다
+ *   이전 형식은 읽기만 하고, 쓰기는 항상 현재 버전으로 하므로 값이 갱신되거나 만료되면서 자연스럽게 옮겨간다.
+ */
+public abstract class CompactRedisSerializer<T> implements RedisSerializer<T> {
+    // JSON 은 '{', '"' 등으로 시작하므로 이전 형식과 겹치지 않는 값
+    static final byte MAGIC = (byte) 0xB1;
+    static final int HEADER_SIZE = 3;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final byte typeId;
+    private final byte currentVersion;
+
+    protected CompactRedisSerializer(int typeId, int currentVersion) {
+        this.typeId = (byte) typeId;
+        this.currentVersion = (byte) currentVersion;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + bodySize(value));
+        buffer.put(MAGIC).put(typeId).put(currentVersion);
+        writeBody(value, buffer);
+        return buffer.array();
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return readLegacy(bytes);
+        }
+        if (bytes.length < HEADER_SIZE || bytes[1] != typeId) {
+            throw new SerializationException("직렬화 타입이 맞지 않습니다: " + (bytes.length < 2 ? "?" : bytes[1]));
+        }
+        try {
+            return readBody(bytes[2], ByteBuffer.wrap(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE));
+        } catch (RuntimeException e) {
+            throw new SerializationException("값을 읽을 수 없습니다 (version " + bytes[2] + ")", e);
+        }
+    }
+
+    private T readLegacy(byte[] bytes) {
+        try {
+            JsonNode node = objectMapper.readTree(bytes);
+            // 서비스에서 JSON 문자열로 만든 뒤 다시 JSON 으로 저장한 값
+            if (node.isTextual() && looksLikeJson(node.textValue())) {
+                node = objectMapper.readTree(node.textValue());
+            }
+            return readJson(node);
+        } catch (IOException e) {
+            throw new SerializationException("이전 형식(JSON) 값을 읽을 수 없습니다", e);
+        }
+    }
+
+    private static boolean looksLikeJson(String text) {
+        String trimmed = text.trim();
+        return trimmed.startsWith("{") || trimmed.startsWith("[");
+    }
+
+    protected abstract int bodySize(T value);
+
+    protected abstract void writeBody(T value, ByteBuffer buffer);
+
+    /**
+     * @param version 저장 당시 버전
+     * @param buffer 본문 (position 이 본문 시작)
+     */
+    protected abstract T readBody(byte version, ByteBuffer buffer);
+
+    // 이전 형식(JSON) 값 변환
+    protected abstract T readJson(JsonNode node);
+
+    protected static SerializationException unsupportedVersion(byte version) {
+        return new SerializationException("지원하지 않는 직렬화 버전입니다: " + version);
+    }
+}
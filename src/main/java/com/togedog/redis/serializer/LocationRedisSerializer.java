@@ -0,0 +1,42 @@
+package com.togedog.redis.serializer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.togedog.redis.LocationService;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 위치 직렬화
+ * v1: [latitude double(8)][longitude double(8)]
+ */
+public class LocationRedisSerializer extends CompactRedisSerializer<LocationService.Location> {
+    static final int TYPE_ID = 1;
+    private static final int VERSION = 1;
+
+    public LocationRedisSerializer() {
+        super(TYPE_ID, VERSION);
+    }
+
+    @Override
+    protected int bodySize(LocationService.Location value) {
+        return Double.BYTES * 2;
+    }
+
+    @Override
+    protected void writeBody(LocationService.Location value, ByteBuffer buffer) {
+        buffer.putDouble(value.getLatitude()).putDouble(value.getLongitude());
+    }
+
+    @Override
+    protected LocationService.Location readBody(byte version, ByteBuffer buffer) {
+        if (version != 1) {
+            throw unsupportedVersion(version);
+        }
+        return new LocationService.Location(buffer.getDouble(), buffer.getDouble());
+    }
+
+    @Override
+    protected LocationService.Location readJson(JsonNode node) {
+        return new LocationService.Location(node.path("latitude").asDouble(), node.path("longitude").asDouble());
+    }
+}
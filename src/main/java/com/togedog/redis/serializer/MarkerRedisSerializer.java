@@ -0,0 +1,61 @@
+package com.togedog.redis.serializer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.togedog.redis.MarkerService;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 마커 직렬화
+ * v1: [latitude double(8)][longitude double(8)][email 길이 unsigned short(2)][email UTF-8]
+ */
+public class MarkerRedisSerializer extends CompactRedisSerializer<MarkerService.Marker> {
+    static final int TYPE_ID = 2;
+    private static final int VERSION = 1;
+    private static final int MAX_EMAIL_BYTES = 0xFFFF;
+
+    public MarkerRedisSerializer() {
+        super(TYPE_ID, VERSION);
+    }
+
+    @Override
+    protected int bodySize(MarkerService.Marker value) {
+        return Double.BYTES * 2 + Short.BYTES + emailBytes(value).length;
+    }
+
+    @Override
+    protected void writeBody(MarkerService.Marker value, ByteBuffer buffer) {
+        byte[] email = emailBytes(value);
+        buffer.putDouble(value.getLatitude())
+                .putDouble(value.getLongitude())
+                .putShort((short) email.length)
+                .put(email);
+    }
+
+    @Override
+    protected MarkerService.Marker readBody(byte version, ByteBuffer buffer) {
+        if (version != 1) {
+            throw unsupportedVersion(version);
+        }
+        double latitude = buffer.getDouble();
+        double longitude = buffer.getDouble();
+        byte[] email = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(email);
+        return new MarkerService.Marker(new String(email, StandardCharsets.UTF_8), latitude, longitude);
+    }
+
+    @Override
+    protected MarkerService.Marker readJson(JsonNode node) {
+        return new MarkerService.Marker(node.path("email").asText(null),
+                node.path("latitude").asDouble(), node.path("longitude").asDouble());
+    }
+
+    private static byte[] emailBytes(MarkerService.Marker value) {
+        byte[] email = value.getEmail() == null ? new byte[0] : value.getEmail().getBytes(StandardCharsets.UTF_8);
+        if (email.length > MAX_EMAIL_BYTES) {
+            throw new IllegalArgumentException("email 이 너무 깁니다: " + email.length + " bytes");
+        }
+        return email;
+    }
+}
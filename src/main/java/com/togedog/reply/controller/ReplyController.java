@@ -1,6 +1,5 @@
 package com.togedog.reply.controller;
 
-import com.togedog.auth.service.AuthService;
 import com.togedog.reply.dto.ReplyDto;
 import com.togedog.reply.entity.Reply;
 import com.togedog.reply.mapper.ReplyMapper;
@@ -23,7 +22,6 @@ public class ReplyController {
 
     private final ReplyService replyService;
     private final ReplyMapper replyMapper;
-    private final AuthService authService;
     private final static String REPLY_DEF_URL = "/replies";
 
     @PostMapping("/comments/{comment-id}/replies")
@@ -40,14 +38,7 @@ public class ReplyController {
     public ResponseEntity patchReply(@PathVariable("reply-id") @Positive long replyId,
                                      @Valid @RequestBody ReplyDto.Patch requestBody,
                                      Authentication authentication) {
-        String email = null;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
+        if (authentication == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
 
@@ -59,14 +50,7 @@ public class ReplyController {
     @DeleteMapping("/replies/{reply-id}")
     public ResponseEntity deleteReply(@PathVariable("reply-id") @Positive long replyId,
                                       Authentication authentication) {
-        String email = null;
-        if (authentication != null) {
-            email = (String) authentication.getPrincipal();
-            boolean isLoggedOut = !authService.isTokenValid(email);
-            if (isLoggedOut) {
-                return new ResponseEntity<>("User Logged Out", HttpStatus.UNAUTHORIZED);
-            }
-        } else {
+        if (authentication == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         replyService.deleteReply(replyId,authentication);
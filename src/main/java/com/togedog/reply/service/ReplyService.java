@@ -1,11 +1,11 @@
 package com.togedog.reply.service;
 
+import com.togedog.auth.principal.AuthenticatedMemberResolver;
 import com.togedog.comment.entity.Comment;
 import com.togedog.comment.repository.CommentRepository;
 import com.togedog.exception.BusinessLogicException;
 import com.togedog.exception.ExceptionCode;
 import com.togedog.member.entity.Member;
-import com.togedog.member.repository.MemberRepository;
 import com.togedog.reply.entity.Reply;
 import com.togedog.reply.repository.ReplyRepository;
 import lombok.RequiredArgsConstructor;
@@ -21,10 +21,10 @@ public class ReplyService {
 
     private final ReplyRepository replyRepository;
     private final CommentRepository commentRepository;
-    private final MemberRepository memberRepository;
+    private final AuthenticatedMemberResolver authenticatedMemberResolver;
 
     public Reply createReply(Reply reply, Authentication authentication) {
-        Member member = extractMemberFromAuthentication(authentication);
+        Member member = authenticatedMemberResolver.resolve(authentication);
         Comment comment = commentRepository.findById(reply.getComment().getCommentId())
                 .orElseThrow(() -> new BusinessLogicException(ExceptionCode.COMMENT_NOT_FOUND));
         reply.setMember(member);
@@ -33,7 +33,7 @@ public class ReplyService {
     }
 
     public Reply updateReply(Reply reply, Authentication authentication) {
-        extractMemberFromAuthentication(authentication);
+        authenticatedMemberResolver.resolve(authentication);
         Reply findReply = findVerifiedReply(reply.getReplyId());
         if(!findReply.getMember().getEmail().equals(authentication.getName())) {
             throw new BusinessLogicException(ExceptionCode.UNAUTHORIZED_MEMBER);
@@ -48,7 +48,7 @@ public class ReplyService {
     }
 
     public void deleteReply(long replyId, Authentication authentication) {
-        Member member = extractMemberFromAuthentication(authentication);
+        Member member = authenticatedMemberResolver.resolve(authentication);
         Reply verifiedReply = findVerifiedReply(replyId);
         if(!verifiedReply.getMember().getEmail().equals(member.getEmail())) {
             throw new BusinessLogicException(ExceptionCode.UNAUTHORIZED_MEMBER);
@@ -64,13 +64,4 @@ public class ReplyService {
         Reply resultReply = findreply.orElseThrow(() -> new BusinessLogicException(ExceptionCode.COMMENT_NOT_FOUND));
         return resultReply;
     }
-
-    private Member extractMemberFromAuthentication(Authentication authentication) {
-        if (authentication == null || authentication.getPrincipal() == null) {
-            throw new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND);
-        }
-        String email = (String) authentication.getPrincipal();
-        return memberRepository.findByEmail(email)
-                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
-    }
 }
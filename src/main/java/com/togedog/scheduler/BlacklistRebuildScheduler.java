@@ -0,0 +1,20 @@
+package com.togedog.scheduler;
+
+import com.togedog.redis.blacklist.BlacklistStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BlacklistRebuildScheduler {
+    private final BlacklistStore blacklistStore;
+
+    // 비동기 스케줄러: 10분마다 만료된 항목을 빼고 블랙리스트 filter 를 다시 만든다
+    @Async
+    @Scheduled(fixedDelayString = "${blacklist.rebuild-interval-millis:600000}")
+    public void rebuildBlacklistFilter() {
+        blacklistStore.rebuild();
+    }
+}
@@ -0,0 +1,25 @@
+package com.togedog.scheduler;
+
+import com.togedog.redis.cache.NearCacheManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheStatisticsScheduler {
+    private final NearCacheManager nearCacheManager;
+
+    // 비동기 스케줄러: 10분마다 캐시 계층별 적중/미스/제거 현황 기록
+    @Async
+    @Scheduled(fixedDelay = 600000)
+    public void logCacheStatistics() {
+        nearCacheManager.getStatistics().forEach((name, statistics) ->
+                log.info("캐시 {} {} size={} weight={}/{} L1[{}] L2[{}]", name, statistics.getTiers(),
+                        statistics.getLocalSize(), statistics.getLocalWeight(), statistics.getLocalMaximumWeight(),
+                        statistics.getLocal(), statistics.getRemote()));
+    }
+}
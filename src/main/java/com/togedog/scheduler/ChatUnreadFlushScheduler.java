@@ -0,0 +1,25 @@
+package com.togedog.scheduler;
+
+import com.togedog.chatRoom.unread.ChatUnreadCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatUnreadFlushScheduler {
+    private final ChatUnreadCounter chatUnreadCounter;
+
+    // 비동기 스케줄러: 5초마다 바뀐 안 읽은 메시지 수를 ChatRoomMember 에 기록
+    @Async
+    @Scheduled(fixedDelayString = "${chat.unread.db-flush-interval-millis:5000}")
+    public void flushUnreadCounts() {
+        int written = chatUnreadCounter.flushToDatabase();
+        if (written > 0) {
+            log.debug("안 읽은 메시지 수 {}건 기록", written);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.togedog.scheduler;
+
+import com.togedog.redis.MarkerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarkerExpiryScheduler {
+    private final MarkerService markerService;
+
+    // 비동기 스케줄러: 1분마다 만료된 마커를 GEO 인덱스에서 정리
+    @Async
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpiredMarkers() {
+        int purged = markerService.purgeExpiredMarkers();
+        if (purged > 0) {
+            log.debug("만료된 마커 {}건 정리", purged);
+        }
+    }
+}
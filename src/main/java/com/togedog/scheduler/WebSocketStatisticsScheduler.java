@@ -0,0 +1,23 @@
+package com.togedog.scheduler;
+
+import com.togedog.chat.handler.OutboundSessionBuffers;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebSocketStatisticsScheduler {
+    private final OutboundSessionBuffers outboundSessionBuffers;
+
+    // 비동기 스케줄러: 1분마다 WebSocket 세션 수와 전송 대기 바이트(많은 세션 5개) 기록
+    @Async
+    @Scheduled(fixedDelay = 60000)
+    public void logOutboundBuffers() {
+        log.info("WebSocket 세션 {}개, 전송 대기 {} bytes, 대기 상위 {}", outboundSessionBuffers.sessionCount(),
+                outboundSessionBuffers.queuedBytes(), outboundSessionBuffers.largestBuffers(5));
+    }
+}
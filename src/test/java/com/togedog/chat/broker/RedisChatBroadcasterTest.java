@@ -0,0 +1,174 @@
+package com.togedog.chat.broker;
+
+import com.togedog.chat.dto.ChatDto;
+import com.togedog.chat.entity.Chat;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 프로세스 안의 pub/sub 대체 구현(InMemoryPubSub)으로 노드 여러 개를 묶어 RedisChatBroadcaster 동작 확인
+ */
+class RedisChatBroadcasterTest {
+    private final InMemoryPubSub redis = new InMemoryPubSub();
+    private final Node nodeA = new Node(redis);
+    private final Node nodeB = new Node(redis);
+    private final Node nodeC = new Node(redis);
+
+    @Test
+    void relaysOnlyToNodesWithLocalSubscribers() {
+        nodeB.broadcaster.subscribe("b-1", "sub-0", "/sub/chat/1");
+
+        nodeA.broadcaster.broadcast(1, chat(1, "안녕"));
+        nodeA.broadcaster.flush();
+
+        assertEquals(List.of("/sub/chat/1"), nodeA.destinations());
+        assertEquals(List.of("/sub/chat/1"), nodeB.destinations());
+        assertTrue(nodeB.bodies().get(0).contains("안녕"));
+        assertTrue(nodeC.sent.isEmpty());
+        assertEquals(1, redis.subscriberCount("chat:room:1"));
+    }
+
+    @Test
+    void batchesMessagesPerRoomPerTick() {
+        nodeB.broadcaster.subscribe("b-1", "sub-0", "/sub/chat/1");
+        nodeB.broadcaster.subscribe("b-1", "sub-1", "/sub/chat/2");
+
+        nodeA.broadcaster.broadcast(1, chat(1, "first"));
+        nodeA.broadcaster.broadcast(2, chat(2, "other room"));
+        nodeA.broadcaster.broadcast(1, chat(3, "second"));
+        nodeA.broadcaster.broadcast(1, chat(4, "third"));
+
+        assertEquals(2, nodeA.broadcaster.flush());
+        assertEquals(2, redis.published.size());
+        List<String> roomOne = new ArrayList<>();
+        for (int i = 0; i < nodeB.sent.size(); i++) {
+            if (nodeB.destinations().get(i).equals("/sub/chat/1")) {
+                roomOne.add(nodeB.bodies().get(i));
+            }
+        }
+        assertEquals(3, roomOne.size());
+        assertTrue(roomOne.get(0).contains("first"));
+        assertTrue(roomOne.get(1).contains("second"));
+        assertTrue(roomOne.get(2).contains("third"));
+        assertEquals(0, nodeA.broadcaster.flush());
+    }
+
+    @Test
+    void doesNotDeliverOwnPublicationTwice() {
+        nodeA.broadcaster.subscribe("a-1", "sub-0", "/sub/chat/1");
+
+        nodeA.broadcaster.broadcast(1, chat(1, "hello"));
+        nodeA.broadcaster.flush();
+
+        assertEquals(1, nodeA.sent.size());
+    }
+
+    @Test
+    void dropsInterestWhenLastLocalSubscriberLeaves() {
+        nodeB.broadcaster.subscribe("b-1", "sub-0", "/sub/chat/1");
+        nodeB.broadcaster.subscribe("b-2", "sub-0", "/sub/chat/1");
+        nodeB.broadcaster.subscribe("b-2", "sub-1", "/sub/other");
+        assertEquals(1, redis.subscriberCount("chat:room:1"));
+
+        nodeB.broadcaster.unsubscribe("b-1", "sub-0");
+        assertEquals(1, redis.subscriberCount("chat:room:1"));
+
+        nodeB.broadcaster.disconnect("b-2");
+        nodeB.broadcaster.disconnect("b-2");
+        assertEquals(0, redis.subscriberCount("chat:room:1"));
+
+        nodeA.broadcaster.broadcast(1, chat(1, "nobody"));
+        nodeA.broadcaster.flush();
+        assertTrue(nodeB.sent.isEmpty());
+    }
+
+    @Test
+    void resubscribingSameSubscriptionIdMovesInterest() {
+        nodeB.broadcaster.subscribe("b-1", "sub-0", "/sub/chat/1");
+        nodeB.broadcaster.subscribe("b-1", "sub-0", "/sub/chat/2");
+
+        assertEquals(0, redis.subscriberCount("chat:room:1"));
+        assertEquals(1, redis.subscriberCount("chat:room:2"));
+    }
+
+    private static ChatDto.Response chat(long chatId, String content) {
+        return new ChatDto.Response(chatId, Chat.MessageType.CHAT, content, "nick", "12:00", 0L, chatId);
+    }
+
+    /**
+     * 노드 하나: 로컬 브로커로 보낸 메시지를 기록하는 SimpMessagingTemplate 과 브로드캐스터
+     */
+    private static final class Node {
+        private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+        private final RedisChatBroadcaster broadcaster;
+
+        private Node(InMemoryPubSub redis) {
+            SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+            // 운영의 brokerMessagingTemplate 처럼 JSON 으로 변환
+            template.setMessageConverter(new MappingJackson2MessageConverter());
+            this.broadcaster = new RedisChatBroadcaster(template, redis.connect(), 10);
+        }
+
+        private List<String> destinations() {
+            List<String> destinations = new ArrayList<>();
+            for (Message<?> message : sent) {
+                destinations.add(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+            }
+            return destinations;
+        }
+
+        private List<String> bodies() {
+            List<String> bodies = new ArrayList<>();
+            for (Message<?> message : sent) {
+                bodies.add(new String((byte[]) message.getPayload(), StandardCharsets.UTF_8));
+            }
+            return bodies;
+        }
+    }
+
+    /**
+     * Redis pub/sub 대체 구현: 연결(connect)마다 채널별 구독자 하나, PUBLISH 는 구독 중인 모든 연결에 바로 전달
+     */
+    private static final class InMemoryPubSub {
+        private final Map<String, Map<Object, Consumer<byte[]>>> channels = new ConcurrentHashMap<>();
+        private final List<String> published = new CopyOnWriteArrayList<>();
+
+        private ChatRelayTransport connect() {
+            Object connection = new Object();
+            return new ChatRelayTransport() {
+                @Override
+                public void publish(String channel, byte[] message) {
+                    published.add(channel);
+                    channels.getOrDefault(channel, Map.of()).values().forEach(listener -> listener.accept(message));
+                }
+
+                @Override
+                public void subscribe(String channel, Consumer<byte[]> listener) {
+                    channels.computeIfAbsent(channel, key -> new ConcurrentHashMap<>()).put(connection, listener);
+                }
+
+                @Override
+                public void unsubscribe(String channel) {
+                    channels.getOrDefault(channel, new ConcurrentHashMap<>()).remove(connection);
+                }
+            };
+        }
+
+        private int subscriberCount(String channel) {
+            return channels.getOrDefault(channel, Map.of()).size();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.togedog.chat.persistence;
+
+import com.togedog.chat.entity.Chat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 임시 디렉터리에 저널을 쓰고 파일을 자르거나 손상시킨 뒤 다시 읽어 ChatJournal 복구 범위와 세그먼트 삭제 확인
+ */
+class ChatJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackAppendedRecords() throws IOException {
+        ChatJournal journal = ChatJournal.open(directory, 1 << 20);
+        journal.append(chat(1, "안녕"));
+        journal.append(chat(2, ""));
+        journal.append(chat(3, "세 번째"));
+        journal.close();
+
+        List<PendingChat> chats = ChatJournal.read(onlySegment());
+
+        assertEquals(List.of(1L, 2L, 3L), chatIds(chats));
+        PendingChat first = chats.get(0);
+        assertEquals(10, first.getChatRoomId());
+        assertEquals(Chat.MessageType.CHAT, first.getType());
+        assertEquals("안녕", first.getContent());
+        assertEquals("member-1", first.getSender());
+        assertEquals(1001, first.getSentAt());
+        assertEquals(101, first.getSeq());
+    }
+
+    @Test
+    void dropsTruncatedTail() throws IOException {
+        ChatJournal journal = ChatJournal.open(directory, 1 << 20);
+        for (long chatId = 1; chatId <= 3; chatId++) {
+            journal.append(chat(chatId, "내용 " + chatId));
+        }
+        journal.close();
+        Path segment = onlySegment();
+        long recordSize = Files.size(segment) / 3;
+        // 마지막 레코드를 쓰는 도중 죽은 경우
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        assertEquals(List.of(1L, 2L), chatIds(ChatJournal.read(segment)));
+
+        // 길이 헤더도 다 쓰지 못한 경우
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(recordSize + 2);
+        }
+        assertEquals(List.of(1L), chatIds(ChatJournal.read(segment)));
+    }
+
+    @Test
+    void dropsRecordsFromCrcMismatch() throws IOException {
+        ChatJournal journal = ChatJournal.open(directory, 1 << 20);
+        for (long chatId = 1; chatId <= 3; chatId++) {
+            journal.append(chat(chatId, "내용"));
+        }
+        journal.close();
+        Path segment = onlySegment();
+        byte[] bytes = Files.readAllBytes(segment);
+        int recordSize = bytes.length / 3;
+
+        // 마지막 레코드 본문의 마지막 바이트
+        bytes[bytes.length - 1] ^= 0x7f;
+        Files.write(segment, bytes);
+        assertEquals(List.of(1L, 2L), chatIds(ChatJournal.read(segment)));
+
+        // 가운데 레코드가 깨지면 그 뒤는 온전해도 버린다
+        bytes[bytes.length - 1] ^= 0x7f;
+        bytes[recordSize + recordSize - 1] ^= 0x7f;
+        Files.write(segment, bytes);
+        assertEquals(List.of(1L), chatIds(ChatJournal.read(segment)));
+    }
+
+    @Test
+    void reopenRecoversExistingSegmentsAndContinuesNumbering() throws IOException {
+        ChatJournal journal = ChatJournal.open(directory, 1 << 20);
+        journal.append(chat(1, "이전 실행"));
+        journal.close();
+        Path previous = onlySegment();
+
+        ChatJournal reopened = ChatJournal.open(directory, 1 << 20);
+        reopened.append(chat(2, "이번 실행"));
+
+        assertEquals(List.of(previous), reopened.recoveredSegments());
+        assertEquals(List.of(1L), chatIds(ChatJournal.read(previous)));
+        List<Path> segments = segments();
+        assertEquals(2, segments.size());
+        assertTrue(segments.get(1).getFileName().toString().compareTo(previous.getFileName().toString()) > 0);
+        reopened.close();
+    }
+
+    @Test
+    void deletesSealedSegmentOnceFullyFlushed() throws IOException {
+        // 레코드마다 새 세그먼트로 넘어가는 크기
+        ChatJournal journal = ChatJournal.open(directory, 1);
+        ChatJournal.Segment first = journal.append(chat(1, "첫 세그먼트"));
+        ChatJournal.Segment second = journal.append(chat(2, "둘째 세그먼트"));
+        ChatJournal.Segment third = journal.append(chat(3, "셋째 세그먼트"));
+        assertNotSame(first, second);
+        assertEquals(3, segments().size());
+
+        first.markFlushed(1);
+        assertEquals(2, segments().size());
+
+        // 아직 쓰고 있는 세그먼트는 다 기록되어도 닫힐 때까지 남긴다
+        third.markFlushed(1);
+        assertEquals(2, segments().size());
+
+        journal.close();
+        // 기록되지 않은 레코드가 있는 세그먼트만 남는다
+        assertEquals(List.of(2L), chatIds(ChatJournal.read(onlySegment())));
+
+        second.markFlushed(1);
+        assertTrue(segments().isEmpty());
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = segments();
+        assertEquals(1, segments.size());
+        return segments.get(0);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static List<Long> chatIds(List<PendingChat> chats) {
+        return chats.stream().map(PendingChat::getChatId).collect(Collectors.toList());
+    }
+
+    static PendingChat chat(long chatId, String content) {
+        return new PendingChat(chatId, 10, Chat.MessageType.CHAT, content, "member-1",
+                "2024-01-01 12:00", 1000 + chatId, 100 + chatId);
+    }
+}
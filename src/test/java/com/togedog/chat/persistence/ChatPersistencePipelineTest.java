@@ -0,0 +1,167 @@
+package com.togedog.chat.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static com.togedog.chat.persistence.ChatJournalTest.chat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DB 대신 기록을 모아두는 StubWriter 로 ChatPersistencePipeline 의 오류별 재시도/분할과 저널 정리 확인
+ */
+class ChatPersistencePipelineTest {
+    @TempDir
+    Path directory;
+
+    private final StubWriter writer = new StubWriter();
+
+    @Test
+    void splitsBatchAroundBadRow() throws InterruptedException {
+        writer.badChatIds.add(3L);
+        ChatPersistencePipeline pipeline = new ChatPersistencePipeline(writer);
+
+        List<PendingChat> unwritten = pipeline.insertWithRetry(chats(1, 5));
+
+        // 잘못된 행은 버리고 나머지는 기록한다 (다시 해도 실패하므로 저널에 남기지 않는다)
+        assertTrue(unwritten.isEmpty());
+        assertEquals(List.of(1L, 2L, 4L, 5L), writer.writtenIds());
+        assertEquals(List.of(5, 1, 1, 1, 1, 1), writer.batchSizes);
+    }
+
+    @Test
+    void retriesTransientFailure() throws InterruptedException {
+        writer.failures.add(new QueryTimeoutException("lock wait timeout"));
+        writer.failures.add(new QueryTimeoutException("lock wait timeout"));
+        ChatPersistencePipeline pipeline = new ChatPersistencePipeline(writer);
+
+        assertTrue(pipeline.insertWithRetry(chats(1, 3)).isEmpty());
+
+        assertEquals(List.of(3, 3, 3), writer.batchSizes);
+        assertEquals(List.of(1L, 2L, 3L), writer.writtenIds());
+    }
+
+    @Test
+    void returnsBatchOnNonTransientFailure() throws InterruptedException {
+        writer.failures.add(new InvalidDataAccessResourceUsageException("unknown column"));
+        ChatPersistencePipeline pipeline = new ChatPersistencePipeline(writer);
+        List<PendingChat> chats = chats(1, 3);
+
+        assertEquals(chats, pipeline.insertWithRetry(chats));
+
+        assertEquals(List.of(3), writer.batchSizes);
+        assertTrue(writer.writtenIds().isEmpty());
+    }
+
+    @Test
+    void deletesJournalOnceWritten() throws Exception {
+        ChatPersistencePipeline pipeline = start(writer);
+        for (PendingChat chat : chats(1, 5)) {
+            assertTrue(pipeline.offer(chat));
+        }
+        pipeline.stop();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), writer.writtenIds());
+        assertEquals(5, pipeline.writtenCount());
+        assertTrue(segments().isEmpty());
+    }
+
+    @Test
+    void keepsUnwrittenBatchInJournalUntilNextStart() throws Exception {
+        StubWriter broken = new StubWriter();
+        broken.failures.add(new InvalidDataAccessResourceUsageException("unknown column"));
+        ChatPersistencePipeline pipeline = start(broken);
+        for (PendingChat chat : chats(1, 3)) {
+            assertTrue(pipeline.offer(chat));
+        }
+        pipeline.stop();
+
+        assertEquals(0, pipeline.writtenCount());
+        List<Path> segments = segments();
+        assertEquals(1, segments.size());
+        assertEquals(3, ChatJournal.read(segments.get(0)).size());
+
+        // 다음 기동 때 남은 저널을 다시 기록하고 지운다
+        ChatPersistencePipeline restarted = start(writer);
+        restarted.stop();
+
+        assertEquals(List.of(1L, 2L, 3L), writer.writtenIds());
+        assertTrue(segments().isEmpty());
+    }
+
+    private ChatPersistencePipeline start(ChatBatchWriter batchWriter) throws IOException {
+        ChatPersistencePipeline pipeline = new ChatPersistencePipeline(batchWriter);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 100);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 10);
+        ReflectionTestUtils.setField(pipeline, "flushIntervalMillis", 10L);
+        ReflectionTestUtils.setField(pipeline, "highWatermarkRatio", 0.8);
+        ReflectionTestUtils.setField(pipeline, "journalDirectory", directory.toString());
+        ReflectionTestUtils.setField(pipeline, "journalSegmentBytes", 1L << 20);
+        ReflectionTestUtils.setField(pipeline, "shutdownTimeoutMillis", 5_000L);
+        pipeline.start();
+        return pipeline;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private static List<PendingChat> chats(long fromChatId, long toChatId) {
+        return LongStream.rangeClosed(fromChatId, toChatId)
+                .mapToObj(chatId -> chat(chatId, "내용 " + chatId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 정해둔 오류를 순서대로 던지고, badChatIds 가 든 배치는 무결성 위반으로 거절하는 ChatBatchWriter
+     */
+    private static final class StubWriter extends ChatBatchWriter {
+        private final Set<Long> badChatIds = new HashSet<>();
+        private final Deque<DataAccessException> failures = new ArrayDeque<>();
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final List<PendingChat> written = new CopyOnWriteArrayList<>();
+
+        private StubWriter() {
+            super(null);
+        }
+
+        @Override
+        public synchronized int insert(List<PendingChat> chats) {
+            batchSizes.add(chats.size());
+            DataAccessException failure = failures.poll();
+            if (failure != null) {
+                throw failure;
+            }
+            for (PendingChat chat : chats) {
+                if (badChatIds.contains(chat.getChatId())) {
+                    throw new DataIntegrityViolationException("Data too long for column 'content'");
+                }
+            }
+            written.addAll(chats);
+            return chats.size();
+        }
+
+        private List<Long> writtenIds() {
+            return written.stream().map(PendingChat::getChatId).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.togedog.chat.recent;
+
+import com.togedog.chat.broker.RoomSubscriptionRegistry;
+import com.togedog.chat.dto.ChatDto;
+import com.togedog.chat.entity.Chat;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * seed 한 페이지 크기, 용량 초과, 비우기, 채팅방 닫힘에 따라 RecentChatCache 가 버퍼로 응답하는 범위 확인
+ * (settleMillis 를 0 으로 두어 채팅방을 열자마자 seed 할 수 있다)
+ */
+class RecentChatCacheTest {
+    private static final long ROOM = 1;
+    private static final long OTHER_ROOM = 2;
+
+    @Test
+    void shortPageTrustsWholeRoom() {
+        RecentChatCache cache = cache(100, Long.MAX_VALUE);
+        cache.roomOpened(ROOM);
+        cache.record(ROOM, chat(3));
+        cache.record(ROOM, chat(4));
+        // seed 전에는 버퍼로 응답하지 않는다
+        assertFalse(cache.find(ROOM, Long.MAX_VALUE, 10).isPresent());
+
+        long ticket = cache.beginLoad(ROOM);
+        // 요청한 10개보다 적게 왔으므로 채팅방의 전체 내역
+        cache.seed(ROOM, ticket, List.of(chat(2), chat(1)), 10);
+
+        assertEquals(List.of(4L, 3L, 2L, 1L), seqs(cache.find(ROOM, Long.MAX_VALUE, 10)));
+        assertEquals(List.of(1L), seqs(cache.find(ROOM, 2, 10)));
+        assertEquals(List.of(), seqs(cache.find(ROOM, 1, 10)));
+    }
+
+    @Test
+    void fullPageTrustsOnlyPage() {
+        RecentChatCache cache = cache(100, Long.MAX_VALUE);
+        cache.roomOpened(ROOM);
+
+        cache.seed(ROOM, cache.beginLoad(ROOM), List.of(chat(5), chat(4), chat(3)), 3);
+
+        assertEquals(List.of(5L, 4L, 3L), seqs(cache.find(ROOM, Long.MAX_VALUE, 3)));
+        assertEquals(List.of(3L), seqs(cache.find(ROOM, 4, 1)));
+        // 페이지보다 오래된 채팅은 DB 에 더 있을 수 있다
+        assertFalse(cache.find(ROOM, Long.MAX_VALUE, 4).isPresent());
+        assertFalse(cache.find(ROOM, 3, 1).isPresent());
+
+        // 신뢰 구간보다 오래된 채팅은 늦게 와도 버퍼에 넣지 않는다
+        cache.record(ROOM, chat(2));
+        cache.record(ROOM, chat(6));
+        assertEquals(List.of(3L, 4L, 5L, 6L),
+                cache.findAfterSeq(ROOM, 0).stream().map(ChatDto.Response::getSeq).collect(Collectors.toList()));
+    }
+
+    @Test
+    void trimsPastCapacity() {
+        RecentChatCache cache = cache(3, Long.MAX_VALUE);
+        cache.roomOpened(ROOM);
+        cache.seed(ROOM, cache.beginLoad(ROOM), List.of(chat(2), chat(1)), 10);
+
+        for (long seq = 3; seq <= 5; seq++) {
+            cache.record(ROOM, chat(seq));
+        }
+
+        // 용량을 넘어 버린 채팅은 DB 에서 읽는다
+        assertEquals(List.of(5L, 4L, 3L), seqs(cache.find(ROOM, Long.MAX_VALUE, 3)));
+        assertFalse(cache.find(ROOM, Long.MAX_VALUE, 4).isPresent());
+        assertFalse(cache.find(ROOM, 3, 1).isPresent());
+    }
+
+    @Test
+    void seedDoesNotTrustChatsTrimmedBeforeIt() {
+        RecentChatCache cache = cache(3, Long.MAX_VALUE);
+        cache.roomOpened(ROOM);
+        long ticket = cache.beginLoad(ROOM);
+        for (long seq = 1; seq <= 5; seq++) {
+            cache.record(ROOM, chat(seq));
+        }
+
+        // 전체 내역이 와도 seed 전에 용량을 넘어 버린 순번까지는 신뢰하지 않는다
+        cache.seed(ROOM, ticket, List.of(chat(5), chat(4), chat(3), chat(2), chat(1)), 10);
+
+        assertEquals(List.of(5L, 4L, 3L), seqs(cache.find(ROOM, Long.MAX_VALUE, 3)));
+        assertFalse(cache.find(ROOM, Long.MAX_VALUE, 5).isPresent());
+    }
+
+    @Test
+    void evictionInvalidatesTicketTakenBefore() throws InterruptedException {
+        // 채팅방 두 개와 채팅 세 개까지 (채팅 하나 약 400 bytes, 채팅방 하나 256 bytes)
+        RecentChatCache cache = cache(100, 2_000);
+        cache.roomOpened(ROOM);
+        cache.record(ROOM, chat(1));
+        cache.record(ROOM, chat(2));
+        long staleTicket = cache.beginLoad(ROOM);
+        Thread.sleep(5);
+
+        cache.roomOpened(OTHER_ROOM);
+        cache.record(OTHER_ROOM, chat(1));
+        cache.record(OTHER_ROOM, chat(2));
+
+        // 가장 오래 쓰지 않은 채팅방부터 비운다
+        assertTrue(cache.findAfterSeq(ROOM, 0).isEmpty());
+        assertEquals(2, cache.findAfterSeq(OTHER_ROOM, 0).size());
+        assertTrue(cache.totalBytes() <= 2_000);
+
+        // 비우기 전에 읽기 시작한 결과는 버린다 (그 사이의 채팅이 버퍼에 없을 수 있다)
+        cache.seed(ROOM, staleTicket, List.of(chat(2), chat(1)), 10);
+        assertFalse(cache.find(ROOM, Long.MAX_VALUE, 10).isPresent());
+
+        long ticket = cache.beginLoad(ROOM);
+        assertNotEquals(staleTicket, ticket);
+        cache.seed(ROOM, ticket, List.of(chat(2), chat(1)), 10);
+        assertEquals(List.of(2L, 1L), seqs(cache.find(ROOM, Long.MAX_VALUE, 10)));
+    }
+
+    @Test
+    void ignoresChatsAfterRoomClosed() {
+        RecentChatCache cache = cache(100, Long.MAX_VALUE);
+        cache.roomOpened(ROOM);
+        cache.record(ROOM, chat(1));
+        long ticket = cache.beginLoad(ROOM);
+
+        cache.roomClosed(ROOM);
+        cache.record(ROOM, chat(2));
+        cache.seed(ROOM, ticket, List.of(chat(2), chat(1)), 10);
+
+        assertEquals(0, cache.totalBytes());
+        assertTrue(cache.findAfterSeq(ROOM, 0).isEmpty());
+
+        // 다시 열린 채팅방에 닫히기 전 ticket 으로 seed 하지 않는다
+        cache.roomOpened(ROOM);
+        cache.seed(ROOM, ticket, List.of(chat(2), chat(1)), 10);
+        assertFalse(cache.find(ROOM, Long.MAX_VALUE, 10).isPresent());
+        cache.roomClosed(ROOM);
+        assertEquals(0, cache.totalBytes());
+    }
+
+    private static RecentChatCache cache(int roomCapacity, long maxBytes) {
+        return new RecentChatCache(roomCapacity, maxBytes, 0, 60_000, new RoomSubscriptionRegistry());
+    }
+
+    private static List<Long> seqs(Optional<List<ChatDto.Response>> chats) {
+        assertTrue(chats.isPresent(), "버퍼로 응답해야 한다");
+        return chats.get().stream().map(ChatDto.Response::getSeq).collect(Collectors.toList());
+    }
+
+    private static ChatDto.Response chat(long seq) {
+        return new ChatDto.Response(1000 + seq, Chat.MessageType.CHAT, "메시지".repeat(30), "member-1",
+                "2024-01-01 12:00", seq, seq);
+    }
+}
@@ -0,0 +1,277 @@
+package com.togedog.chatRoom.unread;
+
+import com.togedog.chatRoom.repository.ChatRoomMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Redis 스크립트와 명령을 같은 동작의 메모리 구현(InMemoryRedis)으로 대신하여 ChatUnreadCounter 반영 순서와 DB 기록 확인
+ */
+class ChatUnreadCounterTest {
+    private static final long ROOM = 1;
+    private static final long OTHER_ROOM = 2;
+
+    private final InMemoryRedis redis = new InMemoryRedis();
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+    private final ChatUnreadCounter counter = new ChatUnreadCounter(redis, jdbcTemplate,
+            members(Map.of(ROOM, List.of(1L, 2L, 3L), OTHER_ROOM, List.of(1L, 4L))));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(counter, "dbBatchSize", 500);
+    }
+
+    @Test
+    void batchesMessagesPerRoomPerTick() {
+        counter.recordMessage(ROOM, 1);
+        counter.recordMessage(ROOM, 1);
+        counter.recordMessage(ROOM, 2);
+        counter.recordMessage(OTHER_ROOM, 4);
+
+        counter.flush();
+
+        // 채팅방마다 스크립트 한번 (보낸 사람은 자기 메시지만큼 빼고 증가)
+        assertEquals(List.of("increment 1", "increment 2"), sortedCalls());
+        assertEquals(Map.of(ROOM, 1, OTHER_ROOM, 1), counter.unreadCounts(1));
+        assertEquals(Map.of(ROOM, 2), counter.unreadCounts(2));
+        assertEquals(Map.of(ROOM, 3), counter.unreadCounts(3));
+        assertTrue(counter.unreadCounts(4).isEmpty());
+        assertEquals(Set.of("1:1", "2:1", "3:1", "1:2"), redis.dirty);
+    }
+
+    @Test
+    void appliesReadsAfterIncrementsOfSameTick() {
+        // 같은 tick 의 읽음 표시는 먼저 들어왔어도 그 tick 의 메시지까지 읽은 것으로 본다
+        counter.markRead(2, ROOM);
+        counter.recordMessage(ROOM, 1);
+
+        counter.flush();
+
+        assertEquals(List.of("increment 1", "read 2:1"), redis.calls);
+        assertTrue(counter.unreadCounts(2).isEmpty());
+        assertEquals(Map.of(ROOM, 1), counter.unreadCounts(3));
+
+        // 다음 tick 의 메시지는 다시 센다
+        counter.recordMessage(ROOM, 1);
+        counter.flush();
+        assertEquals(Map.of(ROOM, 1), counter.unreadCounts(2));
+        assertEquals(Map.of(ROOM, 2), counter.unreadCounts(3));
+    }
+
+    @Test
+    void appliesViewingChangesBeforeIncrements() {
+        counter.startViewing(ROOM, 2);
+        counter.recordMessage(ROOM, 1);
+
+        counter.flush();
+
+        assertEquals(List.of("pipeline", "increment 1"), redis.calls);
+        assertTrue(counter.unreadCounts(2).isEmpty());
+        assertEquals(Map.of(ROOM, 1), counter.unreadCounts(3));
+
+        counter.stopViewing(ROOM, 2);
+        counter.recordMessage(ROOM, 1);
+        counter.flush();
+        assertEquals(Map.of(ROOM, 1), counter.unreadCounts(2));
+    }
+
+    @Test
+    void writesDirtyCountsInBatches() {
+        ReflectionTestUtils.setField(counter, "dbBatchSize", 2);
+        counter.recordMessage(ROOM, 1);
+        counter.recordMessage(ROOM, 1);
+        counter.recordMessage(OTHER_ROOM, 4);
+        counter.markRead(3, ROOM);
+        counter.flush();
+
+        assertEquals(3, counter.flushToDatabase());
+
+        assertEquals(List.of(2, 1), jdbcTemplate.batches.stream().map(List::size).collect(Collectors.toList()));
+        // [안 읽은 수, 채팅방 id, 회원 id] (읽은 회원은 0 으로 기록)
+        assertEquals(Set.of(List.of(2, ROOM, 2L), List.of(0, ROOM, 3L), List.of(1, OTHER_ROOM, 1L)),
+                jdbcTemplate.batches.stream().flatMap(List::stream).map(Arrays::asList).collect(Collectors.toSet()));
+        assertTrue(redis.dirty.isEmpty());
+        assertEquals(0, counter.flushToDatabase());
+    }
+
+    @Test
+    void keepsDirtyEntriesWhenDatabaseFails() {
+        counter.recordMessage(ROOM, 1);
+        counter.flush();
+        Set<String> dirty = Set.copyOf(redis.dirty);
+        jdbcTemplate.failing = true;
+
+        assertThrows(DataAccessException.class, counter::flushToDatabase);
+
+        // 다음 주기에 다시 기록한다
+        assertEquals(dirty, redis.dirty);
+        jdbcTemplate.failing = false;
+        assertEquals(2, counter.flushToDatabase());
+        assertTrue(redis.dirty.isEmpty());
+    }
+
+    private List<String> sortedCalls() {
+        return redis.calls.stream().sorted().collect(Collectors.toList());
+    }
+
+    private static ChatRoomMemberRepository members(Map<Long, List<Long>> membersByRoom) {
+        return (ChatRoomMemberRepository) Proxy.newProxyInstance(ChatRoomMemberRepository.class.getClassLoader(),
+                new Class<?>[]{ChatRoomMemberRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findMemberIdsByChatRoomId")) {
+                        return membersByRoom.getOrDefault((Long) args[0], List.of());
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * 안 읽은 수 hash, 보는 중 sorted set, dirty set 과 두 스크립트를 메모리에서 같은 규칙으로 처리
+     */
+    private static class InMemoryRedis extends StringRedisTemplate {
+        private final Map<String, Map<String, String>> hashes = new HashMap<>();
+        private final Map<String, Map<String, Double>> viewers = new HashMap<>();
+        private final Set<String> dirty = new LinkedHashSet<>();
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+            String chatRoomId = (String) args[0];
+            if (keys.get(0).startsWith("chat:viewers:")) {
+                calls.add("increment " + chatRoomId);
+                long now = Long.parseLong((String) args[1]);
+                Set<String> viewing = viewers.getOrDefault(keys.get(0), Map.of()).entrySet().stream()
+                        .filter(entry -> entry.getValue() > now)
+                        .map(entry -> entry.getKey().substring(0, entry.getKey().indexOf(':')))
+                        .collect(Collectors.toSet());
+                long changed = 0;
+                for (int i = 2; i < keys.size(); i++) {
+                    String member = (String) args[(i - 2) * 2 + 2];
+                    long delta = Long.parseLong((String) args[(i - 2) * 2 + 3]);
+                    if (delta > 0 && !viewing.contains(member)) {
+                        hashes.computeIfAbsent(keys.get(i), key -> new HashMap<>())
+                                .merge(chatRoomId, String.valueOf(delta),
+                                        (current, added) -> String.valueOf(Long.parseLong(current) + Long.parseLong(added)));
+                        dirty.add(member + ":" + chatRoomId);
+                        changed++;
+                    }
+                }
+                return (T) Long.valueOf(changed);
+            }
+            String memberId = (String) args[1];
+            calls.add("read " + memberId + ":" + chatRoomId);
+            Map<String, String> unread = hashes.get(keys.get(0));
+            if (unread != null && unread.remove(chatRoomId) != null) {
+                dirty.add(memberId + ":" + chatRoomId);
+                return (T) Long.valueOf(1);
+            }
+            return (T) Long.valueOf(0);
+        }
+
+        @Override
+        public List<Object> executePipelined(RedisCallback<?> action) {
+            calls.add("pipeline");
+            List<Object> results = new ArrayList<>();
+            StringRedisConnection connection = (StringRedisConnection) Proxy.newProxyInstance(
+                    StringRedisConnection.class.getClassLoader(), new Class<?>[]{StringRedisConnection.class},
+                    (proxy, method, args) -> {
+                        String key = (String) args[0];
+                        switch (method.getName()) {
+                            case "zAdd":
+                                viewers.computeIfAbsent(key, k -> new HashMap<>()).put((String) args[2], (Double) args[1]);
+                                return null;
+                            case "zRem":
+                                for (String viewer : (String[]) args[1]) {
+                                    viewers.getOrDefault(key, new HashMap<>()).remove(viewer);
+                                }
+                                return null;
+                            case "pExpire":
+                                return null;
+                            case "hGet":
+                                results.add(hashes.getOrDefault(key, Map.of()).get((String) args[1]));
+                                return null;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+            action.doInRedis(connection);
+            return results;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public HashOperations<String, Object, Object> opsForHash() {
+            return (HashOperations<String, Object, Object>) Proxy.newProxyInstance(HashOperations.class.getClassLoader(),
+                    new Class<?>[]{HashOperations.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("entries")) {
+                            return new HashMap<Object, Object>(hashes.getOrDefault((String) args[0], Map.of()));
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public SetOperations<String, String> opsForSet() {
+            return (SetOperations<String, String>) Proxy.newProxyInstance(SetOperations.class.getClassLoader(),
+                    new Class<?>[]{SetOperations.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "pop": {
+                                List<String> popped = new ArrayList<>();
+                                Iterator<String> iterator = dirty.iterator();
+                                while (iterator.hasNext() && popped.size() < (Long) args[1]) {
+                                    popped.add(iterator.next());
+                                    iterator.remove();
+                                }
+                                return popped;
+                            }
+                            case "add":
+                                dirty.addAll(Arrays.asList((String[]) args[1]));
+                                return null;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+    }
+
+    /**
+     * 배치 UPDATE 인자를 모아두는 JdbcTemplate (failing 이면 DB 장애)
+     */
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+        private final List<List<Object[]>> batches = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("연결 실패");
+            }
+            batches.add(batchArgs);
+            return new int[batchArgs.size()];
+        }
+    }
+}
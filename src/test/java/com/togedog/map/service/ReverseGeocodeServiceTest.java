@@ -0,0 +1,155 @@
+package com.togedog.map.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.togedog.exception.BusinessLogicException;
+import com.togedog.exception.ExceptionCode;
+import com.togedog.map.config.GeocodeProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로컬 stub HTTP 서버를 Kakao API 대신 띄워 ReverseGeocodeService 동작 확인
+ */
+class ReverseGeocodeServiceTest {
+    private static final String BODY = "{\"documents\":[{\"address\":{\"address_name\":\"서울 중구 태평로1가 31\"}}]}";
+
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicReference<String> lastQuery = new AtomicReference<>();
+    private final AtomicReference<String> lastAuthorization = new AtomicReference<>();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private volatile long delayMillis = 0;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v2/local/geo/coord2address.json", exchange -> {
+            hits.incrementAndGet();
+            lastQuery.set(exchange.getRequestURI().getQuery());
+            lastAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            try {
+                release.await(5, TimeUnit.SECONDS);
+                if (delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status.get(), body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    private ReverseGeocodeService newService(int failureThreshold) {
+        GeocodeProperties properties = new GeocodeProperties();
+        properties.setUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/v2/local/geo/coord2address.json");
+        properties.setPrecision(4);
+        properties.setRequestTimeoutMillis(500);
+        properties.setFailureThreshold(failureThreshold);
+        properties.setOpenStateMillis(60000);
+        return new ReverseGeocodeService(properties, "test-key");
+    }
+
+    @Test
+    void roundedCoordinatesAreServedFromCache() throws Exception {
+        ReverseGeocodeService service = newService(5);
+
+        String first = service.reverseGeocode(37.566535, 126.977969).get();
+        String second = service.reverseGeocode(37.566541, 126.977971).get();
+
+        assertEquals(BODY, first);
+        assertEquals(BODY, second);
+        assertEquals(1, hits.get());
+        assertEquals("x=126.9780&y=37.5665", lastQuery.get());
+        assertEquals("KakaoAK test-key", lastAuthorization.get());
+    }
+
+    @Test
+    void concurrentLookupsForSameCoordinateAreCoalesced() throws Exception {
+        ReverseGeocodeService service = newService(5);
+        release = new CountDownLatch(1);
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(service.reverseGeocode(37.5665, 126.9780));
+        }
+        release.countDown();
+
+        for (CompletableFuture<String> future : futures) {
+            assertEquals(BODY, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void slowUpstreamTimesOut() {
+        ReverseGeocodeService service = newService(5);
+        delayMillis = 2000;
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> service.reverseGeocode(37.5665, 126.9780).get(5, TimeUnit.SECONDS));
+        assertBusinessCode(exception, ExceptionCode.GEOCODE_UNAVAILABLE);
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveServerErrors() throws Exception {
+        ReverseGeocodeService service = newService(3);
+        status.set(500);
+
+        for (int i = 0; i < 3; i++) {
+            double latitude = 37.0 + i;
+            assertThrows(ExecutionException.class, () -> service.reverseGeocode(latitude, 127.0).get());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, service.getCircuitState());
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> service.reverseGeocode(33.0, 127.0).get());
+        assertBusinessCode(exception, ExceptionCode.GEOCODE_UNAVAILABLE);
+        assertEquals(3, hits.get());
+    }
+
+    @Test
+    void failedLookupIsNotCached() throws Exception {
+        ReverseGeocodeService service = newService(5);
+        status.set(500);
+        assertThrows(ExecutionException.class, () -> service.reverseGeocode(37.5665, 126.9780).get());
+
+        status.set(200);
+        assertEquals(BODY, service.reverseGeocode(37.5665, 126.9780).get());
+        assertEquals(2, hits.get());
+    }
+
+    private void assertBusinessCode(ExecutionException exception, ExceptionCode exceptionCode) {
+        Throwable cause = exception.getCause();
+        assertTrue(cause instanceof BusinessLogicException, String.valueOf(cause));
+        assertEquals(exceptionCode, ((BusinessLogicException) cause).getExceptionCode());
+    }
+}
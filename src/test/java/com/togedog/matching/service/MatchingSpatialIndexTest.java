@@ -0,0 +1,126 @@
+package com.togedog.matching.service;
+
+import com.togedog.matching.entity.Matching;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 트랜잭션 없이(즉시 반영) 여러 스레드가 같은 칸의 매칭을 추가/이동/제거할 때 MatchingSpatialIndex 일관성 확인
+ */
+class MatchingSpatialIndexTest {
+    // 서로 이웃한 두 칸 (위도 0.01도 ≒ 1.1km 차이)
+    private static final double LAT_A = 37.5005;
+    private static final double LAT_B = 37.5105;
+    private static final double LNG = 127.0005;
+    // 칸을 훑는 경로를 타도록 매칭 수가 반경에 걸치는 칸 수보다 많게 둔다
+    private static final double RADIUS_KM = 1.5;
+    private static final int THREADS = 8;
+    private static final int MATCHES_PER_THREAD = 8;
+    private static final int ROUNDS = 2000;
+
+    private static final Matching.MatchStatus HOSTING = Matching.MatchStatus.MATCH_HOSTING;
+    private static final Matching.MatchStatus CANCELED = Matching.MatchStatus.MATCH_CANCEL;
+
+    private final MatchingSpatialIndex index = new MatchingSpatialIndex(null);
+
+    @Test
+    void movesMatchBetweenCells() {
+        index.apply(matching(1, LAT_A, HOSTING));
+        index.apply(matching(1, LAT_B, HOSTING));
+
+        List<MatchingSpatialIndex.NearbyMatch> nearby = index.findNearbyMatches(LAT_B, LNG, 0.1, 10);
+        assertEquals(1, nearby.size());
+        assertEquals(LAT_B, nearby.get(0).getLatitude());
+        assertTrue(index.findNearbyMatches(LAT_A, LNG, 0.1, 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void concurrentPutMoveRemoveKeepsEveryHostingMatch() throws Exception {
+        Map<Long, Double> expected = runConcurrently(true);
+
+        List<MatchingSpatialIndex.NearbyMatch> nearby =
+                index.findNearbyMatches(LAT_A, LNG, RADIUS_KM, expected.size() * 2);
+        assertEquals(expected.size(), index.size());
+        assertEquals(expected.size(), nearby.size());
+        Map<Long, Double> found = new HashMap<>();
+        for (MatchingSpatialIndex.NearbyMatch match : nearby) {
+            assertNull(found.put(match.getMatchId(), match.getLatitude()), "중복: " + match.getMatchId());
+        }
+        assertEquals(expected, found);
+    }
+
+    @Test
+    void concurrentRemoveLeavesNothingBehind() throws Exception {
+        runConcurrently(false);
+
+        assertEquals(0, index.size());
+        assertTrue(index.findNearbyMatches(LAT_A, LNG, RADIUS_KM, 100).isEmpty());
+    }
+
+    // 스레드마다 자기 매칭을 A/B 칸으로 옮기고 취소하기를 반복한 뒤, hostingAtEnd 이면 마지막 위치에 다시 호스팅
+    private Map<Long, Double> runConcurrently(boolean hostingAtEnd) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<Long, Double> expected = new HashMap<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                List<Long> matchIds = new ArrayList<>();
+                for (int i = 0; i < MATCHES_PER_THREAD; i++) {
+                    long matchId = (long) t * MATCHES_PER_THREAD + i + 1;
+                    matchIds.add(matchId);
+                    expected.put(matchId, matchId % 2 == 0 ? LAT_A : LAT_B);
+                }
+                futures.add(CompletableFuture.runAsync(() -> {
+                    await(start);
+                    for (int round = 0; round < ROUNDS; round++) {
+                        for (long matchId : matchIds) {
+                            index.apply(matching(matchId, LAT_A, HOSTING));
+                            index.apply(matching(matchId, LAT_B, HOSTING));
+                            index.apply(matching(matchId, LAT_A, CANCELED));
+                        }
+                    }
+                    for (long matchId : matchIds) {
+                        index.apply(matching(matchId, matchId % 2 == 0 ? LAT_A : LAT_B,
+                                hostingAtEnd ? HOSTING : CANCELED));
+                    }
+                }, executor));
+            }
+            start.countDown();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        return expected;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Matching matching(long matchId, double latitude, Matching.MatchStatus status) {
+        Matching matching = new Matching();
+        matching.setMatchId(matchId);
+        matching.setHostMemberId(matchId);
+        matching.setLatitude(latitude);
+        matching.setLongitude(LNG);
+        matching.setMatchStatus(status);
+        return matching;
+    }
+}
@@ -0,0 +1,178 @@
+package com.togedog.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Redis 토큰 버킷 스크립트를 같은 계산의 메모리 구현(InMemoryBuckets)으로 대신하여 RateLimiter 제한/충전 확인
+ */
+class RateLimiterTest {
+    private static final long NOW = 1_000_000L;
+    private static final long LEASE_MILLIS = 1000;
+
+    private final InMemoryBuckets redis = new InMemoryBuckets();
+
+    @Test
+    void rejectsOverCapacityAndBlocksLocally() {
+        RateLimitRule rule = rule(RateLimitRule.Limit.perIp(10, Duration.ofMinutes(1)));
+        RateLimiter limiter = new RateLimiter(List.of(rule), redis, LEASE_MILLIS);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.acquire(rule, null, "1.1.1.1", NOW).isAllowed(), "요청 " + i);
+        }
+        RateLimitDecision rejected = limiter.acquire(rule, null, "1.1.1.1", NOW);
+        assertFalse(rejected.isAllowed());
+        // 분당 10개: 토큰 하나가 채워지기까지 6초
+        assertEquals(6000, rejected.getRetryAfterMillis());
+
+        // 재시도 시각 전에는 Redis 를 거치지 않고 거절
+        int calls = redis.calls.get();
+        assertFalse(limiter.acquire(rule, null, "1.1.1.1", NOW + 1000).isAllowed());
+        assertEquals(calls, redis.calls.get());
+
+        // 다른 IP 는 별도 버킷
+        assertTrue(limiter.acquire(rule, null, "2.2.2.2", NOW).isAllowed());
+    }
+
+    @Test
+    void refillsOverTime() {
+        RateLimitRule rule = rule(RateLimitRule.Limit.perIp(10, Duration.ofMinutes(1)));
+        RateLimiter limiter = new RateLimiter(List.of(rule), redis, LEASE_MILLIS);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(rule, null, "1.1.1.1", NOW);
+        }
+        long retryAfter = limiter.acquire(rule, null, "1.1.1.1", NOW).getRetryAfterMillis();
+
+        assertTrue(limiter.acquire(rule, null, "1.1.1.1", NOW + retryAfter).isAllowed());
+        assertFalse(limiter.acquire(rule, null, "1.1.1.1", NOW + retryAfter).isAllowed());
+        // 1분이 지나면 용량만큼 다시 채워진다 (용량을 넘어 쌓이지는 않음)
+        long later = NOW + retryAfter + Duration.ofMinutes(5).toMillis();
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            if (limiter.acquire(rule, null, "1.1.1.1", later).isAllowed()) {
+                allowed++;
+            }
+        }
+        assertEquals(10, allowed);
+    }
+
+    @Test
+    void rejectedRequestDoesNotSpendOtherBuckets() {
+        RateLimitRule rule = rule(RateLimitRule.Limit.perUser(100, Duration.ofMinutes(1)),
+                RateLimitRule.Limit.perIp(2, Duration.ofMinutes(1)));
+        RateLimiter limiter = new RateLimiter(List.of(rule), redis, LEASE_MILLIS);
+
+        assertTrue(limiter.acquire(rule, "a@test.com", "1.1.1.1", NOW).isAllowed());
+        assertTrue(limiter.acquire(rule, "a@test.com", "1.1.1.1", NOW).isAllowed());
+        assertFalse(limiter.acquire(rule, "a@test.com", "1.1.1.1", NOW).isAllowed());
+
+        // 회원 버킷은 가져온 5개 중 성공한 2개만 사용: 다른 IP 로 3개 더 Redis 회원 버킷을 거치지 않고 허용된다
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.acquire(rule, "a@test.com", "9.9.9." + i, NOW).isAllowed());
+        }
+        assertEquals(95, redis.tokens("ratelimit:test:0:u:a@test.com"));
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedCapacity() throws Exception {
+        RateLimitRule rule = rule(RateLimitRule.Limit.perIp(100, Duration.ofMinutes(1)));
+        RateLimiter limiter = new RateLimiter(List.of(rule), redis, LEASE_MILLIS);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int i = 0; i < 100; i++) {
+                        if (limiter.acquire(rule, null, "1.1.1.1", NOW).isAllowed()) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                }, executor));
+            }
+            start.countDown();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(100, allowed.get());
+    }
+
+    @Test
+    void allowsWhenRedisFails() {
+        RateLimitRule rule = rule(RateLimitRule.Limit.perIp(1, Duration.ofMinutes(1)));
+        RateLimiter limiter = new RateLimiter(List.of(rule), redis, LEASE_MILLIS);
+        redis.failing = true;
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.acquire(rule, null, "1.1.1.1", NOW).isAllowed());
+        }
+    }
+
+    private static RateLimitRule rule(RateLimitRule.Limit... limits) {
+        RateLimitRule.RateLimitRuleBuilder builder = RateLimitRule.builder().name("test").pattern("/**");
+        for (RateLimitRule.Limit limit : limits) {
+            builder.limit(limit);
+        }
+        return builder.build();
+    }
+
+    // RateLimiter.ACQUIRE_SCRIPT 와 같은 계산을 하는 메모리 버킷
+    private static class InMemoryBuckets extends StringRedisTemplate {
+        private final Map<String, double[]> buckets = new HashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean failing;
+
+        synchronized double tokens(String key) {
+            return buckets.get(key)[0];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+            calls.incrementAndGet();
+            if (failing) {
+                throw new RedisConnectionFailureException("연결 실패");
+            }
+            long now = Long.parseLong((String) args[0]);
+            List<Long> result = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                int base = 1 + i * 3;
+                double capacity = Double.parseDouble((String) args[base]);
+                double refill = Double.parseDouble((String) args[base + 1]);
+                long requested = Long.parseLong((String) args[base + 2]);
+                double[] bucket = buckets.computeIfAbsent(keys.get(i), key -> new double[]{capacity, now});
+                double tokens = Math.min(capacity, bucket[0] + Math.max(0, now - bucket[1]) * refill);
+                long granted = Math.min(requested, (long) Math.floor(tokens));
+                tokens -= granted;
+                bucket[0] = tokens;
+                bucket[1] = Math.max(bucket[1], now);
+                result.add(granted);
+                result.add(granted == 0 ? (long) Math.ceil((1 - tokens) / refill) : 0L);
+            }
+            return (T) result;
+        }
+    }
+}